@@ -11,6 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -70,7 +71,9 @@ public class DealerController {
      * It is annotated with @Operation to provide Swagger documentation.
      *
      * @param dealerId the ID of the dealer to be retrieved.
-     * @return a ResponseEntity containing a DealerModel.
+     * @param offset   the number of cars of the dealer to skip (optional, default is 0).
+     * @param limit    the maximum number of cars to return (optional, all of them by default).
+     * @return a ResponseEntity containing a DealerModel with the page of its cars.
      * @throws InterruptedException if the thread sleep is interrupted.
      */
     @Operation(
@@ -84,10 +87,12 @@ public class DealerController {
             }
     )
     @GetMapping("/{dealerId}")
-    public ResponseEntity<DealerModel> getDealerById(@PathVariable int dealerId) throws InterruptedException {
+    public ResponseEntity<DealerModel> getDealerById(@PathVariable int dealerId,
+                                                     @RequestParam(value = "offset", required = false, defaultValue = "0") final int offset,
+                                                     @RequestParam(value = "limit", required = false) final Integer limit) throws InterruptedException {
         log.info("Retrieving GET request dealer by ID: {}, sleeping for {} ms", dealerId, this.sleepTime);
         Thread.sleep(this.sleepTime); // Simulate some work..
-        return ResponseEntity.ok(this.dealerService.getDealerById(dealerId));
+        return ResponseEntity.ok(this.dealerService.getDealerById(dealerId, offset, limit == null ? Integer.MAX_VALUE : limit));
     }
 
 }
@@ -10,9 +10,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * ManufacturerController is a REST controller that handles requests related to manufacturers.
@@ -87,4 +89,29 @@ public class ManufacturerController {
         Thread.sleep(this.sleepTime); // Simulate some work..
         return ResponseEntity.ok(this.manufacturerService.getPriceByCarId(carId));
     }
+
+    /**
+     * This method handles GET requests to retrieve the prices of several cars at once.
+     * It is annotated with @Operation to provide Swagger documentation.
+     * It costs a single simulated unit of work, whatever the number of IDs, which is what makes batching on the client side pay off.
+     *
+     * @param carIds the IDs of the cars to retrieve the prices for.
+     * @return a ResponseEntity containing a map of the car ID to its price, unknown IDs are left out.
+     * @throws InterruptedException if the thread sleep is interrupted.
+     */
+    @Operation(
+            summary = "getPricesByCarIds",
+            description = "Get Car Prices by CarIDs",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Found"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "We feel not good"),
+            }
+    )
+    @GetMapping("/prices")
+    public ResponseEntity<Map<Integer, Integer>> getPricesByCarIds(@RequestParam("ids") final List<Integer> carIds) throws InterruptedException {
+        log.info("Retrieving GET request prices by {} car IDs, sleeping for {} ms", carIds.size(), this.sleepTime);
+        Thread.sleep(this.sleepTime); // Simulate some work..
+        return ResponseEntity.ok(this.manufacturerService.getPricesByCarIds(carIds));
+    }
 }
@@ -12,9 +12,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * StateController is a REST controller that handles requests related to states.
@@ -123,6 +125,23 @@ public class StateController {
         return ResponseEntity.ok(this.stateService.getDiscountIdByCodeAndType(code, type));
     }
 
+    /**
+     * This method handles GET requests to retrieve the discounts of several types of a state at once.
+     * It is not documented with Swagger annotations.
+     *
+     * @param code  the code of the state.
+     * @param types the types of the discounts.
+     * @return a ResponseEntity containing a map of the type to its discount, types without a discount are left out.
+     * @throws InterruptedException if the thread sleep is interrupted.
+     */
+    @GetMapping("/discounts/{code}")
+    public ResponseEntity<Map<String, Integer>> getDiscountsByCodeAndTypes(@PathVariable final String code,
+                                                                          @RequestParam("types") final List<String> types) throws InterruptedException {
+        log.info("Retrieving GET request Discounts by CODE={} and {} TYPES, sleeping for {} ms", code, types.size(), this.sleepTime);
+        Thread.sleep(this.sleepTime); // Simulate some work..
+        return ResponseEntity.ok(this.stateService.getDiscountsByCodeAndTypes(code, types));
+    }
+
     /**
      * This method handles GET requests to retrieve dealers by state ID.
      * It is annotated with @Operation to provide Swagger documentation.
@@ -2,5 +2,6 @@ package com.epam.community.downstreamserver.models;
 
 public record DiscountModel(int id,
                             String name,
-                            String type) {
+                            String type,
+                            Integer percent) {
 }
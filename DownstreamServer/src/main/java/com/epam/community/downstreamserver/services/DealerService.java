@@ -58,12 +58,31 @@ public class DealerService {
      * @throws ResponseStatusException if the dealer is not found.
      */
     public DealerModel getDealerById(int dealerId) {
-        log.debug("Getting dealer by ID: {}", dealerId);
+        return this.getDealerById(dealerId, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * This method retrieves a dealer by its ID with a page of its cars and returns it as a DealerModel.
+     * The cars are paged in the order the dealer lists them, a page shorter than the limit is the last one.
+     *
+     * @param dealerId the ID of the dealer to be retrieved.
+     * @param offset   the number of cars of the dealer to skip.
+     * @param limit    the maximum number of cars to return.
+     * @return a DealerModel representing the dealer with the provided ID and the page of its cars.
+     * @throws ResponseStatusException if the dealer is not found.
+     */
+    public DealerModel getDealerById(int dealerId, int offset, int limit) {
+        log.debug("Getting dealer by ID: {}, cars from {} up to {}", dealerId, offset, limit);
         return this.dataRepository.getDealers()
                 .stream()
                 .filter(dealer -> dealer.getId() == dealerId)
                 .findFirst()
-                .map(dealer -> new DealerModel(dealer.getId(), dealer.getName(), dealer.getOverhead(), this.carService.getCarsByIds(dealer.getModels())))
+                .map(dealer -> {
+                    final List<Integer> models = dealer.getModels();
+                    final int from = Math.min(Math.max(0, offset), models.size());
+                    final int to = (int) Math.min(models.size(), (long) from + Math.max(0, limit));
+                    return new DealerModel(dealer.getId(), dealer.getName(), dealer.getOverhead(), this.carService.getCarsByIds(models.subList(from, to)));
+                })
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Dealer not found by ID: " + dealerId));
     }
 }
@@ -47,7 +47,8 @@ public class DiscountService {
                 .findFirst()
                 .map(discount -> new DiscountModel(discount.getId(),
                         discount.getName(),
-                        discount.getType()))
+                        discount.getType(),
+                        discount.getPercent()))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Discount not found by ID: " + discountId));
     }
 
@@ -65,7 +66,8 @@ public class DiscountService {
                 .filter(discount -> ids.contains(discount.getId()))
                 .map(discount -> new DiscountModel(discount.getId(),
                         discount.getName(),
-                        discount.getType()))
+                        discount.getType(),
+                        discount.getPercent()))
                 .toList();
     }
 }
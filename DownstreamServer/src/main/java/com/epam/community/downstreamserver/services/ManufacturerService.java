@@ -8,7 +8,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * ManufacturerService is a service class that provides methods related to manufacturers.
@@ -81,4 +85,21 @@ public class ManufacturerService {
                 .map(Car::getPrice)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Car not found by ID: " + carId));
     }
+
+    /**
+     * This method retrieves the prices of several cars in one go.
+     * It uses the dataRepository to get the cars and keeps those with one of the provided IDs.
+     * IDs without a car are left out of the result.
+     *
+     * @param carIds the IDs of the cars to get the prices for.
+     * @return a map of the car ID to its price.
+     */
+    public Map<Integer, Integer> getPricesByCarIds(final Collection<Integer> carIds) {
+        log.debug("Getting prices by car IDs: {}", carIds);
+        final Set<Integer> ids = Set.copyOf(carIds);
+        return this.dataRepository.getCars()
+                .stream()
+                .filter(car -> ids.contains(car.getId()))
+                .collect(Collectors.toMap(Car::getId, Car::getPrice, (first, second) -> first));
+    }
 }
@@ -11,7 +11,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * StateService is a service class that provides methods related to states.
@@ -117,6 +120,32 @@ public class StateService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Discount not found by code: " + code + " and type: " + type));
     }
 
+    /**
+     * This method retrieves the discount percents of several types of a state in one go.
+     * It uses the dataRepository to get the state by code and resolves the discount of every requested type.
+     * Types the state has no discount for are left out of the result.
+     *
+     * @param code  the code of the state.
+     * @param types the types of the discounts to be retrieved.
+     * @return a map of the requested type to its discount percent.
+     * @throws ResponseStatusException if the state is not found.
+     */
+    public Map<String, Integer> getDiscountsByCodeAndTypes(final String code,
+                                                           final Collection<String> types) {
+        log.debug("Getting discounts by code: {} and types: {}", code, types);
+        final List<DiscountModel> discounts = this.getStateByCode(code).discounts();
+        final Map<String, Integer> percents = new LinkedHashMap<>();
+        types.forEach(type -> discounts.stream()
+                .filter(discount -> discount.type().equalsIgnoreCase(type))
+                .findFirst()
+                .flatMap(discount -> this.dataRepository.getDiscounts()
+                        .stream()
+                        .filter(f -> f.getId().equals(discount.id()))
+                        .findFirst())
+                .ifPresent(discount -> percents.put(type, discount.getPercent())));
+        return percents;
+    }
+
     /**
      * This method retrieves the discounts of a state by its ID and returns them as a list of DiscountModel.
      * It uses the getStateById method to get the state by the provided ID, and then retrieves the discounts of the state.
@@ -0,0 +1,16 @@
+package com.epam.community.loadgenerator;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+
+@SpringBootApplication
+@ConfigurationPropertiesScan
+public class LoadGeneratorApplication {
+
+    public static void main(final String[] args) {
+        // the run is over once the runner returns
+        System.exit(SpringApplication.exit(SpringApplication.run(LoadGeneratorApplication.class, args)));
+    }
+
+}
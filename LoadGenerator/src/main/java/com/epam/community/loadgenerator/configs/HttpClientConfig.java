@@ -0,0 +1,30 @@
+package com.epam.community.loadgenerator.configs;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Configuration class for the HTTP client sending the load.
+ * The JDK client is non-blocking: a request in flight holds no thread, so the send rate does not depend on
+ * how long the target takes to answer.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * Bean for the HTTP client, HTTP/1.1 as the services run on Tomcat without TLS.
+     *
+     * @param properties the load run settings
+     * @return a new HttpClient
+     */
+    @Bean
+    public HttpClient loadHttpClient(final LoadGeneratorProperties properties) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.requestTimeout())
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.epam.community.loadgenerator.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration properties of a load run.
+ * Requests are sent at a fixed arrival rate, whether the earlier ones have been answered or not (open loop),
+ * and their latency is measured from the time they were due to be sent, so queueing anywhere on the way, the load
+ * generator included, shows up in the percentiles instead of lowering the rate.
+ *
+ * @param targets            the URLs requested round-robin, e.g. a CarsController or DownstreamServer endpoint
+ * @param rate               requests per second
+ * @param warmup             how long the load runs before it is measured
+ * @param duration           how long the load is measured
+ * @param requestTimeout     a request not answered within it counts as failed
+ * @param maxInFlight        requests beyond it are not sent but counted as skipped, it bounds the memory of a run
+ *                           against a target that stopped answering
+ * @param reportInterval     how often the progress is logged
+ * @param label              the name of the run in the reports
+ * @param reportDirectory    the directory the CSV summary and the histograms are written to
+ */
+@ConfigurationProperties(prefix = "com.epam.community.load-generator")
+public record LoadGeneratorProperties(
+        @DefaultValue("http://localhost:9090/api/v0.1/cars/straightforward/CA/cars") List<URI> targets,
+        @DefaultValue("50") double rate,
+        @DefaultValue("10s") Duration warmup,
+        @DefaultValue("60s") Duration duration,
+        @DefaultValue("30s") Duration requestTimeout,
+        @DefaultValue("10000") int maxInFlight,
+        @DefaultValue("1s") Duration reportInterval,
+        @DefaultValue("run") String label,
+        @DefaultValue("reports") Path reportDirectory) {
+}
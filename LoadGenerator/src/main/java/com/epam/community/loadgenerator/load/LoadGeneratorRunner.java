@@ -0,0 +1,31 @@
+package com.epam.community.loadgenerator.load;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the load once the application has started and reports it, the application exits afterwards.
+ */
+@Component
+public class LoadGeneratorRunner implements CommandLineRunner {
+
+    private final OpenLoopDriver openLoopDriver;
+    private final LoadReport loadReport;
+
+    /**
+     * Constructor for the LoadGeneratorRunner class.
+     *
+     * @param openLoopDriver The driver sending the load.
+     * @param loadReport     The report of the run.
+     */
+    public LoadGeneratorRunner(final OpenLoopDriver openLoopDriver,
+                               final LoadReport loadReport) {
+        this.openLoopDriver = openLoopDriver;
+        this.loadReport = loadReport;
+    }
+
+    @Override
+    public void run(final String... args) throws Exception {
+        this.loadReport.report(this.openLoopDriver.run());
+    }
+}
@@ -0,0 +1,112 @@
+package com.epam.community.loadgenerator.load;
+
+import com.epam.community.loadgenerator.configs.LoadGeneratorProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Reports a load run: the percentiles are logged, a row is appended to {@code summary.csv} in the report directory
+ * for comparing runs, and the full latency distribution is written as {@code <label>-<time>.hgrm}, which the
+ * HdrHistogram plotter reads.
+ * <p>
+ * The percentiles are taken over all requests, the failed ones included: a skipped or timed-out request is what a
+ * client of an overloaded target sees, leaving it out would make the tail look better the more requests fail.
+ * The {@code ok_} columns are the percentiles of the succeeded requests only.
+ */
+@Component
+@Slf4j
+public class LoadReport {
+
+    static final String SUMMARY_FILE = "summary.csv";
+    static final String SUMMARY_HEADER = "time,label,targets,rate,duration_s,sent,skipped,succeeded,failed,"
+            + "p50_ms,p90_ms,p99_ms,p99_9_ms,p99_99_ms,max_ms,mean_ms,"
+            + "ok_p50_ms,ok_p90_ms,ok_p99_ms,ok_p99_9_ms,ok_p99_99_ms,ok_max_ms,ok_mean_ms";
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9, 99.99};
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final LoadGeneratorProperties properties;
+
+    /**
+     * Constructor for the LoadReport class.
+     *
+     * @param properties The load run settings, the label and report directory are taken from them.
+     */
+    public LoadReport(final LoadGeneratorProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Logs the percentiles and writes the summary row and the histogram.
+     *
+     * @param result the outcome of the run
+     * @throws IOException if the report could not be written
+     */
+    public void report(final LoadResult result) throws IOException {
+        final Histogram all = result.all();
+        log.info("Run '{}': {} requests/s for {}, sent: {}, skipped: {}, outcomes: {}", this.properties.label(), result.rate(),
+                result.duration(), result.sent(), result.skipped(), result.outcomes());
+        log.info("Latency from the intended send time in ms, p50,p90,p99,p99.9,p99.99,max,mean: {}, succeeded only: {}",
+                percentiles(all), percentiles(result.succeeded()));
+
+        final LocalDateTime now = LocalDateTime.now();
+        final Path directory = this.properties.reportDirectory();
+        Files.createDirectories(directory);
+        final Path summary = directory.resolve(SUMMARY_FILE);
+        if (Files.notExists(summary)) {
+            Files.writeString(summary, SUMMARY_HEADER + System.lineSeparator(), StandardCharsets.UTF_8);
+        }
+        Files.writeString(summary, summaryRow(now, this.properties.label(), result) + System.lineSeparator(),
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        final Path histogram = directory.resolve(this.properties.label() + "-" + FILE_TIME.format(now) + ".hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(histogram), false, StandardCharsets.UTF_8)) {
+            // recorded in microseconds, reported in milliseconds
+            all.outputPercentileDistribution(out, 1000.0);
+        }
+        log.info("Report written to {} and {}", summary.toAbsolutePath(), histogram.toAbsolutePath());
+    }
+
+    static String summaryRow(final LocalDateTime time,
+                             final String label,
+                             final LoadResult result) {
+        return String.join(",",
+                time.toString(),
+                label,
+                result.targets().stream().map(URI::toString).collect(Collectors.joining("|")),
+                String.format(Locale.ROOT, "%.1f", result.rate()),
+                Long.toString(result.duration().toSeconds()),
+                Long.toString(result.sent()),
+                Long.toString(result.skipped()),
+                Long.toString(result.succeeded().getTotalCount()),
+                Long.toString(result.failed().getTotalCount()),
+                percentiles(result.all()),
+                percentiles(result.succeeded()));
+    }
+
+    private static String percentiles(final Histogram histogram) {
+        final StringBuilder percentiles = new StringBuilder();
+        for (final double percentile : PERCENTILES) {
+            percentiles.append(millis(histogram.getValueAtPercentile(percentile))).append(',');
+        }
+        return percentiles.append(millis(histogram.getMaxValue())).append(',')
+                .append(millis(histogram.getMean()))
+                .toString();
+    }
+
+    private static String millis(final double micros) {
+        return String.format(Locale.ROOT, "%.3f", micros / 1000.0);
+    }
+}
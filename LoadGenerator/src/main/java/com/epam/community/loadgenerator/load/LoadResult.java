@@ -0,0 +1,45 @@
+package com.epam.community.loadgenerator.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a load run, the latencies in microseconds from the time the requests were due to be sent.
+ *
+ * @param targets   the URLs requested
+ * @param rate      the requests per second
+ * @param duration  the measured duration
+ * @param sent      the requests sent within the measured duration
+ * @param skipped   the requests not sent as too many were in flight
+ * @param outcomes  the answered requests by status class (e.g. 2xx, 5xx), the failed ones by exception and the
+ *                  unanswered ones as {@code skipped} or {@code abandoned}
+ * @param succeeded the latencies of the requests answered with a status below 400
+ * @param failed    the latencies of the other requests: a skipped one at the request timeout, one abandoned in flight
+ *                  at the end of the run up to then
+ */
+public record LoadResult(
+        List<URI> targets,
+        double rate,
+        Duration duration,
+        long sent,
+        long skipped,
+        Map<String, Long> outcomes,
+        Histogram succeeded,
+        Histogram failed) {
+
+    /**
+     * The latencies of all requests, so the failed ones, a skipped request at the request timeout among them,
+     * weigh in on the tail as they do for the clients.
+     *
+     * @return a new histogram of the succeeded and the failed latencies
+     */
+    public Histogram all() {
+        final Histogram all = this.succeeded.copy();
+        all.add(this.failed);
+        return all;
+    }
+}
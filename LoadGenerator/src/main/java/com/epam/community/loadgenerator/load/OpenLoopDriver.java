@@ -0,0 +1,210 @@
+package com.epam.community.loadgenerator.load;
+
+import com.epam.community.loadgenerator.configs.LoadGeneratorProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at a fixed arrival rate and records their latency from the time they were due to be sent.
+ * <p>
+ * The n-th request is due at {@code start + n / rate}. A single scheduler thread sends every request that is due and
+ * parks until the next one; when it falls behind (a GC pause, a saturated client) it catches up at once, and the
+ * requests it was late for are still measured from when they were due. A closed-loop client waits for a response
+ * before it sends the next request and thereby leaves out exactly the time the requests would have queued
+ * (coordinated omission).
+ * <p>
+ * Responses are recorded on the client threads into HdrHistogram {@link Recorder}s, drained every
+ * {@code reportInterval} into the totals of the run, answered requests with a status below 400 separately
+ * from the failed ones. A request never answered counts as failed as well, so the backlog of an overloaded target is not
+ * left out of the latencies: one skipped as too many were in flight with the request timeout, one still in flight when
+ * the run ends with the time from when it was due until then.
+ */
+@Component
+@Slf4j
+public class OpenLoopDriver {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final String SKIPPED = "skipped";
+    private static final String ABANDONED = "abandoned";
+
+    private final HttpClient httpClient;
+    private final LoadGeneratorProperties properties;
+
+    /**
+     * Constructor for the OpenLoopDriver class.
+     *
+     * @param httpClient The non-blocking client sending the requests.
+     * @param properties The load run settings.
+     */
+    public OpenLoopDriver(final HttpClient httpClient,
+                          final LoadGeneratorProperties properties) {
+        this.httpClient = httpClient;
+        this.properties = properties;
+    }
+
+    /**
+     * Runs the load: warmup, the measured duration and the wait for the requests still in flight.
+     *
+     * @return the latencies and outcomes of the requests due within the measured duration.
+     * @throws InterruptedException if the run was interrupted.
+     */
+    public LoadResult run() throws InterruptedException {
+        final List<HttpRequest> requests = this.properties.targets().stream()
+                .map(target -> HttpRequest.newBuilder(target).timeout(this.properties.requestTimeout()).GET().build())
+                .toList();
+        final double intervalNanos = TimeUnit.SECONDS.toNanos(1L) / this.properties.rate();
+        final long warmupNanos = this.properties.warmup().toNanos();
+        final long endNanos = warmupNanos + this.properties.duration().toNanos();
+        final Recording recording = new Recording();
+        final AtomicInteger inFlight = new AtomicInteger();
+        // the due times of the measured requests in flight, by sequence number
+        final Map<Long, Long> pending = new ConcurrentHashMap<>();
+        long sent = 0L;
+        long skipped = 0L;
+
+        log.info("Sending {} requests/s to {} for {} after a warmup of {}", this.properties.rate(), this.properties.targets(),
+                this.properties.duration(), this.properties.warmup());
+        final ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+        final long reportNanos = this.properties.reportInterval().toNanos();
+        progress.scheduleAtFixedRate(() -> recording.drain(inFlight.get()), reportNanos, reportNanos, TimeUnit.NANOSECONDS);
+        final long startNanos = System.nanoTime();
+        try {
+            for (long n = 0L; ; n++) {
+                final long dueNanos = startNanos + (long) (n * intervalNanos);
+                if (dueNanos - startNanos >= endNanos) {
+                    break;
+                }
+                for (long wait = dueNanos - System.nanoTime(); wait > 0L; wait = dueNanos - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException("Load run interrupted");
+                    }
+                }
+                final boolean measured = dueNanos - startNanos >= warmupNanos;
+                if (inFlight.get() >= this.properties.maxInFlight()) {
+                    if (measured) {
+                        skipped++;
+                        recording.recordUnanswered(this.properties.requestTimeout().toNanos(), SKIPPED);
+                    }
+                    continue;
+                }
+                final long sequence = n;
+                if (measured) {
+                    sent++;
+                    pending.put(sequence, dueNanos);
+                }
+                inFlight.incrementAndGet();
+                this.httpClient.sendAsync(requests.get((int) (n % requests.size())), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            // a request abandoned at the end of the run is recorded already
+                            if (measured && (pending.remove(sequence) != null)) {
+                                recording.record(System.nanoTime() - dueNanos, response, error);
+                            }
+                            inFlight.decrementAndGet();
+                        });
+            }
+            final long drainDeadline = System.nanoTime() + this.properties.requestTimeout().toNanos();
+            while ((inFlight.get() > 0) && (System.nanoTime() - drainDeadline < 0L)) {
+                TimeUnit.MILLISECONDS.sleep(10L);
+            }
+        } finally {
+            progress.shutdownNow();
+        }
+        final long abandonedNanos = System.nanoTime();
+        long abandoned = 0L;
+        for (final Long sequence : pending.keySet()) {
+            final Long dueNanos = pending.remove(sequence);
+            if (dueNanos != null) {
+                abandoned++;
+                recording.recordUnanswered(abandonedNanos - dueNanos, ABANDONED);
+            }
+        }
+        recording.drain(inFlight.get());
+        if (skipped > 0L) {
+            log.warn("{} requests were skipped with {} in flight, the target could not keep up with the rate", skipped,
+                    this.properties.maxInFlight());
+        }
+        if (abandoned > 0L) {
+            log.warn("{} requests were still in flight when the run ended, recorded as failed", abandoned);
+        }
+        return new LoadResult(this.properties.targets(), this.properties.rate(), this.properties.duration(), sent, skipped,
+                recording.outcomes(), recording.succeeded, recording.failed);
+    }
+
+    private static String outcome(final HttpResponse<?> response,
+                                  final Throwable error) {
+        if (error == null) {
+            return (response.statusCode() / 100) + "xx";
+        }
+        final Throwable cause = (error instanceof CompletionException) && (error.getCause() != null) ? error.getCause() : error;
+        return cause.getClass().getSimpleName();
+    }
+
+    /**
+     * Latencies and outcomes of a run, recorded concurrently and drained into the totals.
+     */
+    private static final class Recording {
+        private final Recorder succeededInterval = new Recorder(SIGNIFICANT_DIGITS);
+        private final Recorder failedInterval = new Recorder(SIGNIFICANT_DIGITS);
+        private final Histogram succeeded = new Histogram(SIGNIFICANT_DIGITS);
+        private final Histogram failed = new Histogram(SIGNIFICANT_DIGITS);
+        private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+        private void record(final long latencyNanos,
+                            final HttpResponse<?> response,
+                            final Throwable error) {
+            final long latencyMicros = Math.max(0L, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+            this.outcomes.computeIfAbsent(outcome(response, error), outcome -> new LongAdder()).increment();
+            if ((error == null) && (response.statusCode() < 400)) {
+                this.succeededInterval.recordValue(latencyMicros);
+            } else {
+                this.failedInterval.recordValue(latencyMicros);
+            }
+        }
+
+        /**
+         * Records a request which got no response, skipped or abandoned, as failed.
+         */
+        private void recordUnanswered(final long latencyNanos,
+                                      final String outcome) {
+            this.outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+            this.failedInterval.recordValue(Math.max(0L, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        }
+
+        private synchronized void drain(final int inFlight) {
+            final Histogram succeededInterval = this.succeededInterval.getIntervalHistogram();
+            final Histogram failedInterval = this.failedInterval.getIntervalHistogram();
+            this.succeeded.add(succeededInterval);
+            this.failed.add(failedInterval);
+            if (succeededInterval.getTotalCount() + failedInterval.getTotalCount() > 0L) {
+                log.info("Answered: {}, failed: {}, in flight: {}, p50: {} ms, p99: {} ms, max: {} ms",
+                        succeededInterval.getTotalCount(), failedInterval.getTotalCount(), inFlight,
+                        succeededInterval.getValueAtPercentile(50.0) / 1000.0, succeededInterval.getValueAtPercentile(99.0) / 1000.0,
+                        succeededInterval.getMaxValue() / 1000.0);
+            }
+        }
+
+        private Map<String, Long> outcomes() {
+            final Map<String, Long> outcomes = new TreeMap<>();
+            this.outcomes.forEach((outcome, count) -> outcomes.put(outcome, count.sum()));
+            return outcomes;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.epam.community.loadgenerator.load;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LoadReportTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Test
+    void summaryRow_raisesTheTailWithTheSkippedRequests() {
+        // 990 requests answered in 10 ms, 20 skipped and recorded at the request timeout of 5 s
+        final Histogram succeeded = new Histogram(3);
+        succeeded.recordValueWithCount(10_000L, 990L);
+        final Histogram failed = new Histogram(3);
+        failed.recordValueWithCount(5_000_000L, 20L);
+
+        final String row = LoadReport.summaryRow(TIME, "overload", result(succeeded, failed, 20L));
+
+        assertEquals(5000.0, column(row, "p99_ms"), 5.0);
+        assertEquals(10.0, column(row, "ok_p99_ms"), 0.01);
+        assertEquals(20.0, column(row, "skipped"));
+    }
+
+    @Test
+    void summaryRow_reportsTheSucceededRequestsAloneWhenNoneFailed() {
+        final Histogram succeeded = new Histogram(3);
+        succeeded.recordValueWithCount(10_000L, 990L);
+
+        final String row = LoadReport.summaryRow(TIME, "steady", result(succeeded, new Histogram(3), 0L));
+
+        assertEquals(10.0, column(row, "p99_ms"), 0.01);
+        assertEquals(10.0, column(row, "ok_p99_ms"), 0.01);
+    }
+
+    private static LoadResult result(final Histogram succeeded,
+                                     final Histogram failed,
+                                     final long skipped) {
+        return new LoadResult(List.of(URI.create("http://localhost/cars")), 100.0, Duration.ofSeconds(10),
+                succeeded.getTotalCount() + failed.getTotalCount() - skipped, skipped, Map.of(), succeeded, failed);
+    }
+
+    private static double column(final String row,
+                                 final String name) {
+        final List<String> header = Arrays.asList(LoadReport.SUMMARY_HEADER.split(","));
+        final String[] values = row.split(",");
+        assertEquals(header.size(), values.length);
+        return Double.parseDouble(values[header.indexOf(name)]);
+    }
+}
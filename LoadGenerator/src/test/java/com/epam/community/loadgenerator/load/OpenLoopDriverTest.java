@@ -0,0 +1,92 @@
+package com.epam.community.loadgenerator.load;
+
+import com.epam.community.loadgenerator.configs.LoadGeneratorProperties;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OpenLoopDriverTest {
+
+    // the server answers one request at a time, 20 ms each: 50 requests/s at most
+    private static final long SERVICE_MILLIS = 20L;
+
+    @TempDir
+    Path reportDirectory;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/cars", exchange -> {
+            try {
+                Thread.sleep(SERVICE_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1L);
+            exchange.close();
+        });
+        this.serverExecutor = Executors.newSingleThreadExecutor();
+        this.server.setExecutor(this.serverExecutor);
+        this.server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.server.stop(0);
+        this.serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void run_keepsTheRateAndMeasuresTheQueueingFromTheIntendedSendTime() throws Exception {
+        final URI target = URI.create("http://localhost:" + this.server.getAddress().getPort() + "/cars");
+        final LoadGeneratorProperties properties = new LoadGeneratorProperties(List.of(target), 100.0, Duration.ZERO,
+                Duration.ofSeconds(1L), Duration.ofSeconds(10L), 10_000, Duration.ofMillis(200L), "test", this.reportDirectory);
+
+        final LoadResult result = new OpenLoopDriver(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(),
+                properties).run();
+
+        // twice the rate the server can take: every request is still sent on time, none waits for an earlier response
+        assertEquals(100L, result.sent());
+        assertEquals(Map.of("2xx", 100L), result.outcomes());
+        // a closed-loop client would see about 20 ms, the last requests queued for about a second behind the others
+        assertTrue(result.succeeded().getValueAtPercentile(99.0) > 500_000L,
+                "p99 " + result.succeeded().getValueAtPercentile(99.0) + " us");
+    }
+
+    @Test
+    void run_recordsTheSkippedRequestsAsFailedAtTheRequestTimeout() throws Exception {
+        final URI target = URI.create("http://localhost:" + this.server.getAddress().getPort() + "/cars");
+        final LoadGeneratorProperties properties = new LoadGeneratorProperties(List.of(target), 100.0, Duration.ZERO,
+                Duration.ofSeconds(1L), Duration.ofSeconds(10L), 1, Duration.ofMillis(200L), "test", this.reportDirectory);
+
+        final LoadResult result = new OpenLoopDriver(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(),
+                properties).run();
+
+        // one request at a time for twice the rate the server can take: about every other one is skipped
+        assertTrue(result.skipped() > 0L, "skipped " + result.skipped());
+        assertEquals(100L, result.sent() + result.skipped());
+        assertEquals(result.skipped(), result.outcomes().get("skipped"));
+        // every request due is in the latencies, none of the backlog is left out
+        assertEquals(100L, result.succeeded().getTotalCount() + result.failed().getTotalCount());
+        // the request timeout, within the precision of the histogram
+        assertTrue(result.failed().getMaxValue() >= 9_990_000L, "max " + result.failed().getMaxValue() + " us");
+    }
+}
@@ -0,0 +1,54 @@
+package com.epam.community.middlesvc.configs;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * This class is responsible for configuring the executor the aggregations run on.
+ * The aggregation of this service calls the downstream services one after the other and blocks while doing so,
+ * running it on its own pool releases the request threads of the servlet container in the meantime.
+ */
+@Configuration
+@Slf4j
+public class ExecutorConfig {
+    @Value("${aggregation.thread.await-term-secs:10}")
+    private int aggregationAwaitTermSecs;
+    @Value("${aggregation.thread.core-pool-size:200}")
+    private int aggregationCorePoolSize;
+    @Value("${aggregation.thread.keep-alive-secs:60}")
+    private int aggregationKeepAliveSecs;
+    @Value("${aggregation.thread.max-pool-size:200}")
+    private int aggregationMaxPoolSize;
+    @Value("${aggregation.thread.queue-capacity:1000}")
+    private int aggregationQueueCapacity;
+
+    /**
+     * This method creates the Executor the aggregations run on, propagating the context (e.g. the trace) of the request.
+     *
+     * @return An Executor object.
+     */
+    @Bean(name = "aggregationExecutor")
+    public Executor aggregationExecutor() {
+        val executor = new ThreadPoolTaskExecutor();
+        executor.setAwaitTerminationSeconds(this.aggregationAwaitTermSecs);
+        executor.setCorePoolSize(this.aggregationCorePoolSize);
+        executor.setKeepAliveSeconds(this.aggregationKeepAliveSecs);
+        executor.setMaxPoolSize(this.aggregationMaxPoolSize);
+        executor.setQueueCapacity(this.aggregationQueueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setThreadNamePrefix("aggregation-");
+        executor.initialize();
+        log.info("Aggregation executor: corePoolSize={}, maxPoolSize={}, queueCapacity={}",
+                this.aggregationCorePoolSize, this.aggregationMaxPoolSize, this.aggregationQueueCapacity);
+
+        return ContextExecutorService.wrap(executor.getThreadPoolExecutor(), ContextSnapshotFactory.builder().build()::captureAll);
+    }
+}
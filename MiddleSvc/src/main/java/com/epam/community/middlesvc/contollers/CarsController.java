@@ -8,11 +8,14 @@ import com.epam.community.middlesvc.services.CarService;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.client.RestClientException;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This class is responsible for handling HTTP requests related to cars.
@@ -41,15 +44,28 @@ public class CarsController {
      * @param carType the car type (optional).
      * @param carFullType the car full type (optional).
      * @param maxCars the maximum number of cars to return (optional, default is 3).
-     * @return a ResponseEntity containing a list of CarModel objects.
+     * @return a CompletableFuture of a ResponseEntity containing a list of CarModel objects, the request thread is
+     * released while the data is collected. A failed downstream call is answered with 502.
      */
     @GetMapping("/straightforward/{stateCode}/cars")
-    public ResponseEntity<List<CarModel>> getCarsByState(
+    public CompletableFuture<ResponseEntity<List<CarModel>>> getCarsByState(
             @NonNull @PathVariable final String stateCode,
             @RequestParam(value = "carType", required = false) final CarTypeEnum carType,
             @RequestParam(value = "carFullType", required = false) final CarFullTypeEnum carFullType,
             @RequestParam(value = "maxCars", required = false, defaultValue = "3") @Min(0L) @Max(20L) final int maxCars) {
         log.info("Getting cars by state code: {}", stateCode);
-        return ResponseEntity.ok(this.carService.getCheapestCarsInState(stateCode, carType, carFullType, maxCars));
+        return this.carService.getCheapestCarsInStateAsync(stateCode, carType, carFullType, maxCars)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Maps a failed downstream call to 502, the asynchronous result reaches this handler without its CompletionException.
+     * @param e the failure of the downstream call.
+     * @return an empty ResponseEntity with the status 502.
+     */
+    @ExceptionHandler(RestClientException.class)
+    public ResponseEntity<Void> handleDownstreamFailure(final RestClientException e) {
+        log.warn("Downstream call failed: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
     }
 }
@@ -8,12 +8,15 @@ import com.epam.community.middlesvc.models.CarModel;
 import com.epam.community.middlesvc.models.CarTypeEnum;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.util.ObjectUtils;
 
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * This class is responsible for handling business logic related to cars.
@@ -26,6 +29,7 @@ public class CarService {
     private final DealerClient dealerClient;
     private final StateClient stateClient;
     private final ManufacturerClient manufacturerClient;
+    private final Executor aggregationExecutor;
 
     /**
      * Constructor for the CarService class.
@@ -33,13 +37,32 @@ public class CarService {
      * @param dealerClient       the DealerClient to be used for fetching dealer data.
      * @param stateClient        the StateClient to be used for fetching state data.
      * @param manufacturerClient the ManufacturerClient to be used for fetching manufacturer data.
+     * @param aggregationExecutor the Executor the aggregations run on.
      */
     public CarService(final DealerClient dealerClient,
                       final StateClient stateClient,
-                      final ManufacturerClient manufacturerClient) {
+                      final ManufacturerClient manufacturerClient,
+                      @Qualifier("aggregationExecutor") final Executor aggregationExecutor) {
         this.dealerClient = dealerClient;
         this.stateClient = stateClient;
         this.manufacturerClient = manufacturerClient;
+        this.aggregationExecutor = aggregationExecutor;
+    }
+
+    /**
+     * This method fetches the cheapest cars in a state on the aggregation executor, without blocking the caller.
+     * @param stateCode the state code.
+     * @param carType the car type (optional).
+     * @param carFullType the car full type (optional).
+     * @param maxCars the maximum number of cars to return.
+     * @return a CompletableFuture of a list of CarModel objects representing the cheapest cars in the state.
+     */
+    public CompletableFuture<List<CarModel>> getCheapestCarsInStateAsync(final String stateCode,
+                                                                         final CarTypeEnum carType,
+                                                                         final CarFullTypeEnum carFullType,
+                                                                         final int maxCars) {
+        return CompletableFuture.supplyAsync(() -> this.getCheapestCarsInState(stateCode, carType, carFullType, maxCars),
+                this.aggregationExecutor);
     }
 
     /**
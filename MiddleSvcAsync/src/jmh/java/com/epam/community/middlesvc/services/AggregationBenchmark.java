@@ -0,0 +1,156 @@
+package com.epam.community.middlesvc.services;
+
+import com.epam.community.middlesvc.admission.SojournAdmissionControl;
+import com.epam.community.middlesvc.caching.ReferenceDataCache;
+import com.epam.community.middlesvc.configs.AdmissionControlProperties;
+import com.epam.community.middlesvc.configs.DownstreamCacheProperties;
+import com.epam.community.middlesvc.configs.ExecutionProperties;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties.Kind;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties.Pool;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties.QueueType;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties.RejectionPolicy;
+import com.epam.community.middlesvc.configs.FairShareProperties;
+import com.epam.community.middlesvc.models.CarFullTypeEnum;
+import com.epam.community.middlesvc.models.CarModel;
+import com.epam.community.middlesvc.models.DealerModel;
+import com.epam.community.middlesvc.models.IdNameModel;
+import com.epam.community.middlesvc.models.StateModel;
+import com.epam.community.middlesvc.threading.ExecutorMonitor;
+import com.epam.community.middlesvc.threading.ExecutorTopology;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The aggregation of {@link CarAsyncService} against an in-memory {@link SyntheticCatalog}, every downstream call
+ * answered after {@code latencyMicros} without holding a thread, as the asynchronous clients do.
+ * The downstream caches are bypassed, so every call of the aggregation is made.
+ * <p>
+ * Run with {@code ./gradlew jmh}: throughput and the latency percentiles (sample mode) per concurrent request,
+ * the gc profiler adds the allocation per aggregation as {@code gc.alloc.rate.norm}. MiddleSvc and MiddleSvc_first
+ * have the same benchmark of their {@code CarService}, with the same catalog and parameters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class AggregationBenchmark {
+
+    private static final Map<String, Pool> POOLS = Map.of(
+            "loopAsyncExecutor_0", pool(Kind.PLATFORM, "loop-executor-0-"),
+            "loopAsyncExecutor_1", pool(Kind.PLATFORM, "loop-executor-1-"),
+            "generalExecutor", pool(Kind.FORK_JOIN, "epam-thread-"));
+    private static final ExecutorTopologyProperties.Stages STAGES = new ExecutorTopologyProperties.Stages(
+            "direct", "loopAsyncExecutor_1", "loopAsyncExecutor_0", "direct", "direct");
+    private static final Duration SNAPSHOT_INTERVAL = Duration.ofMillis(200L);
+
+    @Param({"20"})
+    private int dealers;
+    @Param({"10", "100"})
+    private int carsPerDealer;
+    @Param({"0", "1000"})
+    private int latencyMicros;
+    @Param({"POOLS", "FORK_JOIN"})
+    private ExecutionProperties.Mode mode;
+
+    private ExecutorTopology executorTopology;
+    private CarAsyncService carAsyncService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        this.executorTopology = new ExecutorTopology(new ExecutorTopologyProperties(POOLS, STAGES, Duration.ofSeconds(10L)),
+                new ExecutionProperties(this.mode, "generalExecutor"), new FairShareProperties(true, 100, 20, 10_000),
+                new ExecutorMonitor(meterRegistry), meterRegistry,
+                new SojournAdmissionControl(new AdmissionControlProperties(false, Duration.ofMillis(20L), Duration.ofMillis(200L),
+                        Duration.ofSeconds(1L)), meterRegistry));
+        this.carAsyncService = new CarAsyncService(new StubReferenceDataCache(new SyntheticCatalog(this.dealers, this.carsPerDealer),
+                this.latencyMicros), this.executorTopology, meterRegistry);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        this.executorTopology.destroy();
+    }
+
+    @Benchmark
+    public List<CarModel> cheapestCars() {
+        return this.carAsyncService.getCheapestCarsInStateAsync(SyntheticCatalog.STATE_CODE, null, null, 3,
+                SNAPSHOT_INTERVAL, null).join();
+    }
+
+    private static Pool pool(final Kind kind,
+                             final String threadNamePrefix) {
+        return new Pool(kind, 10, 100, Duration.ofSeconds(10L), QueueType.LINKED, 300, RejectionPolicy.ABORT, 60, 1, false,
+                threadNamePrefix);
+    }
+
+    /**
+     * Answers from the catalog instead of the clients, without caching.
+     */
+    private static final class StubReferenceDataCache extends ReferenceDataCache {
+
+        private static final DownstreamCacheProperties.Dataset UNUSED = new DownstreamCacheProperties.Dataset(
+                Duration.ofMinutes(1L), Duration.ofSeconds(30L), 1L);
+
+        private final SyntheticCatalog catalog;
+        private final long latencyMicros;
+
+        private StubReferenceDataCache(final SyntheticCatalog catalog,
+                                       final long latencyMicros) {
+            super(null, null, null, new DownstreamCacheProperties(false, UNUSED, UNUSED, UNUSED, UNUSED, UNUSED),
+                    new SimpleMeterRegistry());
+            this.catalog = catalog;
+            this.latencyMicros = latencyMicros;
+        }
+
+        @Override
+        public CompletableFuture<StateModel> getStateInformation(final String code) {
+            return this.respond(this.catalog::state);
+        }
+
+        @Override
+        public CompletableFuture<List<IdNameModel>> getDealersByState(final String code) {
+            return this.respond(this.catalog::dealersOfState);
+        }
+
+        @Override
+        public CompletableFuture<DealerModel> getDealerInfo(final int id) {
+            return this.respond(() -> this.catalog.dealer(id));
+        }
+
+        @Override
+        public CompletableFuture<Integer> getPriceByCarId(final int id) {
+            return this.respond(() -> this.catalog.price(id));
+        }
+
+        @Override
+        public CompletableFuture<Integer> getDiscountByType(final String stateCode,
+                                                           final CarFullTypeEnum type) {
+            return this.respond(() -> SyntheticCatalog.discount(type));
+        }
+
+        private <T> CompletableFuture<T> respond(final Supplier<T> response) {
+            return this.latencyMicros == 0L
+                    ? CompletableFuture.completedFuture(response.get())
+                    : CompletableFuture.supplyAsync(response, CompletableFuture.delayedExecutor(this.latencyMicros, TimeUnit.MICROSECONDS));
+        }
+    }
+}
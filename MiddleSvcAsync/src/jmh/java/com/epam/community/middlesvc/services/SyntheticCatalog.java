@@ -0,0 +1,75 @@
+package com.epam.community.middlesvc.services;
+
+import com.epam.community.middlesvc.models.CarFullTypeEnum;
+import com.epam.community.middlesvc.models.CarTypeEnum;
+import com.epam.community.middlesvc.models.DealerCarModel;
+import com.epam.community.middlesvc.models.DealerModel;
+import com.epam.community.middlesvc.models.DiscountModel;
+import com.epam.community.middlesvc.models.IdNameModel;
+import com.epam.community.middlesvc.models.StateModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic in-memory catalog of a single state for the benchmarks, the same in every module so their results
+ * compare: {@code dealers} dealers with {@code carsPerDealer} cars each, prices between 10 000 and 60 000 and
+ * every full type discounted above the price limit of 30 000.
+ */
+final class SyntheticCatalog {
+
+    static final String STATE_CODE = "CA";
+
+    private static final int PRICE_LIMIT = 30_000;
+    private static final CarFullTypeEnum[] FULL_TYPES = CarFullTypeEnum.values();
+    private static final CarTypeEnum[] TYPES = CarTypeEnum.values();
+
+    private final StateModel state;
+    private final List<IdNameModel> dealersOfState;
+    private final DealerModel[] dealers;
+    private final int[] prices;
+
+    SyntheticCatalog(final int dealers,
+                     final int carsPerDealer) {
+        final Random random = new Random(42L);
+        this.state = new StateModel(1, STATE_CODE, PRICE_LIMIT, Arrays.stream(FULL_TYPES)
+                .map(fullType -> new DiscountModel(fullType.ordinal(), fullType.name(), discount(fullType), fullType))
+                .toList());
+        this.dealersOfState = new ArrayList<>(dealers);
+        this.dealers = new DealerModel[dealers];
+        this.prices = new int[dealers * carsPerDealer];
+        for (int dealer = 0; dealer < dealers; dealer++) {
+            final List<DealerCarModel> cars = new ArrayList<>(carsPerDealer);
+            for (int car = 0; car < carsPerDealer; car++) {
+                final int id = (dealer * carsPerDealer) + car;
+                cars.add(new DealerCarModel(id, "model-" + id, 2015 + random.nextInt(10), "manufacturer", random.nextInt(10),
+                        FULL_TYPES[random.nextInt(FULL_TYPES.length)], TYPES[random.nextInt(TYPES.length)]));
+                this.prices[id] = 10_000 + random.nextInt(50_000);
+            }
+            this.dealersOfState.add(new IdNameModel(dealer, "dealer-" + dealer));
+            this.dealers[dealer] = new DealerModel(dealer, "dealer-" + dealer, random.nextInt(20), List.copyOf(cars));
+        }
+    }
+
+    static int discount(final CarFullTypeEnum fullType) {
+        return 5 + (fullType.ordinal() * 2);
+    }
+
+    StateModel state() {
+        return this.state;
+    }
+
+    List<IdNameModel> dealersOfState() {
+        return this.dealersOfState;
+    }
+
+    DealerModel dealer(final int id) {
+        return this.dealers[id];
+    }
+
+    int price(final int carId) {
+        return this.prices[carId];
+    }
+}
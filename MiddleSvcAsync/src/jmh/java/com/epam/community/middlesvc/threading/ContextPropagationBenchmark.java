@@ -0,0 +1,176 @@
+package com.epam.community.middlesvc.threading;
+
+import brave.Tracing;
+import brave.context.slf4j.MDCScopeDecorator;
+import brave.propagation.ThreadLocalCurrentTraceContext;
+import com.epam.community.middlesvc.context.RequestContext;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.brave.bridge.BraveBaggageManager;
+import io.micrometer.tracing.brave.bridge.BraveCurrentTraceContext;
+import io.micrometer.tracing.brave.bridge.BraveTracer;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.util.ObjectUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead per task of the context propagation of the async pools, on a caller-runs executor so that only the
+ * wrapping is measured. Run with {@code ./gradlew jmh}, the gc profiler reports the allocation per task.
+ * Every variant runs in the same state, as within a request: a traced observation, whose scope puts the trace fields
+ * in the MDC, further MDC keys and the {@link RequestContext}.
+ * <ul>
+ *     <li>{@code decoratedAndWrapped} - the former pools: a task decorator and a context executor service, both capturing,</li>
+ *     <li>{@code mdcCopy} - the former {@link MdcForkJoinPool}: the MDC map copied on capture, restore and reset of every task
+ *     besides the snapshot of the rest,</li>
+ *     <li>{@code unified} - {@link ContextPropagation}: a single snapshot per task, no MDC map is copied, the trace fields
+ *     reach the MDC through the restored observation scope.</li>
+ * </ul>
+ * {@code unified} allocates the least per task ({@code gc.alloc.rate.norm}), the difference to {@code mdcCopy}
+ * being the three map copies and growing with the MDC keys.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ContextPropagationBenchmark {
+
+    private ExecutorService decoratedAndWrapped;
+    private ExecutorService unified;
+    private ExecutorService direct;
+    private Tracing tracing;
+    private Observation observation;
+    private Observation.Scope observationScope;
+    private RequestContext.Scope requestScope;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.direct = new CallerRunsExecutorService(null);
+        this.decoratedAndWrapped = ContextExecutorService.wrap(
+                new CallerRunsExecutorService(new ContextPropagatingTaskDecorator(ContextPropagation.snapshotFactory())),
+                ContextPropagation.snapshotFactory()::captureAll);
+        this.unified = ContextPropagation.wrap(this.direct);
+
+        this.tracing = Tracing.newBuilder()
+                .currentTraceContext(ThreadLocalCurrentTraceContext.newBuilder()
+                        .addScopeDecorator(MDCScopeDecorator.newBuilder().build())
+                        .build())
+                .build();
+        final Tracer tracer = new BraveTracer(this.tracing.tracer(),
+                new BraveCurrentTraceContext(this.tracing.currentTraceContext()), new BraveBaggageManager());
+        final ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultTracingObservationHandler(tracer));
+        ObservationThreadLocalAccessor.getInstance().setObservationRegistry(observationRegistry);
+
+        for (final String key : List.of("user", "session", "client")) {
+            MDC.put(key, key + "-value");
+        }
+        this.requestScope = RequestContext.open(RequestContext.withTimeout(Duration.ofMinutes(1L), false));
+        this.observation = Observation.start("request", observationRegistry);
+        this.observationScope = this.observation.openScope();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.observationScope.close();
+        this.observation.stop();
+        this.requestScope.close();
+        MDC.clear();
+        this.tracing.close();
+    }
+
+    @Benchmark
+    public void decoratedAndWrapped(final Blackhole blackhole) {
+        this.decoratedAndWrapped.execute(() -> consume(blackhole));
+    }
+
+    @Benchmark
+    public void mdcCopy(final Blackhole blackhole) {
+        final Map<String, String> context = MDC.getCopyOfContextMap();
+        final ContextSnapshot snapshot = ContextPropagation.capture();
+        this.direct.execute(() -> {
+            final Map<String, String> previous = MDC.getCopyOfContextMap();
+            MDC.setContextMap(context);
+            try (ContextSnapshot.Scope ignored = snapshot.setThreadLocals()) {
+                consume(blackhole);
+            } finally {
+                if (ObjectUtils.isEmpty(previous))
+                    MDC.clear();
+                else
+                    MDC.setContextMap(previous);
+            }
+        });
+    }
+
+    @Benchmark
+    public void unified(final Blackhole blackhole) {
+        this.unified.execute(() -> consume(blackhole));
+    }
+
+    private static void consume(final Blackhole blackhole) {
+        blackhole.consume(RequestContext.current());
+        blackhole.consume(MDC.get("traceId"));
+    }
+
+    /**
+     * Runs every task on the submitting thread, optionally decorated like a ThreadPoolTaskExecutor does.
+     */
+    private static final class CallerRunsExecutorService extends AbstractExecutorService {
+
+        private final TaskDecorator taskDecorator;
+
+        private CallerRunsExecutorService(final TaskDecorator taskDecorator) {
+            this.taskDecorator = taskDecorator;
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            (this.taskDecorator != null ? this.taskDecorator.decorate(command) : command).run();
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(final long timeout, final TimeUnit unit) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.epam.community.middlesvc.threading;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Throughput of the aggregation fan-out in both execution modes, with the downstream calls simulated by a sleep.
+ * <ul>
+ *     <li>{@code threePools} - dealer and car stages on the two loop executors, the calls on a bulkhead,</li>
+ *     <li>{@code forkJoin} - everything on a single {@link MdcForkJoinPool}, the calls through {@link ForkJoinPool#managedBlock}.</li>
+ * </ul>
+ * Several benchmark threads play concurrent user requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class ExecutionModeBenchmark {
+
+    @Param({"20"})
+    private int dealers;
+    @Param({"10"})
+    private int carsPerDealer;
+    @Param({"1"})
+    private int callMillis;
+
+    private ExecutorService loop0;
+    private ExecutorService loop1;
+    private ExecutorService bulkhead;
+    private MdcForkJoinPool forkJoinPool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.loop0 = pool(10, 100);
+        this.loop1 = pool(10, 100);
+        this.bulkhead = pool(50, 200);
+        this.forkJoinPool = new MdcForkJoinPool(60, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false,
+                60, 500, 1, pool -> true, 60L, TimeUnit.SECONDS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.loop0.shutdownNow();
+        this.loop1.shutdownNow();
+        this.bulkhead.shutdownNow();
+        this.forkJoinPool.shutdownNow();
+    }
+
+    @Benchmark
+    public Object threePools() {
+        return this.aggregate(this.loop1, this.loop0, this.bulkhead).join();
+    }
+
+    @Benchmark
+    public Object forkJoin() {
+        return this.aggregate(this.forkJoinPool, this.forkJoinPool, this.forkJoinPool).join();
+    }
+
+    private CompletableFuture<Void> aggregate(final Executor dealerStage,
+                                              final Executor carStage,
+                                              final Executor calls) {
+        return CompletableFuture.supplyAsync(() -> null, dealerStage)
+                .thenComposeAsync(ignored -> CompletableFuture.allOf(IntStream.range(0, this.dealers)
+                        .mapToObj(dealer -> CompletableFuture.supplyAsync(this::call, calls)
+                                .thenComposeAsync(dealerInfo -> CompletableFuture.allOf(IntStream.range(0, this.carsPerDealer)
+                                        .mapToObj(car -> CompletableFuture.supplyAsync(this::call, calls))
+                                        .toArray(CompletableFuture[]::new)), carStage))
+                        .toArray(CompletableFuture[]::new)), dealerStage);
+    }
+
+    private Integer call() {
+        if (Thread.currentThread() instanceof ForkJoinWorkerThread) {
+            try {
+                ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                    private boolean done;
+
+                    @Override
+                    public boolean block() throws InterruptedException {
+                        Thread.sleep(ExecutionModeBenchmark.this.callMillis);
+                        this.done = true;
+                        return true;
+                    }
+
+                    @Override
+                    public boolean isReleasable() {
+                        return this.done;
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        } else {
+            try {
+                Thread.sleep(this.callMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return 1;
+    }
+
+    private static ExecutorService pool(final int corePoolSize,
+                                        final int maxPoolSize) {
+        // a ThreadPoolTaskExecutor with a bounded queue behaves the same
+        return new ThreadPoolExecutor(corePoolSize, maxPoolSize, 10L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(300),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -2,8 +2,10 @@ package com.epam.community.middlesvc;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class MiddleSvcAsyncApplication {
 
     public static void main(final String[] args) {
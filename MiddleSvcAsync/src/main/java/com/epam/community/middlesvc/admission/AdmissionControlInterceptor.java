@@ -0,0 +1,46 @@
+package com.epam.community.middlesvc.admission;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Rejects requests while the {@link SojournAdmissionControl} sheds load, before any work is started for them.
+ * A rejected request gets 503 with a {@code Retry-After} header, the client can tell it from a failure and back off.
+ * Handlers marked {@link AdmittedByHandler} decide on the admission themselves.
+ */
+@Slf4j
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private final SojournAdmissionControl admissionControl;
+
+    /**
+     * Constructor for the AdmissionControlInterceptor class.
+     *
+     * @param admissionControl The admission decisions.
+     */
+    public AdmissionControlInterceptor(final SojournAdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request,
+                             final HttpServletResponse response,
+                             final Object handler) {
+        // the dispatch delivering an asynchronous result belongs to a request admitted already
+        if ((request.getDispatcherType() == DispatcherType.ASYNC)
+                || ((handler instanceof HandlerMethod handlerMethod) && handlerMethod.hasMethodAnnotation(AdmittedByHandler.class))
+                || this.admissionControl.tryAdmit()) {
+            return true;
+        }
+        log.debug("Shedding {}", request.getRequestURI());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, this.admissionControl.retryAfterSeconds());
+        return false;
+    }
+}
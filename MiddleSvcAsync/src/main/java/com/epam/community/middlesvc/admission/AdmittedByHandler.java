@@ -0,0 +1,18 @@
+package com.epam.community.middlesvc.admission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler method which passes the {@link SojournAdmissionControl} itself, once it is clear the request needs
+ * the async pools, e.g. after a miss of the materialized view. The {@link AdmissionControlInterceptor} lets its
+ * requests through, so the reads served without the pools are not shed along with the work that loads them.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface AdmittedByHandler {
+}
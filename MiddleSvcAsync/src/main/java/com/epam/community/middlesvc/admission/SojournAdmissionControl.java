@@ -0,0 +1,138 @@
+package com.epam.community.middlesvc.admission;
+
+import com.epam.community.middlesvc.configs.AdmissionControlProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control of the incoming requests on the sojourn time of the pool tasks, after CoDel.
+ * <p>
+ * The pools report the time every task waited in their queue. Per interval only the shortest wait counts: a burst
+ * queues up and drains again within an interval, while a standing queue keeps even the shortest wait above the target.
+ * After such an interval the service is overloaded and new requests are shed until an interval without a standing
+ * queue, so the requests already accepted get the pools to themselves instead of all of them timing out.
+ * An interval without any task ends the overload, as the queues must have drained.
+ * <p>
+ * The decisions are counted as {@code http.server.admission} tagged with the {@code outcome} admitted or shed,
+ * the state as {@code http.server.admission.overloaded} and the shortest sojourn of the last interval as
+ * {@code http.server.admission.sojourn.min}.
+ */
+@Component
+@Slf4j
+public class SojournAdmissionControl {
+
+    private static final long NO_SOJOURN = Long.MAX_VALUE;
+
+    private final AdmissionControlProperties properties;
+    private final String retryAfterSeconds;
+    private final long targetNanos;
+    private final long intervalNanos;
+    private final AtomicLong intervalEndNanos;
+    private final AtomicLong minSojournNanos = new AtomicLong(NO_SOJOURN);
+    private final Counter admitted;
+    private final Counter shed;
+    private volatile long lastMinSojournNanos;
+    private volatile boolean overloaded;
+
+    /**
+     * Constructor for the SojournAdmissionControl class.
+     *
+     * @param properties    The admission control settings.
+     * @param meterRegistry The registry the decisions are published to.
+     */
+    public SojournAdmissionControl(final AdmissionControlProperties properties,
+                                   final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        // Retry-After takes whole seconds
+        this.retryAfterSeconds = Long.toString(Math.max(1L, (properties.retryAfter().toMillis() + 999L) / 1000L));
+        this.targetNanos = properties.target().toNanos();
+        this.intervalNanos = properties.interval().toNanos();
+        this.intervalEndNanos = new AtomicLong(System.nanoTime() + this.intervalNanos);
+        this.admitted = Counter.builder("http.server.admission")
+                .description("Requests admitted or shed by the admission control")
+                .tag("outcome", "admitted")
+                .register(meterRegistry);
+        this.shed = Counter.builder("http.server.admission")
+                .description("Requests admitted or shed by the admission control")
+                .tag("outcome", "shed")
+                .register(meterRegistry);
+        Gauge.builder("http.server.admission.overloaded", this, control -> control.overloaded ? 1.0 : 0.0)
+                .description("Whether new requests are shed")
+                .register(meterRegistry);
+        Gauge.builder("http.server.admission.sojourn.min", this, control -> control.lastMinSojournNanos / 1e6)
+                .description("The shortest time a pool task waited in its queue during the last interval")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records how long a task waited in the queue of its pool.
+     *
+     * @param sojournNanos The wait in nanoseconds.
+     */
+    public void record(final long sojournNanos) {
+        this.evaluate(System.nanoTime());
+        this.minSojournNanos.accumulateAndGet(sojournNanos, Math::min);
+    }
+
+    /**
+     * Decides whether a new request is accepted.
+     *
+     * @return true if the request may proceed, false if it is to be rejected.
+     */
+    public boolean tryAdmit() {
+        this.evaluate(System.nanoTime());
+        if (this.properties.enabled() && this.overloaded) {
+            this.shed.increment();
+            return false;
+        }
+        this.admitted.increment();
+        return true;
+    }
+
+    /**
+     * The time a rejected client is told to wait before retrying.
+     *
+     * @return the value of the {@code Retry-After} header, in whole seconds.
+     */
+    public String retryAfterSeconds() {
+        return this.retryAfterSeconds;
+    }
+
+    /**
+     * Whether the service is overloaded, as of the last interval.
+     *
+     * @return true while new requests are shed.
+     */
+    public boolean isOverloaded() {
+        return this.overloaded;
+    }
+
+    /**
+     * Closes the interval once it is over, the first thread to notice wins.
+     */
+    private void evaluate(final long now) {
+        final long end = this.intervalEndNanos.get();
+        if ((now - end < 0L) || !this.intervalEndNanos.compareAndSet(end, now + this.intervalNanos)) {
+            return;
+        }
+        final long minSojourn = this.minSojournNanos.getAndSet(NO_SOJOURN);
+        final boolean standingQueue = (minSojourn != NO_SOJOURN) && (minSojourn > this.targetNanos);
+        this.lastMinSojournNanos = minSojourn == NO_SOJOURN ? 0L : minSojourn;
+        if (standingQueue != this.overloaded) {
+            if (standingQueue) {
+                log.warn("Overloaded, shortest queue sojourn {} ms above the target of {} ms, shedding new requests",
+                        TimeUnit.NANOSECONDS.toMillis(minSojourn), this.properties.target().toMillis());
+            } else {
+                log.info("No longer overloaded, admitting new requests");
+            }
+            this.overloaded = standingQueue;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.epam.community.middlesvc.caching;
+
+import com.epam.community.middlesvc.configs.ResultCacheProperties;
+import com.epam.community.middlesvc.context.DeadlineExceededException;
+import com.epam.community.middlesvc.context.RequestContext;
+import com.epam.community.middlesvc.models.CarFullTypeEnum;
+import com.epam.community.middlesvc.models.CarModel;
+import com.epam.community.middlesvc.models.CarTypeEnum;
+import com.epam.community.middlesvc.services.CarAsyncService;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Cache of the cheapest cars per state, car type and car full type, in front of {@link CarAsyncService}.
+ * <p>
+ * An entry keeps the top {@code maxCars} (see {@link ResultCacheProperties}) and serves any smaller request by slicing.
+ * A stale entry is served at once while one background refresh runs (Caffeine's refresh-ahead), concurrent misses of
+ * the same key share one aggregation. The aggregation runs in a {@link RequestContext} of its own, so the deadline
+ * of the request which happens to start it neither cuts it short nor leaves a partial result in the cache;
+ * every request waits for it within its own deadline. Hits, misses and loads are published as {@code cars.cheapest}.
+ */
+@Component
+@Slf4j
+public class CheapestCarsCache {
+
+    private final CarAsyncService carAsyncService;
+    private final ResultCacheProperties properties;
+    private final AsyncLoadingCache<ResultKey, List<CarModel>> results;
+
+    /**
+     * Constructor for the CheapestCarsCache class.
+     *
+     * @param carAsyncService The aggregation filling the cache.
+     * @param properties      The cache settings.
+     * @param meterRegistry   The registry the hit/miss/load metrics are published to.
+     */
+    public CheapestCarsCache(final CarAsyncService carAsyncService,
+                             final ResultCacheProperties properties,
+                             final MeterRegistry meterRegistry) {
+        this.carAsyncService = carAsyncService;
+        this.properties = properties;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .refreshAfterWrite(properties.ttl())
+                .expireAfterWrite(properties.ttl().plus(properties.staleWhileRevalidate()))
+                .recordStats()
+                .buildAsync((key, executor) -> this.aggregate(key));
+        CaffeineCacheMetrics.monitor(meterRegistry, this.results.synchronous(), "cars.cheapest");
+        log.info("Cache cars.cheapest: maxCars={}, ttl={}, staleWhileRevalidate={}, maximumSize={}",
+                properties.maxCars(), properties.ttl(), properties.staleWhileRevalidate(), properties.maximumSize());
+    }
+
+    /**
+     * Cached variant of {@link CarAsyncService#getCheapestCarsInStateAsync}, bounded by the deadline of the current request.
+     *
+     * @param stateCode   The code of the state to get the cars from.
+     * @param carType     The type of the car (optional).
+     * @param carFullType The full type of the car (optional).
+     * @param maxCars     The maximum number of cars to retrieve.
+     * @return CompletableFuture of the cheapest cars, already completed on a hit. When the deadline passes first it is
+     * completed with no cars if partial results are allowed, with a {@link DeadlineExceededException} otherwise.
+     */
+    public CompletableFuture<List<CarModel>> getCheapestCarsInState(final String stateCode,
+                                                                    @Nullable final CarTypeEnum carType,
+                                                                    @Nullable final CarFullTypeEnum carFullType,
+                                                                    final int maxCars) {
+        if (!this.properties.enabled() || (maxCars > this.properties.maxCars())) {
+            return this.carAsyncService.getCheapestCarsInStateAsync(stateCode, carType, carFullType, maxCars, Duration.ZERO, null);
+        }
+        final CompletableFuture<List<CarModel>> cars = this.results.get(new ResultKey(stateCode, carType, carFullType))
+                .thenApply(cheapest -> cheapest.size() <= maxCars ? cheapest : cheapest.subList(0, maxCars));
+        // a hit needs no deadline
+        return cars.isDone() ? cars : CarAsyncService.withDeadline(cars, List::of, stateCode);
+    }
+
+    private CompletableFuture<List<CarModel>> aggregate(final ResultKey key) {
+        final RequestContext loadContext = RequestContext.withTimeout(this.properties.loadTimeout(), false);
+        try (RequestContext.Scope ignored = loadContext.attach()) {
+            return this.carAsyncService.getCheapestCarsInStateAsync(key.stateCode(), key.carType(), key.carFullType(),
+                            this.properties.maxCars(), Duration.ZERO, null)
+                    .whenComplete((cars, error) -> loadContext.complete());
+        }
+    }
+
+    private record ResultKey(String stateCode,
+                             @Nullable CarTypeEnum carType,
+                             @Nullable CarFullTypeEnum carFullType) {
+    }
+}
@@ -0,0 +1,208 @@
+package com.epam.community.middlesvc.caching;
+
+import com.epam.community.middlesvc.clients.StateClient;
+import com.epam.community.middlesvc.configs.MaterializerProperties;
+import com.epam.community.middlesvc.context.RequestContext;
+import com.epam.community.middlesvc.models.CarFilter;
+import com.epam.community.middlesvc.models.CarFullTypeEnum;
+import com.epam.community.middlesvc.models.CarModel;
+import com.epam.community.middlesvc.models.CarTypeEnum;
+import com.epam.community.middlesvc.models.IdNameModel;
+import com.epam.community.middlesvc.models.StateModel;
+import com.epam.community.middlesvc.services.CarAsyncService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Materialized view of the cheapest cars of every state (see {@link StateClient#getStateCodes()}), per combination of
+ * car type and full type, maintained in the background and served without any downstream call.
+ * <p>
+ * A state is refreshed by a single fan-out pricing each of its cars once (see
+ * {@link CarAsyncService#getCheapestCarsByFilterAsync(String, int)}), one state at a time and at most one per tick
+ * (see {@link MaterializerProperties}). A change of a state is detected by comparing its state information and dealers,
+ * as the {@link ReferenceDataCache} currently holds them, with the ones its view was built from. The comparison only
+ * peeks into the cache, a tick makes no downstream call but the refresh it starts; with the cache disabled
+ * the states are refreshed on their interval only.
+ * <p>
+ * The refreshes are timed as {@code cars.materialized.refresh} tagged with the {@code outcome},
+ * the states materialized are published as {@code cars.materialized.states}.
+ */
+@Component
+@Slf4j
+public class CheapestCarsMaterializer {
+
+    private final CarAsyncService carAsyncService;
+    private final StateClient stateClient;
+    private final ReferenceDataCache referenceDataCache;
+    private final MaterializerProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, StateView> views = new ConcurrentHashMap<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile List<String> stateCodes = List.of();
+    private volatile long stateCodesLoadedNanos;
+
+    /**
+     * Constructor for the CheapestCarsMaterializer class.
+     *
+     * @param carAsyncService    The aggregation refreshing a state.
+     * @param stateClient        The client listing the states.
+     * @param referenceDataCache The cached state information and dealers the changes are detected on.
+     * @param properties         The materializer settings.
+     * @param meterRegistry      The registry the refreshes are published to.
+     */
+    public CheapestCarsMaterializer(final CarAsyncService carAsyncService,
+                                    final StateClient stateClient,
+                                    final ReferenceDataCache referenceDataCache,
+                                    final MaterializerProperties properties,
+                                    final MeterRegistry meterRegistry) {
+        this.carAsyncService = carAsyncService;
+        this.stateClient = stateClient;
+        this.referenceDataCache = referenceDataCache;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("cars.materialized.states", this.views, Map::size)
+                .description("States served from the materialized view")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Looks the cheapest cars up in the view.
+     *
+     * @param stateCode   The code of the state to get the cars from.
+     * @param carType     The type of the car (optional).
+     * @param carFullType The full type of the car (optional).
+     * @param maxCars     The maximum number of cars to retrieve.
+     * @return The cheapest cars with the time they were materialized at, empty if the state is not materialized,
+     * too stale or more cars are asked for than are kept.
+     */
+    public Optional<MaterializedCars> getCheapestCarsInState(final String stateCode,
+                                                             @Nullable final CarTypeEnum carType,
+                                                             @Nullable final CarFullTypeEnum carFullType,
+                                                             final int maxCars) {
+        final StateView view = this.views.get(stateCode);
+        if (!this.properties.enabled() || (view == null) || (maxCars > this.properties.maxCars())
+                || (System.nanoTime() - view.refreshedNanos > this.properties.maxStaleness().toNanos())) {
+            return Optional.empty();
+        }
+        final List<CarModel> cars = view.cars().getOrDefault(new CarFilter(carType, carFullType), List.of());
+        return Optional.of(new MaterializedCars(cars.size() <= maxCars ? cars : cars.subList(0, maxCars), view.refreshedAt()));
+    }
+
+    /**
+     * Refreshes the state most in need of it, if any. Does nothing while disabled or while a refresh is running.
+     */
+    @Scheduled(fixedDelayString = "${com.epam.community.materializer.tick:2s}")
+    public void tick() {
+        if (!this.properties.enabled()) {
+            return;
+        }
+        final long now = System.nanoTime();
+        if (this.stateCodes.isEmpty() || (now - this.stateCodesLoadedNanos > this.properties.stateCodesReload().toNanos())) {
+            this.stateCodesLoadedNanos = now;
+            this.stateClient.getStateCodes().whenComplete((codes, error) -> {
+                if (error != null) {
+                    log.warn("Materializer could not load the state codes: {}", error.getMessage());
+                    this.stateCodesLoadedNanos = 0L;
+                } else {
+                    this.stateCodes = List.copyOf(codes);
+                    this.views.keySet().retainAll(codes);
+                }
+            });
+            return;
+        }
+        if (!this.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        final String stateCode = this.next(now);
+        if (stateCode == null) {
+            this.refreshing.set(false);
+            return;
+        }
+        this.refresh(stateCode).whenComplete((ignored, error) -> this.refreshing.set(false));
+    }
+
+    /**
+     * Picks a state not materialized yet, else a changed one, else the one refreshed longest ago if it is due.
+     */
+    @Nullable
+    private String next(final long now) {
+        String oldest = null;
+        long oldestNanos = Long.MAX_VALUE;
+        for (final String stateCode : this.stateCodes) {
+            final StateView view = this.views.get(stateCode);
+            if (view == null) {
+                return stateCode;
+            }
+            // only what the cache holds already is compared, a state whose data is not cached counts as unchanged
+            final StateModel stateInformation = this.referenceDataCache.peekStateInformation(stateCode);
+            final List<IdNameModel> dealers = this.referenceDataCache.peekDealersByState(stateCode);
+            if ((stateInformation != null) && (dealers != null) && (Objects.hash(stateInformation, dealers) != view.fingerprint())) {
+                log.info("State: {} changed, refreshing its materialized cars", stateCode);
+                return stateCode;
+            }
+            if (view.refreshedNanos() < oldestNanos) {
+                oldest = stateCode;
+                oldestNanos = view.refreshedNanos();
+            }
+        }
+        return (oldest != null) && (now - oldestNanos >= this.properties.refreshInterval().toNanos()) ? oldest : null;
+    }
+
+    private CompletableFuture<Void> refresh(final String stateCode) {
+        final Timer.Sample sample = Timer.start(this.meterRegistry);
+        final RequestContext loadContext = RequestContext.withTimeout(this.properties.loadTimeout(), false);
+        try (RequestContext.Scope ignored = loadContext.attach()) {
+            return this.fingerprint(stateCode)
+                    .thenCompose(fingerprint -> this.carAsyncService.getCheapestCarsByFilterAsync(stateCode, this.properties.maxCars())
+                            .thenAccept(cars -> this.views.put(stateCode,
+                                    new StateView(Map.copyOf(cars), Instant.now(), System.nanoTime(), fingerprint))))
+                    .whenComplete((ignoredResult, error) -> {
+                        loadContext.complete();
+                        final long nanos = sample.stop(this.meterRegistry.timer("cars.materialized.refresh",
+                                "outcome", error == null ? "success" : "failure"));
+                        if (error != null) {
+                            log.warn("State: {} materialized cars could not be refreshed: {}", stateCode, error.getMessage());
+                        } else {
+                            log.info("State: {} materialized cars refreshed in {} ms", stateCode, TimeUnit.NANOSECONDS.toMillis(nanos));
+                        }
+                    });
+        }
+    }
+
+    private CompletableFuture<Integer> fingerprint(final String stateCode) {
+        final CompletableFuture<StateModel> stateInformation = this.referenceDataCache.getStateInformation(stateCode);
+        final CompletableFuture<List<IdNameModel>> dealers = this.referenceDataCache.getDealersByState(stateCode);
+        return stateInformation.thenCombine(dealers, Objects::hash);
+    }
+
+    /**
+     * Cheapest cars served from the view.
+     *
+     * @param cars            the cheapest cars
+     * @param materializedAt  when the cars were materialized
+     */
+    public record MaterializedCars(List<CarModel> cars,
+                                   Instant materializedAt) {
+    }
+
+    private record StateView(Map<CarFilter, List<CarModel>> cars,
+                             Instant refreshedAt,
+                             long refreshedNanos,
+                             int fingerprint) {
+    }
+}
@@ -0,0 +1,204 @@
+package com.epam.community.middlesvc.caching;
+
+import com.epam.community.middlesvc.clients.DealerClient;
+import com.epam.community.middlesvc.clients.ManufacturerClient;
+import com.epam.community.middlesvc.clients.StateClient;
+import com.epam.community.middlesvc.configs.DownstreamCacheProperties;
+import com.epam.community.middlesvc.configs.DownstreamCacheProperties.Dataset;
+import com.epam.community.middlesvc.context.RequestContext;
+import com.epam.community.middlesvc.models.CarFullTypeEnum;
+import com.epam.community.middlesvc.models.DealerModel;
+import com.epam.community.middlesvc.models.IdNameModel;
+import com.epam.community.middlesvc.models.StateModel;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded, expiring local cache in front of every downstream client method used by the aggregation.
+ * <p>
+ * Caffeine gives us frequency aware eviction (W-TinyLFU), per-dataset TTL and refresh-ahead.
+ * Concurrent misses of the same key share one in-flight future, so a cold key causes exactly one downstream call.
+ * A hit returns the already completed future, callers continuing with non-async stages stay on their own thread.
+ */
+@Component
+@Slf4j
+public class ReferenceDataCache {
+
+    private final StateClient stateClient;
+    private final DealerClient dealerClient;
+    private final ManufacturerClient manufacturerClient;
+    private final boolean enabled;
+
+    private final AsyncLoadingCache<String, StateModel> states;
+    private final AsyncLoadingCache<String, List<IdNameModel>> dealersByState;
+    private final AsyncLoadingCache<Integer, DealerModel> dealers;
+    private final AsyncLoadingCache<Integer, Integer> prices;
+    private final AsyncLoadingCache<DiscountKey, Integer> discounts;
+
+    /**
+     * Constructor for the ReferenceDataCache class.
+     *
+     * @param stateClient        The client to access state data.
+     * @param dealerClient       The client to access dealer data.
+     * @param manufacturerClient The client to access manufacturer data.
+     * @param properties         The cache settings per dataset.
+     * @param meterRegistry      The registry the hit/miss/load metrics are published to.
+     */
+    public ReferenceDataCache(final StateClient stateClient,
+                              final DealerClient dealerClient,
+                              final ManufacturerClient manufacturerClient,
+                              final DownstreamCacheProperties properties,
+                              final MeterRegistry meterRegistry) {
+        this.stateClient = stateClient;
+        this.dealerClient = dealerClient;
+        this.manufacturerClient = manufacturerClient;
+        this.enabled = properties.enabled();
+
+        this.states = build("downstream.states", properties.states(), meterRegistry,
+                (code, executor) -> stateClient.getStateInformation(code));
+        this.dealersByState = build("downstream.dealersByState", properties.dealersByState(), meterRegistry,
+                (code, executor) -> stateClient.getDealersByState(code));
+        this.dealers = build("downstream.dealers", properties.dealers(), meterRegistry,
+                (id, executor) -> dealerClient.getDealerInfo(id));
+        this.prices = build("downstream.prices", properties.prices(), meterRegistry,
+                (id, executor) -> manufacturerClient.getPriceByCarId(id));
+        this.discounts = build("downstream.discounts", properties.discounts(), meterRegistry,
+                (key, executor) -> stateClient.getDiscountByType(key.stateCode(), key.type()));
+    }
+
+    /**
+     * Cached variant of {@link StateClient#getStateInformation(String)}.
+     *
+     * @param code The code of the state.
+     * @return A CompletableFuture of StateModel, already completed on a hit.
+     */
+    public CompletableFuture<StateModel> getStateInformation(final String code) {
+        return this.enabled ? get(this.states, code) : this.stateClient.getStateInformation(code);
+    }
+
+    /**
+     * Cached variant of {@link StateClient#getDealersByState(String)}.
+     *
+     * @param code The code of the state.
+     * @return A CompletableFuture of List of IdNameModel, already completed on a hit.
+     */
+    public CompletableFuture<List<IdNameModel>> getDealersByState(final String code) {
+        return this.enabled ? get(this.dealersByState, code) : this.stateClient.getDealersByState(code);
+    }
+
+    /**
+     * The state information the cache holds, without loading it.
+     *
+     * @param code The code of the state.
+     * @return The state information, null when it is not cached, still loading or the cache is disabled.
+     */
+    @Nullable
+    public StateModel peekStateInformation(final String code) {
+        return this.enabled ? peek(this.states, code) : null;
+    }
+
+    /**
+     * The dealers of a state the cache holds, without loading them.
+     *
+     * @param code The code of the state.
+     * @return The dealers, null when they are not cached, still loading or the cache is disabled.
+     */
+    @Nullable
+    public List<IdNameModel> peekDealersByState(final String code) {
+        return this.enabled ? peek(this.dealersByState, code) : null;
+    }
+
+    /**
+     * Cached variant of {@link DealerClient#getDealerInfo(int)}.
+     *
+     * @param id The ID of the dealer.
+     * @return A CompletableFuture of DealerModel, already completed on a hit.
+     */
+    public CompletableFuture<DealerModel> getDealerInfo(final int id) {
+        return this.enabled ? get(this.dealers, id) : this.dealerClient.getDealerInfo(id);
+    }
+
+    /**
+     * Cached variant of {@link ManufacturerClient#getPriceByCarId(int)}.
+     *
+     * @param id The ID of the car.
+     * @return A CompletableFuture of Integer, already completed on a hit.
+     */
+    public CompletableFuture<Integer> getPriceByCarId(final int id) {
+        return this.enabled ? get(this.prices, id) : this.manufacturerClient.getPriceByCarId(id);
+    }
+
+    /**
+     * Cached variant of {@link StateClient#getDiscountByType(String, CarFullTypeEnum)}.
+     *
+     * @param stateCode The code of the state.
+     * @param type      The full type of the car.
+     * @return A CompletableFuture of Integer, already completed on a hit.
+     */
+    public CompletableFuture<Integer> getDiscountByType(final String stateCode,
+                                                       final CarFullTypeEnum type) {
+        return this.enabled
+                ? get(this.discounts, new DiscountKey(stateCode, type))
+                : this.stateClient.getDiscountByType(stateCode, type);
+    }
+
+    /**
+     * A load is shared by all requests waiting for the key, but runs in the {@link RequestContext} of the request
+     * which started it. When that request gets cancelled, the others load the key once more in their own context.
+     */
+    private static <K, V> CompletableFuture<V> get(final AsyncLoadingCache<K, V> cache,
+                                                   final K key) {
+        final RequestContext requestContext = RequestContext.current();
+        final CompletableFuture<V> future = cache.get(key);
+        return future.exceptionallyCompose(error -> {
+            if (!RequestContext.isCancellation(error) || (requestContext != null && requestContext.isCancelled())) {
+                return CompletableFuture.failedFuture(error);
+            }
+            cache.asMap().remove(key, future);
+            try (RequestContext.Scope ignored = RequestContext.open(requestContext)) {
+                return cache.get(key);
+            }
+        });
+    }
+
+    /**
+     * Reads through the map view, which neither loads the key nor counts as a hit or miss.
+     */
+    @Nullable
+    private static <K, V> V peek(final AsyncLoadingCache<K, V> cache,
+                                 final K key) {
+        final CompletableFuture<V> future = cache.asMap().get(key);
+        return (future != null) && future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+    }
+
+    private static <K, V> AsyncLoadingCache<K, V> build(final String name,
+                                                       final Dataset dataset,
+                                                       final MeterRegistry meterRegistry,
+                                                       final AsyncCacheLoader<K, V> loader) {
+        final Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(dataset.maximumSize())
+                .expireAfterWrite(dataset.ttl())
+                .recordStats();
+        if (!dataset.refreshAfter().isZero() && dataset.refreshAfter().compareTo(dataset.ttl()) < 0) {
+            builder.refreshAfterWrite(dataset.refreshAfter());
+        }
+        log.info("Cache {}: maximumSize={}, ttl={}, refreshAfter={}", name, dataset.maximumSize(), dataset.ttl(), dataset.refreshAfter());
+
+        final AsyncLoadingCache<K, V> cache = builder.buildAsync(loader);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), name);
+        return cache;
+    }
+
+    private record DiscountKey(String stateCode,
+                               CarFullTypeEnum type) {
+    }
+}
@@ -1,43 +1,60 @@
 package com.epam.community.middlesvc.clients;
 
+import com.epam.community.middlesvc.clients.hedging.Hedger;
 import com.epam.community.middlesvc.clients.responses.DealerResponse;
+import com.epam.community.middlesvc.configs.HedgingProperties;
 import com.epam.community.middlesvc.models.CarFullTypeEnum;
 import com.epam.community.middlesvc.models.CarTypeEnum;
 import com.epam.community.middlesvc.models.DealerCarModel;
 import com.epam.community.middlesvc.models.DealerModel;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * This is a client class for interacting with the dealer service.
- * It uses the RestTemplate to make HTTP requests.
+ * It uses the RestTemplate to make HTTP requests, slow calls are hedged (see {@link Hedger}).
+ * The pages of an inventory are hedged on a latency window of their own.
  */
 @Component
 @Slf4j
 public class DealerClient {
 
-    @Value("${com.epam.community.endpoints.dealers.cars}")
-    private String url;
-
     private final RestTemplate restTemplate;
+    private final Hedger hedger;
+    private final Hedger pageHedger;
 
     /**
      * Constructor for the DealerClient class.
      *
-     * @param restTemplate The RestTemplate to be used for making HTTP requests.
+     * @param restTemplate         The RestTemplate to be used for making HTTP requests.
+     * @param url                  The URL template of the dealer endpoint.
+     * @param pageUrl              The URL template of a page of the dealer endpoint.
+     * @param hedgingProperties    The hedging settings.
+     * @param dealersAsyncExecutor The bulkhead the calls are run on.
+     * @param meterRegistry        The registry the hedging metrics are published to.
      */
-    public DealerClient(@Qualifier("defaultRestTemplate") final RestTemplate restTemplate) {
+    public DealerClient(@Qualifier("defaultRestTemplate") final RestTemplate restTemplate,
+                        @Value("${com.epam.community.endpoints.dealers.cars}") final String url,
+                        @Value("${com.epam.community.endpoints.dealers.cars-page}") final String pageUrl,
+                        final HedgingProperties hedgingProperties,
+                        @Qualifier("dealersAsyncExecutor") final Executor dealersAsyncExecutor,
+                        final MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
+        this.hedger = new Hedger("dealers", hedgingProperties.enabled(), hedgingProperties.dealers(),
+                url, dealersAsyncExecutor, meterRegistry);
+        this.pageHedger = new Hedger("dealers-page", hedgingProperties.enabled(), hedgingProperties.dealers().withoutReplicaUrls(),
+                pageUrl, dealersAsyncExecutor, meterRegistry);
     }
 
     /**
@@ -46,36 +63,56 @@ public class DealerClient {
      * @param id The ID of the dealer to retrieve information for.
      * @return A CompletableFuture of DealerModel containing the dealer information.
      */
-    @Async("generalAsyncExecutor")
     public CompletableFuture<DealerModel> getDealerInfo(final int id) {
-        log.info("Getting dealer from downstream service by ID: {}", id);
-        return CompletableFuture.completedFuture(Objects.requireNonNull(
-                        this.restTemplate.exchange(
-                                this.url,
-                                HttpMethod.GET,
-                                null,
-                                new ParameterizedTypeReference<DealerResponse>() {
-                                },
-                                Map.of("id", id)
-                        ).getBody()
-                )
-        ).thenApply(dealerResponse ->
-                DealerModel.builder()
-                        .id(dealerResponse.id())
-                        .name(dealerResponse.name())
-                        .overhead(dealerResponse.overhead())
-                        .cars(dealerResponse.cars().stream()
-                                .map(car -> DealerCarModel.builder()
-                                        .id(car.id())
-                                        .model(car.model())
-                                        .year(car.year())
-                                        .manufacturer(car.manufacturer().name())
-                                        .manufacturerId(car.manufacturer().id())
-                                        .fullType(CarFullTypeEnum.fromString(car.fullType()))
-                                        .type(CarTypeEnum.fromString(car.type()))
-                                        .build()
-                                ).toList())
-                        .build()
+        return this.hedger.call(url -> this.request(url, Map.of("id", id))).thenApply(DealerClient::toModel);
+    }
+
+    /**
+     * This method retrieves dealer information with a page of its cars from the dealer service.
+     * It makes an asynchronous GET request to the dealer service and returns a CompletableFuture of DealerModel.
+     * @param id     The ID of the dealer to retrieve information for.
+     * @param offset The number of cars of the dealer to skip.
+     * @param limit  The maximum number of cars to retrieve, fewer are the last page.
+     * @return A CompletableFuture of DealerModel containing the dealer information and the page of its cars.
+     */
+    public CompletableFuture<DealerModel> getDealerCars(final int id,
+                                                        final int offset,
+                                                        final int limit) {
+        return this.pageHedger.call(url -> this.request(url, Map.of("id", id, "offset", offset, "limit", limit)))
+                .thenApply(DealerClient::toModel);
+    }
+
+    private static DealerModel toModel(final DealerResponse dealerResponse) {
+        return DealerModel.builder()
+                .id(dealerResponse.id())
+                .name(dealerResponse.name())
+                .overhead(dealerResponse.overhead())
+                .cars(dealerResponse.cars().stream()
+                        .map(car -> DealerCarModel.builder()
+                                .id(car.id())
+                                .model(car.model())
+                                .year(car.year())
+                                .manufacturer(car.manufacturer().name())
+                                .manufacturerId(car.manufacturer().id())
+                                .fullType(CarFullTypeEnum.fromString(car.fullType()))
+                                .type(CarTypeEnum.fromString(car.type()))
+                                .build()
+                        ).toList())
+                .build();
+    }
+
+    private DealerResponse request(final String url,
+                                   final Map<String, Integer> uriVariables) {
+        log.info("Getting dealer from downstream service by {}", uriVariables);
+        return Objects.requireNonNull(
+                this.restTemplate.exchange(
+                        url,
+                        HttpMethod.GET,
+                        null,
+                        new ParameterizedTypeReference<DealerResponse>() {
+                        },
+                        uriVariables
+                ).getBody()
         );
     }
 }
@@ -1,33 +1,65 @@
 package com.epam.community.middlesvc.clients;
 
+import com.epam.community.middlesvc.clients.batching.BatchLoader;
+import com.epam.community.middlesvc.clients.hedging.Hedger;
+import com.epam.community.middlesvc.configs.BatchingProperties;
+import com.epam.community.middlesvc.configs.HedgingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * This is a client class for interacting with the manufacturer service.
- * It uses the RestTemplate to make HTTP requests.
+ * It uses the RestTemplate to make HTTP requests. Price lookups are batched into bulk requests (see {@link BatchLoader}),
+ * with batching switched off every lookup is a request of its own. Slow requests are hedged either way (see {@link Hedger}),
+ * the bulk requests on their own latency window, as they take longer than the single lookups.
  */
 @Component
 @Slf4j
 public class ManufacturerClient {
-    @Value("${com.epam.community.endpoints.manufacturers.price}")
-    private String url;
     private final RestTemplate restTemplate;
+    private final Hedger hedger;
+    private final Hedger bulkHedger;
+    private final BatchLoader<Integer, Integer> priceLoader;
 
     /**
      * Constructor for the ManufacturerClient class.
      *
-     * @param restTemplate The RestTemplate to be used for making HTTP requests.
+     * @param restTemplate               The RestTemplate to be used for making HTTP requests.
+     * @param url                        The URL template of the price endpoint.
+     * @param pricesUrl                  The URL template of the bulk price endpoint.
+     * @param hedgingProperties          The hedging settings.
+     * @param batchingProperties         The batching settings.
+     * @param manufacturersAsyncExecutor The bulkhead the calls are run on.
+     * @param meterRegistry              The registry the hedging and batching metrics are published to.
      */
-    public ManufacturerClient(@Qualifier("defaultRestTemplate") final RestTemplate restTemplate) {
+    public ManufacturerClient(@Qualifier("defaultRestTemplate") final RestTemplate restTemplate,
+                              @Value("${com.epam.community.endpoints.manufacturers.price}") final String url,
+                              @Value("${com.epam.community.endpoints.manufacturers.prices}") final String pricesUrl,
+                              final HedgingProperties hedgingProperties,
+                              final BatchingProperties batchingProperties,
+                              @Qualifier("manufacturersAsyncExecutor") final Executor manufacturersAsyncExecutor,
+                              final MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
+        this.hedger = new Hedger("manufacturers", hedgingProperties.enabled(), hedgingProperties.manufacturers(),
+                url, manufacturersAsyncExecutor, meterRegistry);
+        this.bulkHedger = new Hedger("manufacturers-bulk", hedgingProperties.enabled(), hedgingProperties.manufacturers().withoutReplicaUrls(),
+                pricesUrl, manufacturersAsyncExecutor, meterRegistry);
+        this.priceLoader = batchingProperties.enabled()
+                ? new BatchLoader<>("prices", batchingProperties.prices(), this::getPricesByCarIds, meterRegistry)
+                : null;
     }
 
     /**
@@ -37,15 +69,43 @@ public class ManufacturerClient {
      * @param id The ID of the car to retrieve the price for.
      * @return A CompletableFuture of Integer containing the price of the car.
      */
-    @Async("generalAsyncExecutor")
     public CompletableFuture<Integer> getPriceByCarId(final int id) {
-        return CompletableFuture.completedFuture(this.request(id));
+        return this.priceLoader != null
+                ? this.priceLoader.load(id)
+                : this.hedger.call(url -> this.request(url, id));
     }
 
-    private Integer request(final int id) {
+    /**
+     * This method retrieves the prices of several cars from the manufacturer service with a single request.
+     * It makes an asynchronous GET request to the manufacturer service and returns a CompletableFuture of Map.
+     *
+     * @param ids The IDs of the cars to retrieve the prices for.
+     * @return A CompletableFuture of Map of the car ID to its price, unknown IDs are left out.
+     */
+    public CompletableFuture<Map<Integer, Integer>> getPricesByCarIds(final List<Integer> ids) {
+        return this.bulkHedger.call(url -> this.requestPrices(url, ids));
+    }
+
+    private Map<Integer, Integer> requestPrices(final String url,
+                                                final List<Integer> ids) {
+        log.info("Getting prices from downstream service by {} car IDs", ids.size());
+        return Objects.requireNonNull(
+                this.restTemplate.exchange(
+                        url,
+                        HttpMethod.GET,
+                        null,
+                        new ParameterizedTypeReference<Map<Integer, Integer>>() {
+                        },
+                        Map.of("ids", StringUtils.collectionToCommaDelimitedString(ids))
+                ).getBody()
+        );
+    }
+
+    private Integer request(final String url,
+                            final int id) {
         log.info("Getting price from downstream service by car ID: {}", id);
         return this.restTemplate.getForObject(
-                this.url,
+                url,
                 Integer.class,
                 Map.of("id", id)
         );
@@ -1,11 +1,14 @@
 package com.epam.community.middlesvc.clients;
 
+import com.epam.community.middlesvc.clients.batching.BatchLoader;
 import com.epam.community.middlesvc.clients.responses.IdNameResponse;
 import com.epam.community.middlesvc.clients.responses.StateResponse;
+import com.epam.community.middlesvc.configs.BatchingProperties;
 import com.epam.community.middlesvc.models.CarFullTypeEnum;
 import com.epam.community.middlesvc.models.DiscountModel;
 import com.epam.community.middlesvc.models.IdNameModel;
 import com.epam.community.middlesvc.models.StateModel;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,10 +18,15 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 /**
  * This is a client class for interacting with the state service.
@@ -34,18 +42,32 @@ public class StateClient {
     private String stateInfoUrl;
     @Value("${com.epam.community.endpoints.states.discount}")
     private String stateDiscountUrl;
+    @Value("${com.epam.community.endpoints.states.discounts}")
+    private String stateDiscountsUrl;
     @Value("${com.epam.community.endpoints.states.dealersByCode}")
     private String dealersByCodeUrl;
 
     private final RestTemplate restTemplate;
+    private final Executor executor;
+    private final BatchLoader<StateDiscountKey, Integer> discountLoader;
 
     /**
      * Constructor for the StateClient class.
      *
-     * @param restTemplate The RestTemplate to be used for making HTTP requests.
+     * @param restTemplate        The RestTemplate to be used for making HTTP requests.
+     * @param batchingProperties  The batching settings of the discount lookups.
+     * @param statesAsyncExecutor The bulkhead the discount lookups are run on.
+     * @param meterRegistry       The registry the batching metrics are published to.
      */
-    public StateClient(@Qualifier("defaultRestTemplate") final RestTemplate restTemplate) {
+    public StateClient(@Qualifier("defaultRestTemplate") final RestTemplate restTemplate,
+                       final BatchingProperties batchingProperties,
+                       @Qualifier("statesAsyncExecutor") final Executor statesAsyncExecutor,
+                       final MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
+        this.executor = statesAsyncExecutor;
+        this.discountLoader = batchingProperties.enabled()
+                ? new BatchLoader<>("discounts", batchingProperties.discounts(), this::getDiscountsOfStates, meterRegistry)
+                : null;
     }
 
     /**
@@ -53,7 +75,7 @@ public class StateClient {
      * It makes an asynchronous GET request to the state service and returns a CompletableFuture of List of String.
      * @return A CompletableFuture of List of String containing the state codes.
      */
-    @Async("generalAsyncExecutor")
+    @Async("statesAsyncExecutor")
     public CompletableFuture<List<String>> getStateCodes() {
         log.info("Getting state codes from downstream service");
         return CompletableFuture.completedFuture(
@@ -77,7 +99,7 @@ public class StateClient {
      * @param code The code of the state to retrieve dealers for.
      * @return A CompletableFuture of List of IdNameModel containing the dealers by state.
      */
-    @Async("generalAsyncExecutor")
+    @Async("statesAsyncExecutor")
     public CompletableFuture<List<IdNameModel>> getDealersByState(final String code) {
         log.info("Getting dealers from downstream service by state: {}", code);
         return CompletableFuture.completedFuture(
@@ -104,7 +126,7 @@ public class StateClient {
      * @param code The code of the state to retrieve information for.
      * @return A CompletableFuture of StateModel containing the state information.
      */
-    @Async("generalAsyncExecutor")
+    @Async("statesAsyncExecutor")
     public CompletableFuture<StateModel> getStateInformation(final String code) {
         log.info("Getting state information from downstream service by state: {}", code);
         return CompletableFuture.completedFuture(
@@ -137,23 +159,75 @@ public class StateClient {
     /**
      * This method retrieves the discount by type from the state service.
      * It makes an asynchronous GET request to the state service and returns a CompletableFuture of Integer.
+     * With batching switched on, lookups of the same state are sent together (see {@link BatchLoader}).
      * @param stateCode The code of the state to retrieve the discount for.
      * @param type The type of the car to retrieve the discount for.
      * @return A CompletableFuture of Integer containing the discount by type.
      */
-    @Async("generalAsyncExecutor")
     public CompletableFuture<Integer> getDiscountByType(final String stateCode,
                                                         final CarFullTypeEnum type) {
-        log.info("Getting discount by type from downstream service by state: {} and type: {}", stateCode, type.name());
-        return CompletableFuture.completedFuture(
-                this.restTemplate.exchange(
-                        this.stateDiscountUrl,
-                        HttpMethod.GET,
-                        null,
-                        new ParameterizedTypeReference<Integer>() {
-                        },
-                        Map.of("code", stateCode, "type", type.name())
-                ).getBody()
-        );
+        if (this.discountLoader != null) {
+            return this.discountLoader.load(new StateDiscountKey(stateCode, type));
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            log.info("Getting discount by type from downstream service by state: {} and type: {}", stateCode, type.name());
+            return this.restTemplate.exchange(
+                    this.stateDiscountUrl,
+                    HttpMethod.GET,
+                    null,
+                    new ParameterizedTypeReference<Integer>() {
+                    },
+                    Map.of("code", stateCode, "type", type.name())
+            ).getBody();
+        }, this.executor);
+    }
+
+    /**
+     * This method retrieves the discounts of several types of a state from the state service with a single request.
+     * It makes an asynchronous GET request to the state service and returns a CompletableFuture of Map.
+     * @param stateCode The code of the state to retrieve the discounts for.
+     * @param types The types of the car to retrieve the discounts for.
+     * @return A CompletableFuture of Map of the type to its discount, types without a discount are left out.
+     */
+    public CompletableFuture<Map<CarFullTypeEnum, Integer>> getDiscountsByTypes(final String stateCode,
+                                                                                final Collection<CarFullTypeEnum> types) {
+        return CompletableFuture.supplyAsync(() -> {
+            log.info("Getting discounts by {} types from downstream service by state: {}", types.size(), stateCode);
+            final Map<String, Integer> discounts = Objects.requireNonNull(
+                    this.restTemplate.exchange(
+                            this.stateDiscountsUrl,
+                            HttpMethod.GET,
+                            null,
+                            new ParameterizedTypeReference<Map<String, Integer>>() {
+                            },
+                            Map.of("code", stateCode, "types", types.stream().map(CarFullTypeEnum::name).collect(Collectors.joining(",")))
+                    ).getBody()
+            );
+            final Map<CarFullTypeEnum, Integer> discountsByType = new EnumMap<>(CarFullTypeEnum.class);
+            types.stream()
+                    .filter(type -> discounts.containsKey(type.name()))
+                    .forEach(type -> discountsByType.put(type, discounts.get(type.name())));
+            return discountsByType;
+        }, this.executor);
+    }
+
+    /**
+     * Bulk loader of the discount batches, a batch may span several states and needs one request per state.
+     */
+    private CompletableFuture<Map<StateDiscountKey, Integer>> getDiscountsOfStates(final List<StateDiscountKey> keys) {
+        final Map<String, List<CarFullTypeEnum>> typesByState = keys.stream()
+                .collect(Collectors.groupingBy(StateDiscountKey::stateCode,
+                        Collectors.mapping(StateDiscountKey::type, Collectors.toList())));
+        final Map<StateDiscountKey, Integer> discounts = new ConcurrentHashMap<>();
+        return CompletableFuture.allOf(typesByState.entrySet().stream()
+                        .map(state -> this.getDiscountsByTypes(state.getKey(), state.getValue())
+                                .thenAccept(discountsByType -> discountsByType.forEach((type, discount) ->
+                                        discounts.put(new StateDiscountKey(state.getKey(), type), discount))))
+                        .toArray(CompletableFuture[]::new))
+                .thenApply(voidResult -> discounts);
+    }
+
+    private record StateDiscountKey(String stateCode,
+                                    CarFullTypeEnum type) {
     }
 }
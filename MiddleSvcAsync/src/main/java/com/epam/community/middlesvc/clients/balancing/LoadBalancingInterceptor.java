@@ -0,0 +1,117 @@
+package com.epam.community.middlesvc.clients.balancing;
+
+import com.epam.community.middlesvc.clients.transport.CompletionTrackingResponse;
+import com.epam.community.middlesvc.configs.LoadBalancerProperties;
+import com.epam.community.middlesvc.context.RequestCancelledException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * RestTemplate interceptor resolving the endpoint group in the host of a request URL to one of its replicas.
+ * Requests to hosts which are not an endpoint group are passed on unchanged.
+ * <p>
+ * Every replica publishes its outstanding requests ({@code downstream.replica.in-flight}),
+ * its moving average latency ({@code downstream.replica.latency}) and whether it is ejected ({@code downstream.replica.ejected}).
+ * A request is outstanding and its latency measured until its response is closed, i.e. its body has been read.
+ */
+@Slf4j
+public class LoadBalancingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Map<String, ReplicaGroup> groups = new HashMap<>();
+
+    /**
+     * Constructor for the LoadBalancingInterceptor class.
+     *
+     * @param properties    The replicas per endpoint group and the ejection settings.
+     * @param meterRegistry The registry the replica gauges are published to.
+     */
+    public LoadBalancingInterceptor(final LoadBalancerProperties properties,
+                                    final MeterRegistry meterRegistry) {
+        properties.replicas().forEach((name, baseUrls) -> {
+            if (baseUrls.isEmpty()) {
+                return;
+            }
+            val replicas = baseUrls.stream().map(URI::create).map(Replica::new).toList();
+            replicas.forEach(replica -> register(meterRegistry, name, replica));
+            this.groups.put(name, new ReplicaGroup(name, replicas, properties.enabled(),
+                    properties.consecutiveFailures(), properties.ejectionTime(), properties.maxEjectedPercent()));
+            log.info("Endpoint group {}: replicas={}", name, baseUrls);
+        });
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request,
+                                        final byte[] body,
+                                        final ClientHttpRequestExecution execution) throws IOException {
+        val group = this.groups.get(request.getURI().getHost());
+        if (group == null) {
+            return execution.execute(request, body);
+        }
+        val replica = group.choose();
+        val uri = UriComponentsBuilder.fromUri(request.getURI())
+                .scheme(replica.baseUri().getScheme())
+                .host(replica.baseUri().getHost())
+                .port(replica.baseUri().getPort())
+                .build(true)
+                .toUri();
+
+        replica.onStart();
+        final long start = System.nanoTime();
+        try {
+            val response = execution.execute(new HttpRequestWrapper(request) {
+                @Override
+                public URI getURI() {
+                    return uri;
+                }
+            }, body);
+            // the replica counts the call outstanding until the body has been read
+            return new CompletionTrackingResponse(response, start, (elapsedNanos, outcome) -> {
+                switch (outcome) {
+                    case SUCCESS -> replica.onSuccess(elapsedNanos);
+                    case FAILURE -> group.onFailure(replica);
+                    case ABORTED -> replica.onAbort();
+                }
+            });
+        } catch (RequestCancelledException e) {
+            // aborted by the caller, says nothing about the health of the replica
+            replica.onAbort();
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            group.onFailure(replica);
+            throw e;
+        }
+    }
+
+    private static void register(final MeterRegistry meterRegistry,
+                                 final String group,
+                                 final Replica replica) {
+        val tags = Tags.of("group", group, "replica", replica.baseUri().getAuthority());
+        Gauge.builder("downstream.replica.in-flight", replica, Replica::inFlight)
+                .description("Outstanding requests of the replica")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("downstream.replica.latency", replica, Replica::latencyMillis)
+                .description("Moving average latency of the replica")
+                .tags(tags)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("downstream.replica.ejected", replica, r -> r.isEjected(System.nanoTime()) ? 1.0 : 0.0)
+                .description("1 while the replica is ejected after consecutive failures")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,77 @@
+package com.epam.community.middlesvc.clients.balancing;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A single replica of an endpoint group together with the load and health figures the balancer decides on.
+ */
+final class Replica {
+
+    /**
+     * Weight of the newest sample in the latency moving average.
+     */
+    private static final double LATENCY_ALPHA = 0.2;
+
+    private final URI baseUri;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong latencyMicros = new AtomicLong();
+    private volatile long ejectedUntilNanos;
+    private volatile boolean ejected;
+
+    Replica(final URI baseUri) {
+        this.baseUri = baseUri;
+    }
+
+    URI baseUri() {
+        return this.baseUri;
+    }
+
+    int inFlight() {
+        return this.inFlight.get();
+    }
+
+    double latencyMillis() {
+        return this.latencyMicros.get() / 1000.0;
+    }
+
+    boolean isEjected(final long nowNanos) {
+        if (this.ejected && (nowNanos - this.ejectedUntilNanos >= 0L)) {
+            this.ejected = false;
+        }
+        return this.ejected;
+    }
+
+    void onStart() {
+        this.inFlight.incrementAndGet();
+    }
+
+    void onSuccess(final long elapsedNanos) {
+        this.inFlight.decrementAndGet();
+        this.consecutiveFailures.set(0);
+        final long sample = elapsedNanos / 1000L;
+        this.latencyMicros.accumulateAndGet(sample, (average, latest) -> average == 0L
+                ? latest
+                : Math.round(average + LATENCY_ALPHA * (latest - average)));
+    }
+
+    /**
+     * @return the number of failures in a row including this one
+     */
+    int onFailure() {
+        this.inFlight.decrementAndGet();
+        return this.consecutiveFailures.incrementAndGet();
+    }
+
+    void onAbort() {
+        this.inFlight.decrementAndGet();
+    }
+
+    void eject(final long untilNanos) {
+        this.consecutiveFailures.set(0);
+        this.ejectedUntilNanos = untilNanos;
+        this.ejected = true;
+    }
+}
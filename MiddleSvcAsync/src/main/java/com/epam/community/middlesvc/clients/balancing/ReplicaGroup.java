@@ -0,0 +1,94 @@
+package com.epam.community.middlesvc.clients.balancing;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The replicas of one endpoint group.
+ * <p>
+ * A replica is picked with power-of-two-choices: two random healthy replicas are compared
+ * and the one with fewer outstanding requests wins, the lower latency breaks ties.
+ * This avoids the herd behaviour of always picking the least loaded replica while staying O(1).
+ * Replicas failing {@code consecutiveFailures} times in a row are ejected for {@code ejectionTime} (passive health checking),
+ * but never more than {@code maxEjectedPercent} of the group. Should every replica be ejected, all of them are used again.
+ */
+@Slf4j
+final class ReplicaGroup {
+
+    private final String name;
+    private final List<Replica> replicas;
+    private final boolean balanced;
+    private final int consecutiveFailures;
+    private final long ejectionNanos;
+    private final int maxEjected;
+
+    ReplicaGroup(final String name,
+                 final List<Replica> replicas,
+                 final boolean balanced,
+                 final int consecutiveFailures,
+                 final Duration ejectionTime,
+                 final int maxEjectedPercent) {
+        this.name = name;
+        this.replicas = List.copyOf(replicas);
+        this.balanced = balanced;
+        this.consecutiveFailures = consecutiveFailures;
+        this.ejectionNanos = ejectionTime.toNanos();
+        this.maxEjected = (replicas.size() * maxEjectedPercent) / 100;
+    }
+
+    List<Replica> replicas() {
+        return this.replicas;
+    }
+
+    Replica choose() {
+        final int size = this.replicas.size();
+        if (!this.balanced || size == 1) {
+            return this.replicas.get(0);
+        }
+        final long now = System.nanoTime();
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int i = random.nextInt(size);
+        final int j = (i + 1 + random.nextInt(size - 1)) % size;
+        final Replica first = this.replicas.get(i);
+        final Replica second = this.replicas.get(j);
+        final boolean firstEjected = first.isEjected(now);
+        final boolean secondEjected = second.isEjected(now);
+        if (!firstEjected && !secondEjected) {
+            return better(first, second);
+        }
+        if (firstEjected != secondEjected) {
+            return firstEjected ? second : first;
+        }
+        for (int k = 1; k < size; k++) {
+            final Replica candidate = this.replicas.get((i + k) % size);
+            if (!candidate.isEjected(now)) {
+                return candidate;
+            }
+        }
+        return first;
+    }
+
+    void onFailure(final Replica replica) {
+        if (replica.onFailure() < this.consecutiveFailures || this.replicas.size() == 1) {
+            return;
+        }
+        final long now = System.nanoTime();
+        final long ejected = this.replicas.stream().filter(other -> other.isEjected(now)).count();
+        if (ejected < this.maxEjected) {
+            log.warn("Ejecting replica {} of {} for {} ms", replica.baseUri(), this.name, this.ejectionNanos / 1_000_000L);
+            replica.eject(now + this.ejectionNanos);
+        }
+    }
+
+    private static Replica better(final Replica first,
+                                  final Replica second) {
+        final int byLoad = Integer.compare(first.inFlight(), second.inFlight());
+        if (byLoad != 0) {
+            return byLoad < 0 ? first : second;
+        }
+        return first.latencyMillis() <= second.latencyMillis() ? first : second;
+    }
+}
@@ -0,0 +1,145 @@
+package com.epam.community.middlesvc.clients.batching;
+
+import com.epam.community.middlesvc.configs.BatchingProperties.Batch;
+import com.epam.community.middlesvc.context.RequestContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.RestClientException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * DataLoader style batcher turning single key lookups into bulk requests.
+ * <p>
+ * The first lookup opens a batch which is dispatched once its window has elapsed or it holds {@code maxBatchSize} keys,
+ * whichever comes first. Lookups of a key already in the open batch share its future.
+ * Every future is completed from the bulk response; a key missing from the response fails with a
+ * {@link RestClientException}, like the single lookup of an unknown key does, a failed bulk request fails all futures of the batch.
+ * <p>
+ * A bulk request serves many callers at once, so it is not bound to the deadline of any of them.
+ * The batch sizes are published as {@code downstream.batch.size} histogram, the dispatches as {@code downstream.batch.dispatches}
+ * tagged with what triggered them.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+@Slf4j
+public final class BatchLoader<K, V> {
+
+    private final String name;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Function<List<K>, CompletableFuture<Map<K, V>>> bulkLoader;
+    private final DistributionSummary batchSize;
+    private final Counter dispatchedBySize;
+    private final Counter dispatchedByWindow;
+    private Map<K, CompletableFuture<V>> openBatch;
+
+    /**
+     * Constructor for the BatchLoader class.
+     *
+     * @param name          The name of the lookup, used as the loader tag of the metrics.
+     * @param batch         The window and maximum size of a batch.
+     * @param bulkLoader    The bulk request, given the distinct keys of a batch.
+     * @param meterRegistry The registry the batch metrics are published to.
+     */
+    public BatchLoader(final String name,
+                       final Batch batch,
+                       final Function<List<K>, CompletableFuture<Map<K, V>>> bulkLoader,
+                       final MeterRegistry meterRegistry) {
+        this.name = name;
+        this.windowNanos = batch.window().toNanos();
+        this.maxBatchSize = batch.maxBatchSize();
+        this.bulkLoader = bulkLoader;
+        this.batchSize = DistributionSummary.builder("downstream.batch.size")
+                .description("Keys per bulk downstream request")
+                .tag("loader", name)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue((double) Math.max(1, batch.maxBatchSize()))
+                .register(meterRegistry);
+        this.dispatchedBySize = this.dispatchCounter(meterRegistry, "size");
+        this.dispatchedByWindow = this.dispatchCounter(meterRegistry, "window");
+    }
+
+    /**
+     * Looks a single key up as part of the next bulk request.
+     *
+     * @param key The key to look up.
+     * @return A CompletableFuture of the value, completed when the bulk response arrives.
+     */
+    public CompletableFuture<V> load(final K key) {
+        final CompletableFuture<V> future;
+        Map<K, CompletableFuture<V>> full = null;
+        synchronized (this) {
+            if (this.openBatch == null) {
+                final Map<K, CompletableFuture<V>> batch = new LinkedHashMap<>();
+                this.openBatch = batch;
+                CompletableFuture.delayedExecutor(this.windowNanos, TimeUnit.NANOSECONDS)
+                        .execute(() -> this.dispatchOnWindow(batch));
+            }
+            future = this.openBatch.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (this.openBatch.size() >= this.maxBatchSize) {
+                full = this.openBatch;
+                this.openBatch = null;
+            }
+        }
+        if (full != null) {
+            this.dispatchedBySize.increment();
+            this.dispatch(full);
+        }
+        return future;
+    }
+
+    private void dispatchOnWindow(final Map<K, CompletableFuture<V>> batch) {
+        synchronized (this) {
+            if (this.openBatch != batch) {
+                // already dispatched because it was full
+                return;
+            }
+            this.openBatch = null;
+        }
+        this.dispatchedByWindow.increment();
+        this.dispatch(batch);
+    }
+
+    private void dispatch(final Map<K, CompletableFuture<V>> batch) {
+        this.batchSize.record(batch.size());
+        log.debug("Dispatching {} batch of {} keys", this.name, batch.size());
+        final CompletableFuture<Map<K, V>> response;
+        // detached from the request of whichever caller filled the batch
+        try (RequestContext.Scope ignored = RequestContext.open(null)) {
+            response = this.bulkLoader.apply(new ArrayList<>(batch.keySet()));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+            return;
+        }
+        response.whenComplete((values, error) -> batch.forEach((key, future) -> {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else if (values.containsKey(key)) {
+                future.complete(values.get(key));
+            } else {
+                future.completeExceptionally(
+                        new RestClientException("No " + this.name + " value for key " + key + " in the bulk response"));
+            }
+        }));
+    }
+
+    private Counter dispatchCounter(final MeterRegistry meterRegistry,
+                                    final String trigger) {
+        return Counter.builder("downstream.batch.dispatches")
+                .description("Bulk downstream requests by what triggered them")
+                .tag("loader", this.name)
+                .tag("trigger", trigger)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.epam.community.middlesvc.clients.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket limiting hedges to a ratio of the calls made.
+ * Every call deposits {@code ratio} of a token, every hedge takes a whole one,
+ * so over any period the hedges never exceed {@code ratio} of the calls plus {@code maxBurst}.
+ */
+final class HedgeBudget {
+
+    private static final long TOKEN = 1000L;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong tokens = new AtomicLong();
+
+    HedgeBudget(final double ratio,
+                final int maxBurst) {
+        this.deposit = Math.round(ratio * TOKEN);
+        this.capacity = maxBurst * TOKEN;
+    }
+
+    void onCall() {
+        this.tokens.accumulateAndGet(this.deposit, (current, deposit) -> Math.min(this.capacity, current + deposit));
+    }
+
+    boolean tryAcquire() {
+        long current;
+        do {
+            current = this.tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!this.tokens.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+}
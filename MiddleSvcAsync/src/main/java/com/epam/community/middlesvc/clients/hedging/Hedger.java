@@ -0,0 +1,204 @@
+package com.epam.community.middlesvc.clients.hedging;
+
+import com.epam.community.middlesvc.configs.HedgingProperties.Policy;
+import com.epam.community.middlesvc.context.RequestContext;
+import com.epam.community.middlesvc.threading.ContextPropagation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs a blocking downstream call on an executor and hedges it when it is slower than usual.
+ * <p>
+ * If the call has not completed after the configured percentile of its recently observed latency,
+ * a duplicate is sent to the next replica, as long as the {@link HedgeBudget} allows it.
+ * Whichever attempt returns first completes the call, the other one is aborted through its own forked
+ * {@link RequestContext}. Errors are not hedged: a failed attempt only fails the call once no other attempt is in flight.
+ */
+@Slf4j
+public final class Hedger {
+
+    private static final int WINDOW = 1024;
+
+    private final String name;
+    private final boolean enabled;
+    private final Policy policy;
+    private final List<String> urls;
+    private final Executor executor;
+    private final LatencyTracker latencies;
+    private final HedgeBudget budget;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter callsCounter;
+    private final Counter hedgesCounter;
+    private final Counter winsCounter;
+    private final Counter budgetExhaustedCounter;
+
+    /**
+     * Constructor for the Hedger class.
+     *
+     * @param name          The name of the downstream call, used as the client tag of the metrics.
+     * @param enabled       Whether hedges are sent at all.
+     * @param policy        The hedging settings of the call.
+     * @param url           The URL template of the primary replica.
+     * @param executor      The executor the attempts are run on.
+     * @param meterRegistry The registry the hedging metrics are published to.
+     */
+    public Hedger(final String name,
+                  final boolean enabled,
+                  final Policy policy,
+                  final String url,
+                  final Executor executor,
+                  final MeterRegistry meterRegistry) {
+        this.name = name;
+        this.enabled = enabled;
+        this.policy = policy;
+        this.urls = new ArrayList<>(1 + policy.replicaUrls().size());
+        this.urls.add(url);
+        this.urls.addAll(policy.replicaUrls());
+        this.executor = executor;
+        this.latencies = new LatencyTracker(WINDOW, policy.percentile());
+        this.budget = new HedgeBudget(policy.budget(), policy.maxBurst());
+
+        this.callsCounter = Counter.builder("downstream.hedging.calls")
+                .description("Downstream calls eligible for hedging")
+                .tag("client", name)
+                .register(meterRegistry);
+        this.hedgesCounter = Counter.builder("downstream.hedging.hedges")
+                .description("Hedges sent because the call was slower than the hedge delay")
+                .tag("client", name)
+                .register(meterRegistry);
+        this.winsCounter = Counter.builder("downstream.hedging.wins")
+                .description("Calls completed by the hedge rather than by the primary attempt")
+                .tag("client", name)
+                .register(meterRegistry);
+        this.budgetExhaustedCounter = Counter.builder("downstream.hedging.budget.exhausted")
+                .description("Hedges not sent because the hedging budget was used up")
+                .tag("client", name)
+                .register(meterRegistry);
+        Gauge.builder("downstream.hedging.rate", this, hedger -> hedger.callsCounter.count() == 0.0
+                        ? 0.0
+                        : hedger.hedgesCounter.count() / hedger.callsCounter.count())
+                .description("Ratio of hedges to calls")
+                .tag("client", name)
+                .register(meterRegistry);
+        Gauge.builder("downstream.hedging.delay", this, hedger -> hedger.hedgeDelayNanos() / 1_000_000.0)
+                .description("Current delay after which a call is hedged")
+                .tag("client", name)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executes the call, hedging it if it is too slow.
+     *
+     * @param request The blocking call, given the URL template of the replica to call.
+     * @param <T>     The type of the result.
+     * @return A CompletableFuture completed by the first attempt to return.
+     */
+    public <T> CompletableFuture<T> call(final Function<String, T> request) {
+        this.callsCounter.increment();
+        this.budget.onCall();
+
+        val call = new HedgedCall<T>(RequestContext.current());
+        this.attempt(call, request, this.urls.get(0), false);
+        if (this.enabled) {
+            val hedge = ContextPropagation.wrap(() -> {
+                if (call.result.isDone() || call.isCancelled()) {
+                    return;
+                }
+                if (!this.budget.tryAcquire()) {
+                    this.budgetExhaustedCounter.increment();
+                    return;
+                }
+                log.info("Hedging {} call", this.name);
+                this.hedgesCounter.increment();
+                this.attempt(call, request, this.replicaUrl(), true);
+            });
+            CompletableFuture.delayedExecutor(this.hedgeDelayNanos(), TimeUnit.NANOSECONDS, this.executor).execute(hedge);
+        }
+        return call.result;
+    }
+
+    private <T> void attempt(final HedgedCall<T> call,
+                             final Function<String, T> request,
+                             final String url,
+                             final boolean hedge) {
+        val attemptContext = RequestContext.fork(call.parent);
+        call.attempts.add(attemptContext);
+        call.inFlight.incrementAndGet();
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> {
+                final long start = System.nanoTime();
+                try (val ignored = attemptContext.attach()) {
+                    return request.apply(url);
+                } finally {
+                    // slow and failed attempts count as well, or the delay would only reflect the fast answers;
+                    // a hedge aborted because the primary answered first ran for a fraction of its latency only
+                    if (!hedge || !call.result.isDone()) {
+                        this.latencies.record(System.nanoTime() - start);
+                    }
+                }
+            }, this.executor);
+        } catch (RejectedExecutionException e) {
+            // the bulkhead of the service is full
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((value, error) -> {
+            final int stillInFlight = call.inFlight.decrementAndGet();
+            if (error == null) {
+                if (call.result.complete(value)) {
+                    if (hedge) {
+                        this.winsCounter.increment();
+                    }
+                    call.attempts.stream()
+                            .filter(other -> other != attemptContext)
+                            .forEach(RequestContext::cancel);
+                }
+            } else if (stillInFlight == 0) {
+                call.result.completeExceptionally(error);
+            }
+        });
+    }
+
+    private String replicaUrl() {
+        return this.urls.size() == 1
+                ? this.urls.get(0)
+                : this.urls.get(1 + Math.floorMod(this.nextReplica.getAndIncrement(), this.urls.size() - 1));
+    }
+
+    private long hedgeDelayNanos() {
+        final long maxDelay = this.policy.maxDelay().toNanos();
+        if (this.latencies.count() < this.policy.minSamples()) {
+            return maxDelay;
+        }
+        return Math.min(maxDelay, Math.max(this.policy.minDelay().toNanos(), this.latencies.percentileNanos()));
+    }
+
+    private static final class HedgedCall<T> {
+        private final RequestContext parent;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final List<RequestContext> attempts = new CopyOnWriteArrayList<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private HedgedCall(final RequestContext parent) {
+            this.parent = parent;
+        }
+
+        private boolean isCancelled() {
+            return this.parent != null && this.parent.isCancelled();
+        }
+    }
+}
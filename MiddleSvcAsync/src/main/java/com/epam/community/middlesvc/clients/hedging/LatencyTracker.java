@@ -0,0 +1,53 @@
+package com.epam.community.middlesvc.clients.hedging;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding window of the most recent latencies of a downstream call.
+ * <p>
+ * The percentile is recomputed once per {@code capacity / 8} samples instead of on every read,
+ * so the hot path is a single array write.
+ */
+final class LatencyTracker {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong count = new AtomicLong();
+    private final double percentile;
+    private final int recomputeEvery;
+    private volatile long percentileNanos;
+
+    LatencyTracker(final int capacity,
+                   final double percentile) {
+        this.samples = new AtomicLongArray(capacity);
+        this.percentile = percentile;
+        this.recomputeEvery = Math.max(1, capacity / 8);
+    }
+
+    void record(final long nanos) {
+        final long n = this.count.getAndIncrement();
+        this.samples.set((int) (n % this.samples.length()), nanos);
+        if ((n + 1) % this.recomputeEvery == 0) {
+            this.percentileNanos = this.compute();
+        }
+    }
+
+    long count() {
+        return this.count.get();
+    }
+
+    long percentileNanos() {
+        return this.percentileNanos;
+    }
+
+    private long compute() {
+        final int size = (int) Math.min(this.count.get(), this.samples.length());
+        final long[] window = new long[size];
+        for (int i = 0; i < size; i++) {
+            window[i] = this.samples.get(i);
+        }
+        Arrays.sort(window);
+        return window[Math.max(0, (int) Math.ceil(this.percentile * size) - 1)];
+    }
+}
@@ -0,0 +1,130 @@
+package com.epam.community.middlesvc.clients.limiting;
+
+import com.epam.community.middlesvc.configs.ConcurrencyLimitProperties;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Additive increase / multiplicative decrease concurrency limiter of a single downstream service.
+ * <p>
+ * A call needs a permit; while all {@link #limit()} permits are taken, up to {@code maxQueue} calls wait for one.
+ * Each successful call adds {@code 1 / limit} to the limit, i.e. one per round trip of the whole window,
+ * but only while the window is actually used, so an idle service does not build up a limit it was never tested at.
+ * A failed or too slow call multiplies the limit by {@code backoffRatio}.
+ */
+final class AimdLimiter {
+
+    static final String QUEUE_FULL = "queue-full";
+    static final String TIMEOUT = "timeout";
+
+    private final ConcurrencyLimitProperties properties;
+    private final long maxLatencyNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = this.lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private int queued;
+
+    AimdLimiter(final ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        this.maxLatencyNanos = properties.maxLatency().toNanos();
+        this.limit = properties.initialLimit();
+    }
+
+    int limit() {
+        this.lock.lock();
+        try {
+            return (int) this.limit;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    int inFlight() {
+        this.lock.lock();
+        try {
+            return this.inFlight;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    int queued() {
+        this.lock.lock();
+        try {
+            return this.queued;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a permit, waiting at most {@code timeoutNanos} for one.
+     *
+     * @return null if a permit was taken, otherwise the reason of the rejection ({@link #QUEUE_FULL} or {@link #TIMEOUT})
+     */
+    String acquire(final long timeoutNanos) throws InterruptedException {
+        this.lock.lock();
+        try {
+            if (this.inFlight < (int) this.limit) {
+                this.inFlight++;
+                return null;
+            }
+            if (this.queued >= this.properties.maxQueue()) {
+                return QUEUE_FULL;
+            }
+            this.queued++;
+            try {
+                long remaining = timeoutNanos;
+                while (this.inFlight >= (int) this.limit) {
+                    if (remaining <= 0L) {
+                        return TIMEOUT;
+                    }
+                    remaining = this.permitReleased.awaitNanos(remaining);
+                }
+                this.inFlight++;
+                return null;
+            } finally {
+                this.queued--;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a permit and adapts the limit to the outcome of the call.
+     *
+     * @param elapsedNanos the latency of the call
+     * @param dropped      whether the call failed, a call slower than {@code maxLatency} counts as dropped as well
+     */
+    void release(final long elapsedNanos,
+                 final boolean dropped) {
+        this.lock.lock();
+        try {
+            if (dropped || elapsedNanos > this.maxLatencyNanos) {
+                this.limit = Math.max(this.properties.minLimit(), this.limit * this.properties.backoffRatio());
+            } else if (this.inFlight * 2 >= this.limit) {
+                this.limit = Math.min(this.properties.maxLimit(), this.limit + 1.0 / this.limit);
+            }
+            this.inFlight--;
+            this.permitReleased.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a permit of a call which was aborted by the caller, the limit stays as it is.
+     */
+    void abandon() {
+        this.lock.lock();
+        try {
+            this.inFlight--;
+            this.permitReleased.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+}
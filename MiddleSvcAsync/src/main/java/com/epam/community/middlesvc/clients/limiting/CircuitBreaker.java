@@ -0,0 +1,141 @@
+package com.epam.community.middlesvc.clients.limiting;
+
+import com.epam.community.middlesvc.configs.CircuitBreakerProperties;
+
+/**
+ * Count based circuit breaker of a single downstream service.
+ * <p>
+ * CLOSED records the outcome of the last {@code slidingWindowSize} calls in a ring and opens once their failure rate
+ * reaches the threshold. OPEN rejects every call until {@code openDuration} has passed, then HALF_OPEN lets
+ * {@code halfOpenCalls} trial calls through: all of them succeeding closes the breaker, a single failure opens it again.
+ * Outcomes of calls admitted in an earlier state are ignored.
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Listener of the state transitions, called while the breaker is locked.
+     */
+    @FunctionalInterface
+    interface TransitionListener {
+        void onTransition(State from, State to);
+    }
+
+    private final CircuitBreakerProperties properties;
+    private final long openNanos;
+    private final TransitionListener listener;
+    private final boolean[] window;
+    private State state = State.CLOSED;
+    private int recorded;
+    private int position;
+    private int failures;
+    private long openedAtNanos;
+    private int trialPermits;
+    private int trialSuccesses;
+
+    CircuitBreaker(final CircuitBreakerProperties properties,
+                   final TransitionListener listener) {
+        this.properties = properties;
+        this.openNanos = properties.openDuration().toNanos();
+        this.listener = listener;
+        this.window = new boolean[properties.slidingWindowSize()];
+    }
+
+    synchronized State state() {
+        return this.state;
+    }
+
+    /**
+     * @return the state the call was admitted in, null if the call is rejected
+     */
+    synchronized State tryAcquire() {
+        if (this.state == State.OPEN && (System.nanoTime() - this.openedAtNanos >= this.openNanos)) {
+            this.transition(State.HALF_OPEN);
+            this.trialPermits = this.properties.halfOpenCalls();
+            this.trialSuccesses = 0;
+        }
+        return switch (this.state) {
+            case CLOSED -> State.CLOSED;
+            case OPEN -> null;
+            case HALF_OPEN -> {
+                if (this.trialPermits == 0) {
+                    yield null;
+                }
+                this.trialPermits--;
+                yield State.HALF_OPEN;
+            }
+        };
+    }
+
+    synchronized void onSuccess(final State admittedIn) {
+        if (admittedIn != this.state) {
+            return;
+        }
+        if (this.state == State.CLOSED) {
+            this.record(false);
+        } else if (this.state == State.HALF_OPEN && ++this.trialSuccesses >= this.properties.halfOpenCalls()) {
+            this.reset();
+            this.transition(State.CLOSED);
+        }
+    }
+
+    synchronized void onFailure(final State admittedIn) {
+        if (admittedIn != this.state) {
+            return;
+        }
+        if (this.state == State.HALF_OPEN) {
+            this.open();
+        } else if (this.state == State.CLOSED) {
+            this.record(true);
+            if (this.recorded >= this.properties.minimumCalls()
+                    && this.failures * 100 >= this.properties.failureRateThreshold() * this.recorded) {
+                this.open();
+            }
+        }
+    }
+
+    /**
+     * Gives the permit of a call back which ended without telling anything about the health of the service.
+     */
+    synchronized void onAbandon(final State admittedIn) {
+        if (admittedIn == State.HALF_OPEN && this.state == State.HALF_OPEN) {
+            this.trialPermits++;
+        }
+    }
+
+    private void record(final boolean failure) {
+        if (this.recorded == this.window.length) {
+            if (this.window[this.position]) {
+                this.failures--;
+            }
+        } else {
+            this.recorded++;
+        }
+        this.window[this.position] = failure;
+        if (failure) {
+            this.failures++;
+        }
+        this.position = (this.position + 1) % this.window.length;
+    }
+
+    private void open() {
+        this.openedAtNanos = System.nanoTime();
+        this.reset();
+        this.transition(State.OPEN);
+    }
+
+    private void reset() {
+        this.recorded = 0;
+        this.position = 0;
+        this.failures = 0;
+    }
+
+    private void transition(final State to) {
+        final State from = this.state;
+        this.state = to;
+        this.listener.onTransition(from, to);
+    }
+}
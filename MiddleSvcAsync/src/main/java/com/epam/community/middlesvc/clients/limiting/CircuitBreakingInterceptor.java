@@ -0,0 +1,102 @@
+package com.epam.community.middlesvc.clients.limiting;
+
+import com.epam.community.middlesvc.configs.CircuitBreakerProperties;
+import com.epam.community.middlesvc.context.RequestCancelledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RestTemplate interceptor applying a {@link CircuitBreaker} per downstream service, i.e. per host of the request URL.
+ * <p>
+ * While the breaker of a service is open, its calls fail fast with {@link LimitExceededException}.
+ * I/O errors and 5xx responses count as failures; cancellations by the caller and rejections
+ * by the concurrency limit do not. Per service the state ({@code downstream.breaker.state}: 0 closed, 1 open, 2 half open),
+ * the transitions ({@code downstream.breaker.transitions}, tagged from/to) and the rejected calls
+ * ({@code downstream.breaker.rejected}) are published.
+ */
+@Slf4j
+public class CircuitBreakingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final CircuitBreakerProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Target> targets = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for the CircuitBreakingInterceptor class.
+     *
+     * @param properties    The breaker settings.
+     * @param meterRegistry The registry the breaker metrics are published to.
+     */
+    public CircuitBreakingInterceptor(final CircuitBreakerProperties properties,
+                                      final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request,
+                                        final byte[] body,
+                                        final ClientHttpRequestExecution execution) throws IOException {
+        if (!this.properties.enabled()) {
+            return execution.execute(request, body);
+        }
+        val target = this.targets.computeIfAbsent(request.getURI().getHost(), this::target);
+        val admittedIn = target.breaker.tryAcquire();
+        if (admittedIn == null) {
+            target.rejected.increment();
+            throw new LimitExceededException("Circuit breaker of " + target.name + " is open");
+        }
+        try {
+            val response = execution.execute(request, body);
+            if (response.getStatusCode().is5xxServerError()) {
+                target.breaker.onFailure(admittedIn);
+            } else {
+                target.breaker.onSuccess(admittedIn);
+            }
+            return response;
+        } catch (RequestCancelledException | LimitExceededException e) {
+            target.breaker.onAbandon(admittedIn);
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            target.breaker.onFailure(admittedIn);
+            throw e;
+        }
+    }
+
+    private Target target(final String name) {
+        val breaker = new CircuitBreaker(this.properties, (from, to) -> {
+            log.warn("Circuit breaker of {}: {} -> {}", name, from, to);
+            Counter.builder("downstream.breaker.transitions")
+                    .description("State transitions of the circuit breaker")
+                    .tag("target", name)
+                    .tag("from", from.name())
+                    .tag("to", to.name())
+                    .register(this.meterRegistry)
+                    .increment();
+        });
+        Gauge.builder("downstream.breaker.state", breaker, b -> b.state().ordinal())
+                .description("State of the circuit breaker: 0 closed, 1 open, 2 half open")
+                .tag("target", name)
+                .register(this.meterRegistry);
+        return new Target(name, breaker, Counter.builder("downstream.breaker.rejected")
+                .description("Calls failed fast by the open circuit breaker")
+                .tag("target", name)
+                .register(this.meterRegistry));
+    }
+
+    private record Target(String name,
+                          CircuitBreaker breaker,
+                          Counter rejected) {
+    }
+}
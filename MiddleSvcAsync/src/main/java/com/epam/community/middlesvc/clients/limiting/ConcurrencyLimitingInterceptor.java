@@ -0,0 +1,161 @@
+package com.epam.community.middlesvc.clients.limiting;
+
+import com.epam.community.middlesvc.clients.transport.CompletionTrackingResponse;
+import com.epam.community.middlesvc.configs.ConcurrencyLimitProperties;
+import com.epam.community.middlesvc.context.RequestCancelledException;
+import com.epam.community.middlesvc.context.RequestContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RestTemplate interceptor applying an {@link AimdLimiter} per downstream service, i.e. per host of the request URL
+ * (the endpoint group, before the load balancer picks a replica).
+ * <p>
+ * Calls beyond the limit wait for a permit or fail fast with {@link LimitExceededException}.
+ * A call holds its permit until its response is closed, i.e. its body has been read,
+ * so the limit governs and the latency samples cover the whole exchange, not only the time to the headers.
+ * Per service the limit ({@code downstream.limit}), the calls holding a permit ({@code downstream.limit.in-flight}),
+ * the calls waiting for one ({@code downstream.limit.queued}), the wait ({@code downstream.limit.queue.wait})
+ * and the rejections ({@code downstream.limit.rejected}, tagged with the reason) are published.
+ */
+@Slf4j
+public class ConcurrencyLimitingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Target> targets = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for the ConcurrencyLimitingInterceptor class.
+     *
+     * @param properties    The limiter settings.
+     * @param meterRegistry The registry the limiter metrics are published to.
+     */
+    public ConcurrencyLimitingInterceptor(final ConcurrencyLimitProperties properties,
+                                          final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request,
+                                        final byte[] body,
+                                        final ClientHttpRequestExecution execution) throws IOException {
+        if (!this.properties.enabled()) {
+            return execution.execute(request, body);
+        }
+        val target = this.targets.computeIfAbsent(request.getURI().getHost(), this::target);
+        target.acquire();
+
+        final long start = System.nanoTime();
+        try {
+            // the permit is held until the body has been read, the latency sampled covers the whole exchange
+            return new CompletionTrackingResponse(execution.execute(request, body), start, (elapsedNanos, outcome) -> {
+                if (outcome == CompletionTrackingResponse.Outcome.ABORTED) {
+                    target.limiter.abandon();
+                } else {
+                    target.limiter.release(elapsedNanos, outcome == CompletionTrackingResponse.Outcome.FAILURE);
+                }
+            });
+        } catch (RequestCancelledException e) {
+            target.limiter.abandon();
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            target.limiter.release(System.nanoTime() - start, true);
+            throw e;
+        }
+    }
+
+    private Target target(final String name) {
+        val target = new Target(name, new AimdLimiter(this.properties),
+                Timer.builder("downstream.limit.queue.wait")
+                        .description("Time calls waited for a concurrency permit")
+                        .tag("target", name)
+                        .register(this.meterRegistry),
+                this.rejectedCounter(name, AimdLimiter.QUEUE_FULL),
+                this.rejectedCounter(name, AimdLimiter.TIMEOUT));
+        Gauge.builder("downstream.limit", target.limiter, AimdLimiter::limit)
+                .description("Current adaptive concurrency limit")
+                .tag("target", name)
+                .register(this.meterRegistry);
+        Gauge.builder("downstream.limit.in-flight", target.limiter, AimdLimiter::inFlight)
+                .description("Calls holding a concurrency permit")
+                .tag("target", name)
+                .register(this.meterRegistry);
+        Gauge.builder("downstream.limit.queued", target.limiter, AimdLimiter::queued)
+                .description("Calls waiting for a concurrency permit")
+                .tag("target", name)
+                .register(this.meterRegistry);
+        log.info("Concurrency limit of {}: initial={}, min={}, max={}", name,
+                this.properties.initialLimit(), this.properties.minLimit(), this.properties.maxLimit());
+        return target;
+    }
+
+    private Counter rejectedCounter(final String name,
+                                    final String reason) {
+        return Counter.builder("downstream.limit.rejected")
+                .description("Calls rejected by the concurrency limit")
+                .tag("target", name)
+                .tag("reason", reason)
+                .register(this.meterRegistry);
+    }
+
+    private final class Target {
+        private final String name;
+        private final AimdLimiter limiter;
+        private final Timer queueWait;
+        private final Counter rejectedQueueFull;
+        private final Counter rejectedTimeout;
+
+        private Target(final String name,
+                       final AimdLimiter limiter,
+                       final Timer queueWait,
+                       final Counter rejectedQueueFull,
+                       final Counter rejectedTimeout) {
+            this.name = name;
+            this.limiter = limiter;
+            this.queueWait = queueWait;
+            this.rejectedQueueFull = rejectedQueueFull;
+            this.rejectedTimeout = rejectedTimeout;
+        }
+
+        private void acquire() throws IOException {
+            long timeoutNanos = ConcurrencyLimitingInterceptor.this.properties.queueTimeout().toNanos();
+            val requestContext = RequestContext.current();
+            if (requestContext != null) {
+                timeoutNanos = Math.min(timeoutNanos, requestContext.remaining().toNanos());
+            }
+            final long start = System.nanoTime();
+            final String rejection;
+            try {
+                rejection = this.limiter.acquire(timeoutNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a concurrency permit of " + this.name);
+            }
+            this.queueWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (AimdLimiter.QUEUE_FULL.equals(rejection)) {
+                this.rejectedQueueFull.increment();
+            } else if (AimdLimiter.TIMEOUT.equals(rejection)) {
+                this.rejectedTimeout.increment();
+            }
+            if (rejection != null) {
+                throw new LimitExceededException("Concurrency limit of " + this.name + " exceeded (" + rejection + ")");
+            }
+        }
+    }
+}
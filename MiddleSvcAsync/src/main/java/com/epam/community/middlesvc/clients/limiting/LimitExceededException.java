@@ -0,0 +1,14 @@
+package com.epam.community.middlesvc.clients.limiting;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a downstream call is rejected by the client side protection of the service
+ * (concurrency limit, bulkhead or circuit breaker) instead of being sent.
+ */
+public class LimitExceededException extends IOException {
+
+    public LimitExceededException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,41 @@
+package com.epam.community.middlesvc.clients.transport;
+
+import com.epam.community.middlesvc.context.RequestCancelledException;
+import com.epam.community.middlesvc.context.RequestContext;
+import lombok.val;
+import org.apache.hc.client5.http.classic.ExecChain;
+import org.apache.hc.client5.http.classic.ExecChainHandler;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpException;
+
+import java.io.IOException;
+
+/**
+ * HttpClient exec interceptor registering every exchange with the current {@link RequestContext},
+ * so cancelling the request aborts the exchange instead of waiting for the socket timeout.
+ */
+public class CancellableExchangeHandler implements ExecChainHandler {
+
+    @Override
+    public ClassicHttpResponse execute(final ClassicHttpRequest request,
+                                       final ExecChain.Scope scope,
+                                       final ExecChain chain) throws IOException, HttpException {
+        val requestContext = RequestContext.current();
+        if (requestContext == null || !(scope.originalRequest instanceof Cancellable exchange)) {
+            return chain.proceed(request, scope);
+        }
+        requestContext.register(exchange);
+        try {
+            return chain.proceed(request, scope);
+        } catch (IOException e) {
+            if (requestContext.isCancelled()) {
+                throw new RequestCancelledException("Downstream exchange aborted, request has been cancelled", e);
+            }
+            throw e;
+        } finally {
+            requestContext.unregister(exchange);
+        }
+    }
+}
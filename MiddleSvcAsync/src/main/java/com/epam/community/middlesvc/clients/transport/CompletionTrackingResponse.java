@@ -0,0 +1,164 @@
+package com.epam.community.middlesvc.clients.transport;
+
+import com.epam.community.middlesvc.context.RequestCancelledException;
+import com.epam.community.middlesvc.context.RequestContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Response of a downstream call which reports the outcome of the call once its body has been consumed,
+ * i.e. when the response is closed, so a limiter or balancer holds its permit and samples the latency
+ * for the whole exchange rather than for the time to the response headers.
+ * <p>
+ * A 5xx status or an I/O error while reading the body is a {@link Outcome#FAILURE}, an I/O error
+ * of a request which has been cancelled meanwhile is {@link Outcome#ABORTED}. The listener is called once,
+ * however often the response is closed.
+ */
+public final class CompletionTrackingResponse implements ClientHttpResponse {
+
+    private final ClientHttpResponse delegate;
+    private final long startNanos;
+    private final Listener listener;
+    @Nullable
+    private final RequestContext requestContext;
+    private final AtomicBoolean completed = new AtomicBoolean();
+    @Nullable
+    private InputStream body;
+    private volatile Outcome bodyOutcome;
+
+    /**
+     * Constructor for the CompletionTrackingResponse class.
+     *
+     * @param delegate   The response as received.
+     * @param startNanos The time the call started at, as of {@link System#nanoTime()}.
+     * @param listener   The listener to report the outcome of the call to.
+     */
+    public CompletionTrackingResponse(final ClientHttpResponse delegate,
+                                      final long startNanos,
+                                      final Listener listener) {
+        this.delegate = delegate;
+        this.startNanos = startNanos;
+        this.listener = listener;
+        this.requestContext = RequestContext.current();
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+        return this.delegate.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return this.delegate.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return this.delegate.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        if (this.body == null) {
+            this.body = new TrackingInputStream(this.delegate.getBody());
+        }
+        return this.body;
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.delegate.close();
+        } finally {
+            if (this.completed.compareAndSet(false, true)) {
+                this.listener.onComplete(System.nanoTime() - this.startNanos, this.outcome());
+            }
+        }
+    }
+
+    private Outcome outcome() {
+        if (this.bodyOutcome != null) {
+            return this.bodyOutcome;
+        }
+        try {
+            return this.delegate.getStatusCode().is5xxServerError() ? Outcome.FAILURE : Outcome.SUCCESS;
+        } catch (IOException e) {
+            return Outcome.FAILURE;
+        }
+    }
+
+    private void onBodyError(final IOException error) {
+        if (this.bodyOutcome == null) {
+            this.bodyOutcome = error instanceof RequestCancelledException
+                    || (this.requestContext != null && this.requestContext.isCancelled())
+                    ? Outcome.ABORTED
+                    : Outcome.FAILURE;
+        }
+    }
+
+    /**
+     * Outcome of a downstream call.
+     */
+    public enum Outcome {
+        SUCCESS,
+        FAILURE,
+        /**
+         * Aborted by the caller, says nothing about the health of the downstream service.
+         */
+        ABORTED
+    }
+
+    /**
+     * Receives the outcome of a downstream call once its response is closed.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onComplete(long elapsedNanos, Outcome outcome);
+    }
+
+    private final class TrackingInputStream extends FilterInputStream {
+
+        private TrackingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return super.read();
+            } catch (IOException e) {
+                onBodyError(e);
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(final byte[] b,
+                        final int off,
+                        final int len) throws IOException {
+            try {
+                return super.read(b, off, len);
+            } catch (IOException e) {
+                onBodyError(e);
+                throw e;
+            }
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            try {
+                return super.skip(n);
+            } catch (IOException e) {
+                onBodyError(e);
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.epam.community.middlesvc.clients.transport;
+
+import com.epam.community.middlesvc.configs.HttpClientProperties;
+import com.epam.community.middlesvc.configs.LoadBalancerProperties;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opens {@code prewarmConnections} connections to every replica once the application is ready and returns them to the pool,
+ * so the first requests reuse established connections instead of all connecting at the same time.
+ * An unreachable replica is only logged, the pool then connects on demand as before.
+ */
+@Component
+@Slf4j
+public class ConnectionPoolWarmer {
+
+    private static final Timeout CONNECT_TIMEOUT = Timeout.ofSeconds(2L);
+
+    private final InstrumentedConnectionManager connectionManager;
+    private final HttpClientProperties httpClientProperties;
+    private final LoadBalancerProperties loadBalancerProperties;
+
+    /**
+     * Constructor for the ConnectionPoolWarmer class.
+     *
+     * @param connectionManager      The pool to warm up.
+     * @param httpClientProperties   The number of connections per replica.
+     * @param loadBalancerProperties The replicas of the endpoint groups.
+     */
+    public ConnectionPoolWarmer(final InstrumentedConnectionManager connectionManager,
+                                final HttpClientProperties httpClientProperties,
+                                final LoadBalancerProperties loadBalancerProperties) {
+        this.connectionManager = connectionManager;
+        this.httpClientProperties = httpClientProperties;
+        this.loadBalancerProperties = loadBalancerProperties;
+    }
+
+    /**
+     * Warms the pool up after startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        final int connections = Math.min(this.httpClientProperties.prewarmConnections(), this.httpClientProperties.maxPerRoute());
+        if (connections <= 0) {
+            return;
+        }
+        this.loadBalancerProperties.replicas().values().stream()
+                .flatMap(List::stream)
+                .distinct()
+                .forEach(baseUrl -> this.warmUp(new HttpRoute(HttpHost.create(URI.create(baseUrl))), connections));
+    }
+
+    private void warmUp(final HttpRoute route,
+                        final int connections) {
+        final List<ConnectionEndpoint> endpoints = new ArrayList<>(connections);
+        try {
+            // all leased at once, otherwise the pool would hand out the same connection again
+            for (int i = 0; i < connections; i++) {
+                val endpoint = this.connectionManager.lease("prewarm-" + i, route, CONNECT_TIMEOUT, null).get(CONNECT_TIMEOUT);
+                endpoints.add(endpoint);
+                if (!endpoint.isConnected()) {
+                    this.connectionManager.connect(endpoint, CONNECT_TIMEOUT, HttpClientContext.create());
+                }
+            }
+            log.info("Pre-warmed {} connections to {}", endpoints.size(), route.getTargetHost());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Pre-warming connections to {} failed after {}: {}", route.getTargetHost(), endpoints.size(), e.getMessage());
+        } finally {
+            endpoints.forEach(endpoint -> this.connectionManager.release(endpoint, null,
+                    endpoint.isConnected() ? TimeValue.of(this.httpClientProperties.keepAlive()) : TimeValue.ZERO_MILLISECONDS));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.epam.community.middlesvc.clients.transport;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Pooling connection manager publishing how long the calls wait for a connection
+ * ({@code downstream.http.pool.lease.wait}, tagged with the route and the outcome) and the pool occupancy
+ * (the {@code httpcomponents.httpclient.pool.*} meters of {@link PoolingHttpClientConnectionManagerMetricsBinder}).
+ * The timers of a route are registered on its first lease and reused afterwards.
+ */
+public class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final Meter.MeterProvider<Timer> leaseWait;
+    private final Map<String, LeaseTimers> leaseTimersByRoute = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for the InstrumentedConnectionManager class.
+     *
+     * @param meterRegistry The registry the pool metrics are published to.
+     */
+    public InstrumentedConnectionManager(final MeterRegistry meterRegistry) {
+        this.leaseWait = Timer.builder("downstream.http.pool.lease.wait")
+                .description("Time calls waited for a pooled connection")
+                .withRegistry(meterRegistry);
+        new PoolingHttpClientConnectionManagerMetricsBinder(this, "downstream").bindTo(meterRegistry);
+    }
+
+    @Override
+    public LeaseRequest lease(final String id,
+                              final HttpRoute route,
+                              final Timeout requestTimeout,
+                              final Object state) {
+        final LeaseRequest leaseRequest = super.lease(id, route, requestTimeout, state);
+        final LeaseTimers leaseTimers = this.leaseTimersByRoute.computeIfAbsent(route.getTargetHost().toHostString(),
+                this::leaseTimers);
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(final Timeout timeout) throws InterruptedException, ExecutionException, TimeoutException {
+                final long start = System.nanoTime();
+                Timer timer = leaseTimers.failure();
+                try {
+                    final ConnectionEndpoint endpoint = leaseRequest.get(timeout);
+                    timer = leaseTimers.success();
+                    return endpoint;
+                } catch (TimeoutException e) {
+                    timer = leaseTimers.timeout();
+                    throw e;
+                } finally {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return leaseRequest.cancel();
+            }
+        };
+    }
+
+    private LeaseTimers leaseTimers(final String route) {
+        return new LeaseTimers(
+                this.leaseWait.withTags("route", route, "outcome", "success"),
+                this.leaseWait.withTags("route", route, "outcome", "failure"),
+                this.leaseWait.withTags("route", route, "outcome", "timeout"));
+    }
+
+    private record LeaseTimers(Timer success,
+                               Timer failure,
+                               Timer timeout) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.epam.community.middlesvc.clients.transport;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * RestTemplate interceptor telling a fork-join pool that its worker is about to block on a downstream call.
+ * The call, including any wait for a concurrency permit or a pooled connection, runs through
+ * {@link ForkJoinPool#managedBlock}, so the pool can start a compensating worker (up to its maximum pool size)
+ * instead of starving the other tasks. Calls from any other thread pass straight through.
+ */
+public class ManagedBlockingInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request,
+                                        final byte[] body,
+                                        final ClientHttpRequestExecution execution) throws IOException {
+        if (!(Thread.currentThread() instanceof ForkJoinWorkerThread)) {
+            return execution.execute(request, body);
+        }
+        final BlockingCall call = new BlockingCall(request, body, execution);
+        try {
+            ForkJoinPool.managedBlock(call);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted calling " + request.getURI());
+        }
+        if (call.error != null) {
+            throw call.error;
+        }
+        return call.response;
+    }
+
+    private static final class BlockingCall implements ForkJoinPool.ManagedBlocker {
+        private final HttpRequest request;
+        private final byte[] body;
+        private final ClientHttpRequestExecution execution;
+        private ClientHttpResponse response;
+        private IOException error;
+
+        private BlockingCall(final HttpRequest request,
+                             final byte[] body,
+                             final ClientHttpRequestExecution execution) {
+            this.request = request;
+            this.body = body;
+            this.execution = execution;
+        }
+
+        @Override
+        public boolean block() {
+            try {
+                this.response = this.execution.execute(this.request, this.body);
+            } catch (IOException e) {
+                this.error = e;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return (this.response != null) || (this.error != null);
+        }
+    }
+}
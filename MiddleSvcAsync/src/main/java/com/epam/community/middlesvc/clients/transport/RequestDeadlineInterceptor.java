@@ -0,0 +1,34 @@
+package com.epam.community.middlesvc.clients.transport;
+
+import com.epam.community.middlesvc.context.RequestContext;
+import lombok.val;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * RestTemplate interceptor propagating the deadline of the current {@link RequestContext} downstream.
+ * Calls of an already cancelled request fail fast without touching the network,
+ * all others carry the remaining time budget in the {@value #TIMEOUT_HEADER} header.
+ */
+public class RequestDeadlineInterceptor implements ClientHttpRequestInterceptor {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request,
+                                        final byte[] body,
+                                        final ClientHttpRequestExecution execution) throws IOException {
+        val requestContext = RequestContext.current();
+        if (requestContext != null) {
+            requestContext.checkActive();
+            if (requestContext.hasDeadline()) {
+                request.getHeaders().set(TIMEOUT_HEADER, String.valueOf(requestContext.remaining().toMillis()));
+            }
+        }
+        return execution.execute(request, body);
+    }
+}
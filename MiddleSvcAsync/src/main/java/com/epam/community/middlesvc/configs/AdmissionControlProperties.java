@@ -0,0 +1,25 @@
+package com.epam.community.middlesvc.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for shedding requests while the async pools are saturated (CoDel).
+ * The sojourn time of the tasks, i.e. how long they waited in the queue of their pool, is watched per {@code interval}.
+ * Once even the shortest sojourn of an interval is above {@code target}, the queues are standing rather than absorbing a
+ * burst and new requests are rejected with 503 until an interval has a sojourn below the target again.
+ *
+ * @param enabled    whether requests are shed at all
+ * @param target     the sojourn time a standing queue is tolerated up to
+ * @param interval   how long the sojourn has to stay above the target, and how often it is re-evaluated
+ * @param retryAfter the time rejected clients are told to wait before retrying
+ */
+@ConfigurationProperties(prefix = "com.epam.community.admission-control")
+public record AdmissionControlProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20ms") Duration target,
+        @DefaultValue("200ms") Duration interval,
+        @DefaultValue("1s") Duration retryAfter) {
+}
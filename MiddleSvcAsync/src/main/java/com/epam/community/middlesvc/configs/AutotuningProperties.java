@@ -0,0 +1,34 @@
+package com.epam.community.middlesvc.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for resizing the pools at runtime.
+ * Every {@code interval} the concurrency a pool needs is derived with Little's law from the measured arrival rate and
+ * the time its tasks take, which for the async pools is mostly downstream latency. The pool is sized so that this
+ * concurrency keeps it at {@code targetUtilization}. All settings but the interval can be changed through the
+ * {@code autotuning} actuator endpoint.
+ *
+ * @param enabled           whether the pools are resized at all
+ * @param interval          how often the pools are resized
+ * @param targetUtilization the share of the threads expected to be busy, the rest is headroom for bursts
+ * @param minPoolSize       the fewest threads a pool is shrunk to
+ * @param maxPoolSize       the most threads a pool is grown to, never beyond the maximum it is declared with
+ * @param maxStep           the largest relative change of a single decision
+ * @param smoothing         the weight of the latest measurement in the moving average of the concurrency
+ * @param minSamples        the fewest tasks an interval needs before a pool is resized on its measurements
+ */
+@ConfigurationProperties(prefix = "com.epam.community.autotuning")
+public record AutotuningProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10s") Duration interval,
+        @DefaultValue("0.75") double targetUtilization,
+        @DefaultValue("2") int minPoolSize,
+        @DefaultValue("400") int maxPoolSize,
+        @DefaultValue("0.5") double maxStep,
+        @DefaultValue("0.3") double smoothing,
+        @DefaultValue("50") long minSamples) {
+}
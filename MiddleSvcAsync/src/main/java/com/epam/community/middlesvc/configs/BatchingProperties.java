@@ -0,0 +1,33 @@
+package com.epam.community.middlesvc.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for batching single lookups into bulk downstream requests.
+ * Lookups issued within {@code window} of the first one, across dealers and across concurrent requests,
+ * are sent together; a batch reaching {@code maxBatchSize} is sent right away.
+ *
+ * @param enabled   whether lookups are batched at all
+ * @param prices    manufacturer prices (downstream call 3)
+ * @param discounts state discount percents (downstream call 4)
+ */
+@ConfigurationProperties(prefix = "com.epam.community.batching")
+public record BatchingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Batch prices,
+        @DefaultValue Batch discounts) {
+
+    /**
+     * Batching settings of a single lookup.
+     *
+     * @param window       how long the first lookup of a batch waits for others to join
+     * @param maxBatchSize the most keys of a bulk request
+     */
+    public record Batch(
+            @DefaultValue("5ms") Duration window,
+            @DefaultValue("100") int maxBatchSize) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.epam.community.middlesvc.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the bulkheads of the downstream clients.
+ * Every downstream service gets its own executor, so a slow service can only exhaust its own threads
+ * and queue, while the calls to the other services carry on. A full bulkhead rejects the call right away.
+ *
+ * @param states        the executor of the state service calls
+ * @param dealers       the executor of the dealer service calls
+ * @param manufacturers the executor of the manufacturer service calls
+ */
+@ConfigurationProperties(prefix = "com.epam.community.bulkheads")
+public record BulkheadProperties(
+        @DefaultValue Bulkhead states,
+        @DefaultValue Bulkhead dealers,
+        @DefaultValue Bulkhead manufacturers) {
+
+    /**
+     * Size of a single bulkhead.
+     *
+     * @param corePoolSize  threads kept alive while idle
+     * @param maxPoolSize   the most threads calling the service at the same time
+     * @param queueCapacity calls waiting for a thread, beyond that calls are rejected
+     */
+    public record Bulkhead(
+            @DefaultValue("10") int corePoolSize,
+            @DefaultValue("50") int maxPoolSize,
+            @DefaultValue("100") int queueCapacity) {
+    }
+}
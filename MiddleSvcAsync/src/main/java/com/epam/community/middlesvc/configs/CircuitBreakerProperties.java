@@ -0,0 +1,29 @@
+package com.epam.community.middlesvc.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the circuit breakers in front of every downstream service.
+ * The breaker opens when {@code failureRateThreshold} percent of the last {@code slidingWindowSize} calls failed,
+ * fails all calls fast for {@code openDuration}, then lets {@code halfOpenCalls} trial calls through
+ * and closes again if all of them succeed.
+ *
+ * @param enabled              whether the breakers are used at all
+ * @param slidingWindowSize    the number of most recent calls the failure rate is computed over
+ * @param minimumCalls         the failure rate is not evaluated before this many calls were recorded
+ * @param failureRateThreshold the failure rate in percent at which the breaker opens
+ * @param openDuration         how long an open breaker fails calls fast
+ * @param halfOpenCalls        the number of trial calls of a half open breaker
+ */
+@ConfigurationProperties(prefix = "com.epam.community.circuit-breakers")
+public record CircuitBreakerProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int slidingWindowSize,
+        @DefaultValue("10") int minimumCalls,
+        @DefaultValue("50") int failureRateThreshold,
+        @DefaultValue("10s") Duration openDuration,
+        @DefaultValue("3") int halfOpenCalls) {
+}
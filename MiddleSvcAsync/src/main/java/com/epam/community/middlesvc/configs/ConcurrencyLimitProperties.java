@@ -0,0 +1,32 @@
+package com.epam.community.middlesvc.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the adaptive (AIMD) concurrency limit of the calls to every downstream service.
+ * The limit grows by one per round of successful calls and is cut by {@code backoffRatio}
+ * as soon as a call fails or takes longer than {@code maxLatency}, so it settles where the service starts queueing.
+ *
+ * @param enabled      whether the calls are limited at all
+ * @param initialLimit the concurrency a service is allowed before anything is known about it
+ * @param minLimit     the limit never drops below this
+ * @param maxLimit     the limit never grows above this
+ * @param backoffRatio the factor the limit is multiplied with on a drop
+ * @param maxLatency   a call taking longer counts as a drop, i.e. the service is queueing
+ * @param maxQueue     the number of calls which may wait for a permit, beyond that calls fail fast
+ * @param queueTimeout the longest a call waits for a permit (also bounded by the request deadline)
+ */
+@ConfigurationProperties(prefix = "com.epam.community.concurrency-limits")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10") int initialLimit,
+        @DefaultValue("1") int minLimit,
+        @DefaultValue("200") int maxLimit,
+        @DefaultValue("0.9") double backoffRatio,
+        @DefaultValue("1s") Duration maxLatency,
+        @DefaultValue("200") int maxQueue,
+        @DefaultValue("500ms") Duration queueTimeout) {
+}
@@ -0,0 +1,42 @@
+package com.epam.community.middlesvc.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the local caches in front of the downstream clients.
+ * Every dataset has its own size bound, time to live and refresh-ahead interval,
+ * so rarely changing data (states, discounts) can be kept longer than prices.
+ *
+ * @param enabled         whether the caches are used at all
+ * @param states          state information (downstream call 0)
+ * @param dealersByState  dealers of a state (downstream call 1)
+ * @param dealers         dealer inventories (downstream call 2)
+ * @param prices          manufacturer prices (downstream call 3)
+ * @param discounts       state discount percents (downstream call 4)
+ */
+@ConfigurationProperties(prefix = "com.epam.community.cache")
+public record DownstreamCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Dataset states,
+        @DefaultValue Dataset dealersByState,
+        @DefaultValue Dataset dealers,
+        @DefaultValue Dataset prices,
+        @DefaultValue Dataset discounts) {
+
+    /**
+     * Cache settings of a single dataset.
+     *
+     * @param ttl          how long an entry lives after it was loaded
+     * @param refreshAfter after this time an entry is reloaded in the background while the old value is still served,
+     *                     must be shorter than {@code ttl} to take effect
+     * @param maximumSize  maximum number of entries, eviction is frequency aware (W-TinyLFU)
+     */
+    public record Dataset(
+            @DefaultValue("10m") Duration ttl,
+            @DefaultValue("5m") Duration refreshAfter,
+            @DefaultValue("10000") long maximumSize) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.epam.community.middlesvc.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for how the aggregation is executed.
+ *
+ * @param mode {@code pools} runs the fan-out stages on the loop executors and the downstream calls on their bulkheads,
+ *             {@code fork-join} runs all of it on the work-stealing {@code forkJoinPool}, blocking calls are then
+ *             reported to the pool through {@link java.util.concurrent.ForkJoinPool#managedBlock}
+ * @param forkJoinPool the name of the fork-join pool taking over in the fork-join mode, see {@link ExecutorTopologyProperties}
+ */
+@ConfigurationProperties(prefix = "com.epam.community.execution")
+public record ExecutionProperties(
+        @DefaultValue("pools") Mode mode,
+        @DefaultValue("generalExecutor") String forkJoinPool) {
+
+    public enum Mode {
+        POOLS,
+        FORK_JOIN
+    }
+
+    public boolean isForkJoin() {
+        return this.mode == Mode.FORK_JOIN;
+    }
+}
@@ -1,41 +1,40 @@
 package com.epam.community.middlesvc.configs;
 
-import io.micrometer.context.ContextExecutorService;
-import io.micrometer.context.ContextSnapshotFactory;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties.Kind;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties.Pool;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties.QueueType;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties.RejectionPolicy;
+import com.epam.community.middlesvc.threading.ContextPropagation;
+import com.epam.community.middlesvc.threading.ExecutorTopology;
 import lombok.extern.slf4j.Slf4j;
-import lombok.val;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.TaskDecorator;
 import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.time.Duration;
 import java.util.concurrent.Executor;
 
 /**
  * Configuration class for setting up the executor service.
  * This class is annotated with @Configuration to indicate that it is a source of bean definitions.
  * The @EnableAsync annotation switches on Spring’s ability to run @Async methods in a background thread pool.
+ * The @EnableScheduling annotation runs the {@link com.epam.community.middlesvc.threading.PoolAutotuner}.
+ * The pools are declared in {@link ExecutorTopologyProperties}, the beans below expose the ones injected by name.
+ * In the fork-join mode (see {@link ExecutionProperties}) the loop executors and the bulkheads are all the fork-join pool.
  */
 @Configuration
 @EnableAsync
+@EnableScheduling
 @Slf4j
 public class ExecutorConfig {
-    @Value("${general.thread.await-term-secs:10}")
-    private int generalAwaitTermSecs;
-    @Value("${general.thread.core-pool-size:10}")
-    private int generalCorePoolSize;
-    @Value("${general.thread.keep-alive-secs:10}")
-    private int generalKeepAliveSecs;
-    @Value("${general.thread.max-pool-size:100}")
-    private int generalMaxPollSize;
-    @Value("${general.thread.queue-capacity:300}")
-    private int generalQueueCapacity;
 
     /**
      * Bean for the OpenTelemetry task decorator.
+     * Picked up by the executors Spring Boot configures, the pools below propagate the context through
+     * {@link ContextPropagation} only, decorating their tasks as well would capture the context twice.
      *
      * @return a new instance of ContextPropagatingTaskDecorator
      */
@@ -46,56 +45,89 @@ public class ExecutorConfig {
 
     /**
      * Bean for the executor service.
-     * This method configures and initializes a ThreadPoolTaskExecutor with the properties defined above.
-     * @param otelTaskDecorator the OpenTelemetry task decorator
-     * @return an Executor wrapped with a ContextExecutorService
+     * @param executorTopology the declared executors
+     * @return an Executor propagating the context, see {@link ContextPropagation}
      */
     @Bean(name = "generalAsyncExecutor")
-    public Executor securityContextExecutor(final TaskDecorator otelTaskDecorator) {
-        val executor = new ThreadPoolTaskExecutor();
-        executor.setAwaitTerminationSeconds(this.generalAwaitTermSecs);
-        executor.setCorePoolSize(this.generalCorePoolSize);
-        executor.setKeepAliveSeconds(this.generalKeepAliveSecs);
-        executor.setMaxPoolSize(this.generalMaxPollSize);
-        executor.setQueueCapacity(this.generalQueueCapacity);
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setThreadNamePrefix("async-executor-");
-        executor.setTaskDecorator(otelTaskDecorator);
-        executor.initialize();
+    public Executor securityContextExecutor(final ExecutorTopology executorTopology) {
+        return executorTopology.executor("generalAsyncExecutor");
+    }
 
-        return ContextExecutorService.wrap(executor.getThreadPoolExecutor(), ContextSnapshotFactory.builder().build()::captureAll);
+    /**
+     * Bulkhead of the state service calls, see {@link BulkheadProperties}.
+     * @param bulkheadProperties the bulkhead sizes
+     * @param executorTopology the declared executors
+     * @param executionProperties the execution mode
+     * @return an Executor propagating the context, see {@link ContextPropagation}
+     */
+    @Bean(name = "statesAsyncExecutor")
+    public Executor statesAsyncExecutor(final BulkheadProperties bulkheadProperties,
+                                        final ExecutorTopology executorTopology,
+                                        final ExecutionProperties executionProperties) {
+        return this.bulkheadExecutor("statesAsyncExecutor", "states-executor-", bulkheadProperties.states(), executorTopology, executionProperties);
     }
 
-    @Bean(name = "loopAsyncExecutor_0")
-    public Executor loop_0_ContextExecutor(final TaskDecorator otelTaskDecorator) {
-        val executor = new ThreadPoolTaskExecutor();
-        executor.setAwaitTerminationSeconds(this.generalAwaitTermSecs);
-        executor.setCorePoolSize(this.generalCorePoolSize);
-        executor.setKeepAliveSeconds(this.generalKeepAliveSecs);
-        executor.setMaxPoolSize(this.generalMaxPollSize);
-        executor.setQueueCapacity(this.generalQueueCapacity);
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setThreadNamePrefix("loop-executor-0-");
-        executor.setTaskDecorator(otelTaskDecorator);
-        executor.initialize();
+    /**
+     * Bulkhead of the dealer service calls, see {@link BulkheadProperties}.
+     * @param bulkheadProperties the bulkhead sizes
+     * @param executorTopology the declared executors
+     * @param executionProperties the execution mode
+     * @return an Executor propagating the context, see {@link ContextPropagation}
+     */
+    @Bean(name = "dealersAsyncExecutor")
+    public Executor dealersAsyncExecutor(final BulkheadProperties bulkheadProperties,
+                                         final ExecutorTopology executorTopology,
+                                         final ExecutionProperties executionProperties) {
+        return this.bulkheadExecutor("dealersAsyncExecutor", "dealers-executor-", bulkheadProperties.dealers(), executorTopology, executionProperties);
+    }
 
-        return ContextExecutorService.wrap(executor.getThreadPoolExecutor(), ContextSnapshotFactory.builder().build()::captureAll);
+    /**
+     * Bulkhead of the manufacturer service calls, see {@link BulkheadProperties}.
+     * @param bulkheadProperties the bulkhead sizes
+     * @param executorTopology the declared executors
+     * @param executionProperties the execution mode
+     * @return an Executor propagating the context, see {@link ContextPropagation}
+     */
+    @Bean(name = "manufacturersAsyncExecutor")
+    public Executor manufacturersAsyncExecutor(final BulkheadProperties bulkheadProperties,
+                                               final ExecutorTopology executorTopology,
+                                               final ExecutionProperties executionProperties) {
+        return this.bulkheadExecutor("manufacturersAsyncExecutor", "manufacturers-executor-", bulkheadProperties.manufacturers(), executorTopology, executionProperties);
     }
 
-    @Bean(name = "loopAsyncExecutor_1")
-    public Executor loop_1_ContextExecutor(final TaskDecorator otelTaskDecorator) {
-        val executor = new ThreadPoolTaskExecutor();
-        executor.setAwaitTerminationSeconds(this.generalAwaitTermSecs);
-        executor.setCorePoolSize(this.generalCorePoolSize);
-        executor.setKeepAliveSeconds(this.generalKeepAliveSecs);
-        executor.setMaxPoolSize(this.generalMaxPollSize);
-        executor.setQueueCapacity(this.generalQueueCapacity);
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setThreadNamePrefix("loop-executor-1-");
-        executor.setTaskDecorator(otelTaskDecorator);
-        executor.initialize();
+    private Executor bulkheadExecutor(final String name,
+                                      final String threadNamePrefix,
+                                      final BulkheadProperties.Bulkhead bulkhead,
+                                      final ExecutorTopology executorTopology,
+                                      final ExecutionProperties executionProperties) {
+        if (executionProperties.isForkJoin()) {
+            return executorTopology.executor(executionProperties.forkJoinPool());
+        }
+        log.info("Bulkhead {}: corePoolSize={}, maxPoolSize={}, queueCapacity={}", threadNamePrefix,
+                bulkhead.corePoolSize(), bulkhead.maxPoolSize(), bulkhead.queueCapacity());
+        return executorTopology.build(name, new Pool(Kind.PLATFORM, bulkhead.corePoolSize(), bulkhead.maxPoolSize(),
+                Duration.ofSeconds(10L), QueueType.LINKED, bulkhead.queueCapacity(), RejectionPolicy.ABORT,
+                1, 1, false, threadNamePrefix));
+    }
 
-        return ContextExecutorService.wrap(executor.getThreadPoolExecutor(), ContextSnapshotFactory.builder().build()::captureAll);
+    /**
+     * Bean for the executor of the per-dealer stage.
+     * @param executorTopology the declared executors
+     * @return an Executor propagating the context, see {@link ContextPropagation}
+     */
+    @Bean(name = "loopAsyncExecutor_0")
+    public Executor loop_0_ContextExecutor(final ExecutorTopology executorTopology) {
+        return executorTopology.executor("loopAsyncExecutor_0");
+    }
+
+    /**
+     * Bean for the executor of the dealer fan-out stage.
+     * @param executorTopology the declared executors
+     * @return an Executor propagating the context, see {@link ContextPropagation}
+     */
+    @Bean(name = "loopAsyncExecutor_1")
+    public Executor loop_1_ContextExecutor(final ExecutorTopology executorTopology) {
+        return executorTopology.executor("loopAsyncExecutor_1");
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package com.epam.community.middlesvc.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuration properties declaring the executors of the service and which stage of the aggregation runs on which.
+ * Every pool is referenced by its name, {@code direct} is built in and runs a stage on the thread completing the previous one.
+ *
+ * @param pools            the executors by name
+ * @param stages           the executor of every stage of the aggregation
+ * @param awaitTermination how long the pools may finish their tasks on shutdown
+ */
+@ConfigurationProperties(prefix = "com.epam.community.executors")
+public record ExecutorTopologyProperties(
+        Map<String, Pool> pools,
+        @DefaultValue Stages stages,
+        @DefaultValue("10s") Duration awaitTermination) {
+
+    public ExecutorTopologyProperties {
+        pools = pools == null ? Map.of() : pools;
+    }
+
+    public enum Kind {
+        /**
+         * A thread pool of platform threads.
+         */
+        PLATFORM,
+        /**
+         * A work-stealing {@link com.epam.community.middlesvc.threading.MdcForkJoinPool}.
+         */
+        FORK_JOIN,
+        /**
+         * A thread per task executor of virtual threads, needs Java 21.
+         */
+        VIRTUAL,
+        /**
+         * No pool, tasks run on the submitting thread.
+         */
+        DIRECT
+    }
+
+    public enum QueueType {
+        LINKED,
+        ARRAY,
+        SYNCHRONOUS
+    }
+
+    public enum RejectionPolicy {
+        ABORT,
+        CALLER_RUNS,
+        DISCARD,
+        DISCARD_OLDEST
+    }
+
+    /**
+     * A single executor.
+     *
+     * @param kind             what kind of executor it is
+     * @param corePoolSize     threads kept alive while idle
+     * @param maxPoolSize      the most threads, for a fork-join pool including the workers compensating blocked ones
+     * @param keepAlive        how long threads beyond the core ones are kept while idle
+     * @param queue            the queue of a platform pool
+     * @param queueCapacity    the capacity of a linked or array queue
+     * @param rejection        what a platform pool does with a task it has no room for
+     * @param parallelism      the target number of active workers of a fork-join pool
+     * @param minRunnable      the fewest workers of a fork-join pool not blocked
+     * @param asyncMode        whether a fork-join pool runs forked tasks first-in-first-out
+     * @param threadNamePrefix the prefix of the thread names, the name of the pool when not set
+     */
+    public record Pool(
+            @DefaultValue("platform") Kind kind,
+            @DefaultValue("10") int corePoolSize,
+            @DefaultValue("100") int maxPoolSize,
+            @DefaultValue("10s") Duration keepAlive,
+            @DefaultValue("linked") QueueType queue,
+            @DefaultValue("300") int queueCapacity,
+            @DefaultValue("abort") RejectionPolicy rejection,
+            @DefaultValue("60") int parallelism,
+            @DefaultValue("1") int minRunnable,
+            @DefaultValue("false") boolean asyncMode,
+            @Nullable String threadNamePrefix) {
+    }
+
+    /**
+     * The executor, by name, of every stage of the aggregation.
+     *
+     * @param stateFetch     combines the state information with the dealers of the state
+     * @param dealerFanOut   fans out to the dealers of the state
+     * @param carCollect     fans out to the cars of a dealer
+     * @param discount       looks the discount of a priced car up
+     * @param resultAssembly assembles the final result
+     */
+    public record Stages(
+            @DefaultValue("direct") String stateFetch,
+            @DefaultValue("loopAsyncExecutor_1") String dealerFanOut,
+            @DefaultValue("loopAsyncExecutor_0") String carCollect,
+            @DefaultValue("direct") String discount,
+            @DefaultValue("direct") String resultAssembly) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.epam.community.middlesvc.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for sharing the stage executors of the aggregation fairly between concurrent requests,
+ * see {@link com.epam.community.middlesvc.threading.FairShareExecutor}.
+ *
+ * @param enabled               whether the stage executors are shared fairly, first come first served otherwise
+ * @param maxInFlight           the most tasks handed to a pool at a time, the rest waits for its request's turn
+ * @param maxInFlightPerRequest the most tasks of a single request handed to a pool at a time
+ * @param maxQueued             the most tasks of all requests waiting for their turn at a pool, beyond that tasks are rejected
+ */
+@ConfigurationProperties(prefix = "com.epam.community.fair-share")
+public record FairShareProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100") int maxInFlight,
+        @DefaultValue("20") int maxInFlightPerRequest,
+        @DefaultValue("10000") int maxQueued) {
+}
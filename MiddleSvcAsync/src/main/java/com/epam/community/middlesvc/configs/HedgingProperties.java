@@ -0,0 +1,56 @@
+package com.epam.community.middlesvc.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration properties for hedging the tail-latency-sensitive downstream calls.
+ * A call which has not completed after the configured percentile of its observed latency
+ * is duplicated to another replica, the first response wins and the other exchange is aborted.
+ *
+ * @param enabled       whether hedges are sent at all
+ * @param dealers       dealer inventories (downstream call 2)
+ * @param manufacturers manufacturer prices (downstream call 3)
+ */
+@ConfigurationProperties(prefix = "com.epam.community.hedging")
+public record HedgingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Policy dealers,
+        @DefaultValue Policy manufacturers) {
+
+    /**
+     * Hedging settings of a single downstream call.
+     *
+     * @param percentile  the percentile of the observed latency after which a hedge is sent
+     * @param minDelay    lower bound of the hedge delay, keeps very fast endpoints from being hedged on noise
+     * @param maxDelay    upper bound of the hedge delay, also used until {@code minSamples} latencies were observed
+     * @param minSamples  number of observed latencies needed before the percentile is trusted
+     * @param budget      maximum ratio of extra calls, e.g. 0.05 allows one hedge per 20 calls
+     * @param maxBurst    maximum number of hedges the unused budget can accumulate to
+     * @param replicaUrls URL templates of other replicas of the endpoint, hedges go round robin over them;
+     *                    without them the hedge goes to the primary URL and the load balancer picks the replica,
+     *                    which avoids the stalled one as the primary attempt still counts as outstanding there
+     */
+    public record Policy(
+            @DefaultValue("0.95") double percentile,
+            @DefaultValue("10ms") Duration minDelay,
+            @DefaultValue("1s") Duration maxDelay,
+            @DefaultValue("100") int minSamples,
+            @DefaultValue("0.05") double budget,
+            @DefaultValue("10") int maxBurst,
+            @DefaultValue List<String> replicaUrls) {
+
+        /**
+         * The same settings for another endpoint of the service, whose hedges go through the load balancer,
+         * as the replica URLs are templates of this endpoint only.
+         *
+         * @return the settings without replica URLs
+         */
+        public Policy withoutReplicaUrls() {
+            return new Policy(this.percentile, this.minDelay, this.maxDelay, this.minSamples, this.budget, this.maxBurst, List.of());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.epam.community.middlesvc.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the connection pool of the downstream HTTP client.
+ * Every replica is a route of its own, so {@code maxPerRoute} bounds the connections to a single DownstreamServer
+ * and {@code maxTotal} those to all of them.
+ *
+ * @param maxTotal                the most connections of the pool
+ * @param maxPerRoute             the most connections to a single replica
+ * @param socketTimeout           the longest a read on an open connection may block
+ * @param responseTimeout         the longest to wait for a response, the request deadline may shorten it
+ * @param keepAlive               how long an idle connection is kept if the server does not send a shorter Keep-Alive timeout
+ * @param timeToLive              connections older than this are not reused
+ * @param idleEviction            idle connections are closed by a background thread after this time
+ * @param validateAfterInactivity connections idle for longer are checked for staleness before reuse
+ * @param prewarmConnections      connections opened to every replica at startup, so the first requests do not pay the handshake
+ */
+@ConfigurationProperties(prefix = "com.epam.community.http-client")
+public record HttpClientProperties(
+        @DefaultValue("400") int maxTotal,
+        @DefaultValue("100") int maxPerRoute,
+        @DefaultValue("10s") Duration socketTimeout,
+        @DefaultValue("10s") Duration responseTimeout,
+        @DefaultValue("30s") Duration keepAlive,
+        @DefaultValue("5m") Duration timeToLive,
+        @DefaultValue("30s") Duration idleEviction,
+        @DefaultValue("2s") Duration validateAfterInactivity,
+        @DefaultValue("10") int prewarmConnections) {
+}
@@ -0,0 +1,28 @@
+package com.epam.community.middlesvc.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties for the client side load balancing across DownstreamServer replicas.
+ * The endpoint URLs address an endpoint group by its name as host (e.g. {@code http://dealers/api/...}),
+ * every call is sent to one of the replicas of that group.
+ *
+ * @param enabled             whether the replica is picked by load, otherwise the first replica of a group is always used
+ * @param replicas            base URLs (scheme, host and port) of the replicas per endpoint group
+ * @param consecutiveFailures number of failures in a row (I/O errors or 5xx responses) after which a replica is ejected
+ * @param ejectionTime        how long an ejected replica gets no traffic
+ * @param maxEjectedPercent   upper bound of the replicas of a group which may be ejected at the same time
+ */
+@ConfigurationProperties(prefix = "com.epam.community.load-balancing")
+public record LoadBalancerProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Map<String, List<String>> replicas,
+        @DefaultValue("5") int consecutiveFailures,
+        @DefaultValue("10s") Duration ejectionTime,
+        @DefaultValue("50") int maxEjectedPercent) {
+}
@@ -0,0 +1,32 @@
+package com.epam.community.middlesvc.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the materialized view of the cheapest cars of every state.
+ * Every {@code tick} at most one state is refreshed: a state not materialized yet, else one whose state information or
+ * dealers changed, else the one refreshed longest ago once that is {@code refreshInterval} ago. The refreshes are thereby
+ * spread over time and the downstream load stays flat; with many states {@code tick} times their number should stay
+ * below {@code refreshInterval}.
+ *
+ * @param enabled          whether the view is maintained and served at all
+ * @param tick             how often a state may be refreshed
+ * @param refreshInterval  how long a state is kept before it is refreshed without a change
+ * @param maxStaleness     a state refreshed longer ago is no longer served from the view
+ * @param maxCars          the cars kept per state and filter, requests for more are not served from the view
+ * @param loadTimeout      the deadline of the aggregation refreshing a state
+ * @param stateCodesReload how often the list of states is reloaded
+ */
+@ConfigurationProperties(prefix = "com.epam.community.materializer")
+public record MaterializerProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("2s") Duration tick,
+        @DefaultValue("5m") Duration refreshInterval,
+        @DefaultValue("15m") Duration maxStaleness,
+        @DefaultValue("20") int maxCars,
+        @DefaultValue("60s") Duration loadTimeout,
+        @DefaultValue("1h") Duration stateCodesReload) {
+}
@@ -0,0 +1,19 @@
+package com.epam.community.middlesvc.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the nationwide cheapest-cars query.
+ * They bound the downstream calls and the memory of a query: at most {@code maxDealersInFlight} dealers are fetched
+ * and priced at a time, each a page of {@code chunkSize} cars at a time, so a query holds no more than their product
+ * of cars, whatever the size of the inventories.
+ *
+ * @param maxDealersInFlight how many dealers are fetched and priced concurrently
+ * @param chunkSize          how many cars of a dealer are fetched and priced at a time
+ */
+@ConfigurationProperties(prefix = "com.epam.community.national")
+public record NationalQueryProperties(
+        @DefaultValue("8") int maxDealersInFlight,
+        @DefaultValue("1000") int chunkSize) {
+}
@@ -1,6 +1,26 @@
 package com.epam.community.middlesvc.configs;
 
+import com.epam.community.middlesvc.clients.balancing.LoadBalancingInterceptor;
+import com.epam.community.middlesvc.clients.limiting.CircuitBreakingInterceptor;
+import com.epam.community.middlesvc.clients.limiting.ConcurrencyLimitingInterceptor;
+import com.epam.community.middlesvc.clients.transport.CancellableExchangeHandler;
+import com.epam.community.middlesvc.clients.transport.InstrumentedConnectionManager;
+import com.epam.community.middlesvc.clients.transport.ManagedBlockingInterceptor;
+import com.epam.community.middlesvc.clients.transport.RequestDeadlineInterceptor;
+import com.epam.community.middlesvc.context.RequestContext;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HeaderElement;
+import org.apache.hc.core5.http.HeaderElements;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.message.MessageSupport;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.boot.web.client.RestTemplateCustomizer;
@@ -12,7 +32,9 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import org.springframework.web.util.DefaultUriBuilderFactory.EncodingMode;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Configuration class for setting up the RestTemplate.
@@ -28,37 +50,172 @@ public class RestTemplateConfig {
     @Value("${http.connection.request.timeout:10000}")
     private int httpConnectionRequestTimeout;
 
+    /**
+     * Bean for the pooled connection manager of the downstream calls.
+     * Sized and timed by {@link HttpClientProperties}, pre-warmed by the ConnectionPoolWarmer.
+     *
+     * @param httpClientProperties the pool settings
+     * @param meterRegistry        the registry the pool metrics are published to
+     * @return a new instance of InstrumentedConnectionManager
+     */
+    @Bean(destroyMethod = "close")
+    public InstrumentedConnectionManager downstreamConnectionManager(final HttpClientProperties httpClientProperties,
+                                                                    final MeterRegistry meterRegistry) {
+        final InstrumentedConnectionManager connectionManager = new InstrumentedConnectionManager(meterRegistry);
+        connectionManager.setMaxTotal(httpClientProperties.maxTotal());
+        connectionManager.setDefaultMaxPerRoute(httpClientProperties.maxPerRoute());
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(this.httpConnectionTimeout, TimeUnit.MILLISECONDS)
+                .setSocketTimeout(Timeout.of(httpClientProperties.socketTimeout()))
+                .setTimeToLive(TimeValue.of(httpClientProperties.timeToLive()))
+                .setValidateAfterInactivity(TimeValue.of(httpClientProperties.validateAfterInactivity()))
+                .build());
+        log.info("Connection pool: maxTotal={}, maxPerRoute={}", httpClientProperties.maxTotal(), httpClientProperties.maxPerRoute());
+        return connectionManager;
+    }
+
     /**
      * Bean for the HttpComponentsClientHttpRequestFactory.
      * This method configures and initializes a HttpComponentsClientHttpRequestFactory with the properties defined above.
+     * Calls made on behalf of a {@link RequestContext} get timeouts bounded by the time left until its deadline
+     * and are aborted when the request gets cancelled.
      *
+     * @param downstreamConnectionManager the pooled connection manager
+     * @param httpClientProperties        the keep-alive, idle eviction and response timeout settings
      * @return a new instance of HttpComponentsClientHttpRequestFactory
      */
     @Bean
-    public HttpComponentsClientHttpRequestFactory httpComponentsClientHttpRequestFactory() {
+    public HttpComponentsClientHttpRequestFactory httpComponentsClientHttpRequestFactory(final InstrumentedConnectionManager downstreamConnectionManager,
+                                                                                         final HttpClientProperties httpClientProperties) {
+        final long responseTimeoutMs = httpClientProperties.responseTimeout().toMillis();
+        val keepAlive = TimeValue.of(httpClientProperties.keepAlive());
+        val httpClient = HttpClients.custom()
+                .setConnectionManager(downstreamConnectionManager)
+                .setKeepAliveStrategy((response, context) -> keepAliveOf(response, keepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(httpClientProperties.idleEviction()))
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(responseTimeoutMs, TimeUnit.MILLISECONDS)
+                        .build())
+                .addExecInterceptorFirst("request-context", new CancellableExchangeHandler())
+                .build();
 
-        final HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory();
+        final HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
         factory.setConnectTimeout(this.httpConnectionTimeout);
         factory.setConnectionRequestTimeout(this.httpConnectionRequestTimeout);
+        factory.setHttpContextFactory((httpMethod, uri) -> this.deadlineBoundContext(responseTimeoutMs));
 
         return factory;
     }
 
+    /**
+     * Keeps a connection alive as long as the server allows in its Keep-Alive header, but never longer than configured.
+     */
+    private static TimeValue keepAliveOf(final HttpResponse response,
+                                         final TimeValue keepAlive) {
+        final Iterator<HeaderElement> elements = MessageSupport.iterate(response, HeaderElements.KEEP_ALIVE);
+        while (elements.hasNext()) {
+            final HeaderElement element = elements.next();
+            if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                try {
+                    return TimeValue.ofSeconds(Math.min(Long.parseLong(element.getValue()), keepAlive.toSeconds()));
+                } catch (NumberFormatException ignored) {
+                    // malformed header, fall back to the configured keep-alive
+                }
+            }
+        }
+        return keepAlive;
+    }
+
+    /**
+     * Per-call request configuration of calls made on behalf of a {@link RequestContext}.
+     * A null result makes the factory fall back to the timeouts configured above.
+     */
+    @SuppressWarnings("deprecation") // connect timeout per request is deprecated in favour of ConnectionConfig
+    private HttpClientContext deadlineBoundContext(final long responseTimeoutMs) {
+        val requestContext = RequestContext.current();
+        if (requestContext == null || !requestContext.hasDeadline()) {
+            return null;
+        }
+        final long remainingMs = Math.max(1L, requestContext.remaining().toMillis());
+        final HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(RequestConfig.custom()
+                .setConnectTimeout(Math.min(this.httpConnectionTimeout, remainingMs), TimeUnit.MILLISECONDS)
+                .setConnectionRequestTimeout(Math.min(this.httpConnectionRequestTimeout, remainingMs), TimeUnit.MILLISECONDS)
+                .setResponseTimeout(Math.min(responseTimeoutMs, remainingMs), TimeUnit.MILLISECONDS)
+                .build());
+        return context;
+    }
+
+    /**
+     * Bean for the LoadBalancingInterceptor.
+     * Spreads the calls to an endpoint group over its replicas.
+     *
+     * @param loadBalancerProperties the replicas per endpoint group
+     * @param meterRegistry          the registry the replica gauges are published to
+     * @return a new instance of LoadBalancingInterceptor
+     */
+    @Bean
+    public LoadBalancingInterceptor loadBalancingInterceptor(final LoadBalancerProperties loadBalancerProperties,
+                                                             final MeterRegistry meterRegistry) {
+        return new LoadBalancingInterceptor(loadBalancerProperties, meterRegistry);
+    }
+
+    /**
+     * Bean for the ConcurrencyLimitingInterceptor.
+     * Adapts the number of concurrent calls to every downstream service to what it can take.
+     *
+     * @param concurrencyLimitProperties the limiter settings
+     * @param meterRegistry              the registry the limiter metrics are published to
+     * @return a new instance of ConcurrencyLimitingInterceptor
+     */
+    @Bean
+    public ConcurrencyLimitingInterceptor concurrencyLimitingInterceptor(final ConcurrencyLimitProperties concurrencyLimitProperties,
+                                                                         final MeterRegistry meterRegistry) {
+        return new ConcurrencyLimitingInterceptor(concurrencyLimitProperties, meterRegistry);
+    }
+
+    /**
+     * Bean for the CircuitBreakingInterceptor.
+     * Fails the calls to an unhealthy downstream service fast.
+     *
+     * @param circuitBreakerProperties the breaker settings
+     * @param meterRegistry            the registry the breaker metrics are published to
+     * @return a new instance of CircuitBreakingInterceptor
+     */
+    @Bean
+    public CircuitBreakingInterceptor circuitBreakingInterceptor(final CircuitBreakerProperties circuitBreakerProperties,
+                                                                 final MeterRegistry meterRegistry) {
+        return new CircuitBreakingInterceptor(circuitBreakerProperties, meterRegistry);
+    }
+
     /**
      * Bean for the RestTemplateCustomizer.
      * This method configures and initializes a RestTemplateCustomizer.
+     * @param httpComponentsClientHttpRequestFactory the request factory of the pooled HTTP client
+     * @param circuitBreakingInterceptor             the interceptor failing calls to unhealthy downstream services fast
+     * @param concurrencyLimitingInterceptor         the interceptor limiting the concurrent calls per downstream service
+     * @param loadBalancingInterceptor               the interceptor resolving endpoint groups to replicas
      * @return a new instance of RestTemplateCustomizer
      */
     @Bean
-    RestTemplateCustomizer restTemplateCustomizer() {
+    RestTemplateCustomizer restTemplateCustomizer(final HttpComponentsClientHttpRequestFactory httpComponentsClientHttpRequestFactory,
+                                                  final CircuitBreakingInterceptor circuitBreakingInterceptor,
+                                                  final ConcurrencyLimitingInterceptor concurrencyLimitingInterceptor,
+                                                  final LoadBalancingInterceptor loadBalancingInterceptor) {
         return restTemplate -> {
-            restTemplate.setRequestFactory(httpComponentsClientHttpRequestFactory());
+            restTemplate.setRequestFactory(httpComponentsClientHttpRequestFactory);
 
             final DefaultUriBuilderFactory defaultUriBuilderFactory = new DefaultUriBuilderFactory();
             defaultUriBuilderFactory.setEncodingMode(EncodingMode.VALUES_ONLY);
             restTemplate.setUriTemplateHandler(defaultUriBuilderFactory);
 
             final List<ClientHttpRequestInterceptor> interceptors = restTemplate.getInterceptors();
+            interceptors.add(new ManagedBlockingInterceptor());
+            interceptors.add(new RequestDeadlineInterceptor());
+            interceptors.add(circuitBreakingInterceptor);
+            interceptors.add(concurrencyLimitingInterceptor);
+            interceptors.add(loadBalancingInterceptor);
             interceptors.add((request, body, execution) -> {
                 log.info("Request: {} {}", request.getMethod(), request.getURI());
                 return execution.execute(request, body);
@@ -0,0 +1,29 @@
+package com.epam.community.middlesvc.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the cache of the cheapest cars per state, car type and car full type.
+ * An entry holds the cheapest {@code maxCars} cars, a request for fewer is served by slicing it.
+ * Once {@code ttl} has passed an entry is stale: it is still served at once while a single background refresh runs,
+ * for at most {@code staleWhileRevalidate}, after that it is gone and the next request waits for the aggregation.
+ *
+ * @param enabled              whether the results are cached at all
+ * @param ttl                  how long an entry is fresh
+ * @param staleWhileRevalidate how long a stale entry is served while it is refreshed
+ * @param maxCars              the cars kept per entry, requests for more bypass the cache
+ * @param maximumSize          maximum number of entries
+ * @param loadTimeout          the deadline of an aggregation filling the cache, independent of the requests waiting for it
+ */
+@ConfigurationProperties(prefix = "com.epam.community.result-cache")
+public record ResultCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("30s") Duration ttl,
+        @DefaultValue("2m") Duration staleWhileRevalidate,
+        @DefaultValue("20") int maxCars,
+        @DefaultValue("1000") long maximumSize,
+        @DefaultValue("30s") Duration loadTimeout) {
+}
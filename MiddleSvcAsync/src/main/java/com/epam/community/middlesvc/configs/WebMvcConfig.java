@@ -1,9 +1,15 @@
 package com.epam.community.middlesvc.configs;
 
+import com.epam.community.middlesvc.admission.AdmissionControlInterceptor;
+import com.epam.community.middlesvc.admission.SojournAdmissionControl;
+import com.epam.community.middlesvc.context.RequestCancellingInterceptor;
 import com.epam.community.middlesvc.contollers.RestConstants;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -18,6 +24,20 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @EnableWebMvc
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    @Value("${com.epam.community.async.request-timeout-ms:35000}")
+    private long asyncRequestTimeoutMs;
+
+    private final SojournAdmissionControl admissionControl;
+
+    /**
+     * Constructor for the WebMvcConfig class.
+     *
+     * @param admissionControl The admission decisions for the car requests.
+     */
+    public WebMvcConfig(final SojournAdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
     /**
      * Add view controllers to the registry.
      * This method overrides the addViewControllers method from the WebMvcConfigurer interface.
@@ -29,4 +49,32 @@ public class WebMvcConfig implements WebMvcConfigurer {
     public void addViewControllers(final ViewControllerRegistry registry) {
         registry.addRedirectViewController(RestConstants.API_DELIMITER, RestConstants.SWAGGER_UI);
     }
+
+    /**
+     * Configure the asynchronous request processing.
+     * The timeout is a backstop only, the request deadline (com.epam.community.deadline.max-ms) ends an aggregation first.
+     * A request timing out nevertheless is answered with 503.
+     * A request which times out or fails, e.g. because the client disconnected, cancels its request context,
+     * which aborts the downstream calls still in flight.
+     *
+     * @param configurer the AsyncSupportConfigurer
+     */
+    @Override
+    public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(this.asyncRequestTimeoutMs);
+        configurer.registerDeferredResultInterceptors(new RequestCancellingInterceptor());
+    }
+
+    /**
+     * Add interceptors to the registry.
+     * The car requests pass the admission control, which sheds them with 503 while the async pools are saturated.
+     * The cars of a state are admitted only on a miss of the materialized view, the view is served regardless.
+     *
+     * @param registry the InterceptorRegistry
+     */
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionControlInterceptor(this.admissionControl))
+                .addPathPatterns(RestConstants.CARS_ENDPOINT + "/**");
+    }
 }
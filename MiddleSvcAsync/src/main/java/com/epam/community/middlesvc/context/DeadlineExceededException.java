@@ -0,0 +1,15 @@
+package com.epam.community.middlesvc.context;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a request could not be answered within its deadline and partial results were not requested.
+ */
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.epam.community.middlesvc.context;
+
+import java.io.IOException;
+
+/**
+ * Thrown by the HTTP layer when a downstream call belongs to a request which has been cancelled
+ * or whose deadline has passed.
+ * It is an IOException so RestTemplate reports it like any other I/O failure of the exchange.
+ */
+public class RequestCancelledException extends IOException {
+
+    public RequestCancelledException(final String message) {
+        super(message);
+    }
+
+    public RequestCancelledException(final String message,
+                                     final Throwable cause) {
+        super(message, cause);
+    }
+}
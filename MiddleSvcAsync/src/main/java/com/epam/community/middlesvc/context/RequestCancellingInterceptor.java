@@ -0,0 +1,55 @@
+package com.epam.community.middlesvc.context;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+
+/**
+ * Cancels the {@link RequestContext} of an asynchronous request whose response can no longer be delivered,
+ * so its downstream exchanges are aborted at once instead of running on until the deadline.
+ * <p>
+ * The servlet container reports a client gone away as an error of the asynchronous request, the async request
+ * timeout as a timeout. Both reach the handlers returning a {@code CompletableFuture} through this interceptor,
+ * provided the handler {@link #bind(RequestContext) bound} its context to the request.
+ */
+@Slf4j
+public class RequestCancellingInterceptor implements DeferredResultProcessingInterceptor {
+
+    private static final String ATTRIBUTE = RequestCancellingInterceptor.class.getName() + ".requestContext";
+
+    /**
+     * Binds a context to the request currently handled, to be cancelled when the request errors or times out.
+     *
+     * @param requestContext the context of the request
+     */
+    public static void bind(final RequestContext requestContext) {
+        RequestContextHolder.currentRequestAttributes().setAttribute(ATTRIBUTE, requestContext, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    public <T> boolean handleTimeout(final NativeWebRequest request,
+                                     final DeferredResult<T> deferredResult) {
+        cancel(request, "timed out");
+        return true;
+    }
+
+    @Override
+    public <T> boolean handleError(final NativeWebRequest request,
+                                   final DeferredResult<T> deferredResult,
+                                   final Throwable t) {
+        cancel(request, "failed: " + t.getMessage());
+        return true;
+    }
+
+    private static void cancel(final NativeWebRequest request,
+                               final String reason) {
+        final RequestContext requestContext = (RequestContext) request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (requestContext != null) {
+            log.info("Asynchronous request {}, cancelling its downstream calls", reason);
+            requestContext.cancel();
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.epam.community.middlesvc.context;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Time budget and cancellation scope of a single incoming request.
+ * <p>
+ * The context is bound to the request thread with {@link #attach()} and travels with every task submitted to the
+ * context propagating executors (see {@link RequestContextThreadLocalAccessor}), so the HTTP layer can see it
+ * on whichever thread the downstream call is made. When the deadline passes or {@link #cancel()} is called
+ * (e.g. the client disconnected), all registered in-flight HTTP exchanges are aborted and new ones fail fast.
+ * A request which finished in time is {@link #complete() completed}, which disarms its deadline and releases
+ * whatever was registered with it.
+ */
+@Slf4j
+public final class RequestContext {
+
+    private static final ThreadLocal<RequestContext> CURRENT = new ThreadLocal<>();
+    private static final long NO_DEADLINE = Long.MIN_VALUE;
+    // one timer thread for the deadlines of all requests, a disarmed deadline is removed from its queue at once
+    private static final ScheduledThreadPoolExecutor DEADLINES = deadlineTimer();
+
+    private final long deadlineNanos;
+    private final boolean partialResultsAllowed;
+    @Nullable
+    private final RequestContext parent;
+    private final Set<Cancellable> exchanges = ConcurrentHashMap.newKeySet();
+    private final Queue<Runnable> cancelCallbacks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private volatile boolean cancelled;
+    @Nullable
+    private volatile ScheduledFuture<?> deadlineTimer;
+
+    private RequestContext(final long deadlineNanos,
+                           final boolean partialResultsAllowed,
+                           @Nullable final RequestContext parent) {
+        this.deadlineNanos = deadlineNanos;
+        this.partialResultsAllowed = partialResultsAllowed;
+        this.parent = parent;
+    }
+
+    /**
+     * Creates a context which cancels itself once the timeout has elapsed, unless it is completed before.
+     *
+     * @param timeout               the overall time budget of the request
+     * @param partialResultsAllowed whether the request rather gets what has been collected so far than an error
+     * @return a new RequestContext
+     */
+    public static RequestContext withTimeout(final Duration timeout,
+                                             final boolean partialResultsAllowed) {
+        final RequestContext context = new RequestContext(System.nanoTime() + timeout.toNanos(), partialResultsAllowed, null);
+        // the callbacks complete the futures of the request, their dependents must not hold up the timer thread
+        context.deadlineTimer = DEADLINES.schedule(() -> ForkJoinPool.commonPool().execute(context::cancel),
+                timeout.toNanos(), TimeUnit.NANOSECONDS);
+        return context;
+    }
+
+    /**
+     * Creates a child context of the given one, e.g. for a single attempt of a hedged call.
+     * The child shares the deadline of its parent and is cancelled together with it,
+     * but it can also be cancelled on its own without affecting the parent.
+     *
+     * @param parent the context to fork, null outside of a request
+     * @return a new RequestContext, without a deadline if there is no parent
+     */
+    public static RequestContext fork(@Nullable final RequestContext parent) {
+        return parent == null
+                ? new RequestContext(NO_DEADLINE, false, null)
+                : new RequestContext(parent.deadlineNanos, parent.partialResultsAllowed, parent);
+    }
+
+    /**
+     * Returns the context bound to the current thread.
+     *
+     * @return the current RequestContext or null outside of a request
+     */
+    @Nullable
+    public static RequestContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds the given context to the current thread until the returned scope is closed.
+     *
+     * @param context the context to bind, null unbinds the current one
+     * @return a Scope restoring the previous binding on close
+     */
+    public static Scope open(@Nullable final RequestContext context) {
+        final RequestContext previous = CURRENT.get();
+        set(context);
+        return () -> set(previous);
+    }
+
+    /**
+     * Checks whether the failure was caused by the cancellation of a request context.
+     *
+     * @param error the failure
+     * @return true if {@link RequestCancelledException} is in the cause chain
+     */
+    public static boolean isCancellation(@Nullable final Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RequestCancelledException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the context of the request itself, i.e. the outermost parent of a forked context.
+     *
+     * @return the root RequestContext, this one if it was not forked
+     */
+    public RequestContext root() {
+        RequestContext root = this;
+        while (root.parent != null) {
+            root = root.parent;
+        }
+        return root;
+    }
+
+    static void set(@Nullable final RequestContext context) {
+        if (context == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(context);
+        }
+    }
+
+    /**
+     * Binds this context to the current thread until the returned scope is closed.
+     *
+     * @return a Scope restoring the previous binding on close
+     */
+    public Scope attach() {
+        return open(this);
+    }
+
+    /**
+     * @return the time left until the deadline, never negative
+     */
+    public Duration remaining() {
+        return this.hasDeadline()
+                ? Duration.ofNanos(Math.max(0L, this.deadlineNanos - System.nanoTime()))
+                : ChronoUnit.FOREVER.getDuration();
+    }
+
+    /**
+     * @return false for a context forked outside of a request, which can only be cancelled explicitly
+     */
+    public boolean hasDeadline() {
+        return this.deadlineNanos != NO_DEADLINE;
+    }
+
+    /**
+     * @return true if the deadline has passed or the request was cancelled
+     */
+    public boolean isCancelled() {
+        return this.cancelled
+                || (this.hasDeadline() && (this.deadlineNanos - System.nanoTime() <= 0L))
+                || (this.parent != null && this.parent.isCancelled());
+    }
+
+    /**
+     * @return whether the request rather gets what has been collected so far than an error
+     */
+    public boolean isPartialResultsAllowed() {
+        return this.partialResultsAllowed;
+    }
+
+    /**
+     * Fails fast if the request is already cancelled.
+     *
+     * @throws RequestCancelledException if the deadline has passed or the request was cancelled
+     */
+    public void checkActive() throws RequestCancelledException {
+        if (this.isCancelled()) {
+            throw new RequestCancelledException("Request has been cancelled or its deadline has passed");
+        }
+    }
+
+    /**
+     * Cancels the request: runs the cancel callbacks and aborts all in-flight HTTP exchanges.
+     * The callbacks run first, so a partial result is delivered before the aborted exchanges fail the aggregation.
+     * Calling it more than once or after {@link #complete()} has no effect.
+     */
+    public void cancel() {
+        if (!this.finished.compareAndSet(false, true)) {
+            return;
+        }
+        this.cancelled = true;
+        this.disarmDeadline();
+        this.runCancelCallbacks();
+        if (!this.exchanges.isEmpty()) {
+            log.info("Cancelling {} in-flight downstream exchanges", this.exchanges.size());
+        }
+        this.exchanges.forEach(Cancellable::cancel);
+        this.exchanges.clear();
+    }
+
+    /**
+     * Completes the request: disarms the deadline and drops the cancel callbacks and registered exchanges,
+     * so nothing of the finished request is kept until its deadline. Calling it after {@link #cancel()} has no effect.
+     */
+    public void complete() {
+        if (!this.finished.compareAndSet(false, true)) {
+            return;
+        }
+        this.disarmDeadline();
+        this.cancelCallbacks.clear();
+        this.exchanges.clear();
+    }
+
+    /**
+     * Registers a callback to run when the request gets cancelled.
+     *
+     * @param callback the callback, run immediately if the request is already cancelled, dropped if it is completed
+     */
+    public void onCancel(final Runnable callback) {
+        this.cancelCallbacks.add(callback);
+        if (this.cancelled) {
+            // whichever of cancel() and this call polls the callback runs it, so it runs exactly once
+            this.runCancelCallbacks();
+        } else if (this.finished.get()) {
+            this.cancelCallbacks.clear();
+        }
+    }
+
+    /**
+     * Registers an in-flight HTTP exchange which is aborted when the request gets cancelled.
+     * The exchange of a child context is registered with the parent as well.
+     *
+     * @param exchange the exchange, aborted immediately if the request is already cancelled
+     */
+    public void register(final Cancellable exchange) {
+        if (this.parent != null) {
+            this.parent.register(exchange);
+        }
+        this.exchanges.add(exchange);
+        if (this.cancelled) {
+            exchange.cancel();
+        }
+    }
+
+    /**
+     * Unregisters a finished HTTP exchange.
+     *
+     * @param exchange the exchange
+     */
+    public void unregister(final Cancellable exchange) {
+        this.exchanges.remove(exchange);
+        if (this.parent != null) {
+            this.parent.unregister(exchange);
+        }
+    }
+
+    private void runCancelCallbacks() {
+        for (Runnable callback = this.cancelCallbacks.poll(); callback != null; callback = this.cancelCallbacks.poll()) {
+            callback.run();
+        }
+    }
+
+    private void disarmDeadline() {
+        final ScheduledFuture<?> timer = this.deadlineTimer;
+        if (timer != null) {
+            timer.cancel(false);
+            this.deadlineTimer = null;
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor deadlineTimer() {
+        final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "request-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    /**
+     * Binding of a context to a thread, restores the previous binding on close.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
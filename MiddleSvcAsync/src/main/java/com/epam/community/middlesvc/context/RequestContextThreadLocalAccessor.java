@@ -0,0 +1,33 @@
+package com.epam.community.middlesvc.context;
+
+import io.micrometer.context.ThreadLocalAccessor;
+
+/**
+ * Lets the Micrometer context propagation carry the {@link RequestContext} to executor threads.
+ * Registered through {@code META-INF/services}, so every {@code ContextSnapshot} captured by the
+ * context propagating executors contains it.
+ */
+public class RequestContextThreadLocalAccessor implements ThreadLocalAccessor<RequestContext> {
+
+    public static final String KEY = "com.epam.community.request-context";
+
+    @Override
+    public Object key() {
+        return KEY;
+    }
+
+    @Override
+    public RequestContext getValue() {
+        return RequestContext.current();
+    }
+
+    @Override
+    public void setValue(final RequestContext value) {
+        RequestContext.set(value);
+    }
+
+    @Override
+    public void setValue() {
+        RequestContext.set(null);
+    }
+}
@@ -1,18 +1,38 @@
 package com.epam.community.middlesvc.contollers;
 
 
+import com.epam.community.middlesvc.admission.AdmittedByHandler;
+import com.epam.community.middlesvc.admission.SojournAdmissionControl;
+import com.epam.community.middlesvc.caching.CheapestCarsCache;
+import com.epam.community.middlesvc.caching.CheapestCarsMaterializer;
+import com.epam.community.middlesvc.context.RequestCancellingInterceptor;
+import com.epam.community.middlesvc.context.RequestContext;
+import com.epam.community.middlesvc.models.CarFilter;
 import com.epam.community.middlesvc.models.CarFullTypeEnum;
 import com.epam.community.middlesvc.models.CarModel;
 import com.epam.community.middlesvc.models.CarTypeEnum;
+import com.epam.community.middlesvc.models.NationalCarModel;
 import com.epam.community.middlesvc.services.CarAsyncService;
+import com.epam.community.middlesvc.services.NationalCarsService;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller class for handling car-related requests.
@@ -25,15 +45,43 @@ import java.util.List;
 @RequestMapping(RestConstants.CARS_ENDPOINT)
 public class CarsController {
 
+    public static final String PARTIAL_RESULT_HEADER = "X-Partial-Result";
+    public static final String MATERIALIZED_AT_HEADER = "X-Materialized-At";
+
+    @Value("${com.epam.community.deadline.default-ms:10000}")
+    private long defaultDeadlineMs;
+    @Value("${com.epam.community.deadline.max-ms:30000}")
+    private long maxDeadlineMs;
+    @Value("${com.epam.community.stream.snapshot-interval-ms:200}")
+    private long streamSnapshotIntervalMs;
+    @Value("${com.epam.community.stream.timeout-ms:60000}")
+    private long streamTimeoutMs;
+
     private final CarAsyncService carAsyncService;
+    private final CheapestCarsCache cheapestCarsCache;
+    private final CheapestCarsMaterializer cheapestCarsMaterializer;
+    private final NationalCarsService nationalCarsService;
+    private final SojournAdmissionControl admissionControl;
 
     /**
      * Constructor for the CarsController.
      *
-     * @param carAsyncService the CarAsyncService
+     * @param carAsyncService          the CarAsyncService
+     * @param cheapestCarsCache        the CheapestCarsCache in front of the CarAsyncService
+     * @param cheapestCarsMaterializer the CheapestCarsMaterializer serving the materialized cars of every state
+     * @param nationalCarsService      the NationalCarsService
+     * @param admissionControl         the SojournAdmissionControl the misses of the materialized view pass
      */
-    public CarsController(final CarAsyncService carAsyncService) {
+    public CarsController(final CarAsyncService carAsyncService,
+                          final CheapestCarsCache cheapestCarsCache,
+                          final CheapestCarsMaterializer cheapestCarsMaterializer,
+                          final NationalCarsService nationalCarsService,
+                          final SojournAdmissionControl admissionControl) {
         this.carAsyncService = carAsyncService;
+        this.cheapestCarsCache = cheapestCarsCache;
+        this.cheapestCarsMaterializer = cheapestCarsMaterializer;
+        this.nationalCarsService = nationalCarsService;
+        this.admissionControl = admissionControl;
     }
 
     /**
@@ -43,15 +91,181 @@ public class CarsController {
      * @param carType the car type (optional)
      * @param carFullType the car full type (optional)
      * @param maxCars the maximum number of cars to return (optional, default is 3)
-     * @return a ResponseEntity containing a list of CarModel
+     * @param timeoutMs the time budget of the request in milliseconds (optional, capped by com.epam.community.deadline.max-ms)
+     * @param allowPartial whether the cars collected so far are returned when the deadline passes (optional, default is false),
+     *                     such a response carries the {@value #PARTIAL_RESULT_HEADER}: true header
+     * @return a CompletableFuture of a ResponseEntity containing a list of CarModel, the request thread is released
+     * while the aggregation runs. A missed deadline is answered with 504, a failed downstream call with 502,
+     * a client disconnecting cancels the downstream calls still in flight.
+     * Cars served from the materialized view come at once, with the time they were materialized at in the
+     * {@value #MATERIALIZED_AT_HEADER} header, even while the service sheds load; only a miss is answered with 503 then.
      */
+    @AdmittedByHandler
     @GetMapping("/straightforward/{stateCode}/cars")
-    public ResponseEntity<List<CarModel>> getCarsByState(
+    public CompletableFuture<ResponseEntity<List<CarModel>>> getCarsByState(
             @NonNull @PathVariable final String stateCode,
             @RequestParam(value = "carType", required = false) final CarTypeEnum carType,
             @RequestParam(value = "carFullType", required = false) final CarFullTypeEnum carFullType,
-            @RequestParam(value = "maxCars", required = false, defaultValue = "3") @Min(0L) @Max(20L) final int maxCars) {
+            @RequestParam(value = "maxCars", required = false, defaultValue = "3") @Min(0L) @Max(20L) final int maxCars,
+            @RequestParam(value = "timeoutMs", required = false) @Min(1L) final Long timeoutMs,
+            @RequestParam(value = "allowPartial", required = false, defaultValue = "false") final boolean allowPartial) {
         log.info("Getting cars by state code: {}", stateCode);
-        return ResponseEntity.ok(this.carAsyncService.getCheapestCarsInState(stateCode, carType, carFullType, maxCars));
+        val materialized = this.cheapestCarsMaterializer.getCheapestCarsInState(stateCode, carType, carFullType, maxCars);
+        if (materialized.isPresent()) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok()
+                    .header(MATERIALIZED_AT_HEADER, materialized.get().materializedAt().toString())
+                    .body(materialized.get().cars()));
+        }
+        if (!this.admissionControl.tryAdmit()) {
+            log.debug("Shedding cars by state code: {}", stateCode);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, this.admissionControl.retryAfterSeconds())
+                    .build());
+        }
+        val requestContext = RequestContext.withTimeout(this.deadline(timeoutMs), allowPartial);
+        RequestCancellingInterceptor.bind(requestContext);
+        try (val ignored = requestContext.attach()) {
+            return this.cheapestCarsCache.getCheapestCarsInState(stateCode, carType, carFullType, maxCars)
+                    .thenApply(cars -> requestContext.isCancelled()
+                            ? ResponseEntity.ok().header(PARTIAL_RESULT_HEADER, Boolean.TRUE.toString()).body(cars)
+                            : ResponseEntity.ok(cars))
+                    .whenComplete((response, error) -> requestContext.complete());
+        }
+    }
+
+    /**
+     * Get cars of several states at once.
+     * This method is mapped to a GET request to the path "/straightforward/batch/cars".
+     * The dealers and car prices the states have in common are fetched once for all of them.
+     * @param stateCodes the state codes, comma separated
+     * @param carType the car type (optional)
+     * @param carFullType the car full type (optional)
+     * @param maxCars the maximum number of cars to return per state (optional, default is 3)
+     * @param timeoutMs the time budget of the request in milliseconds (optional, capped by com.epam.community.deadline.max-ms)
+     * @param allowPartial whether the cars collected so far are returned when the deadline passes (optional, default is false),
+     *                     such a response carries the {@value #PARTIAL_RESULT_HEADER}: true header
+     * @return a CompletableFuture of a ResponseEntity containing the list of CarModel by state code, in the requested order
+     */
+    @GetMapping("/straightforward/batch/cars")
+    public CompletableFuture<ResponseEntity<Map<String, List<CarModel>>>> getCarsByStates(
+            @RequestParam(value = "stateCodes") final List<String> stateCodes,
+            @RequestParam(value = "carType", required = false) final CarTypeEnum carType,
+            @RequestParam(value = "carFullType", required = false) final CarFullTypeEnum carFullType,
+            @RequestParam(value = "maxCars", required = false, defaultValue = "3") @Min(0L) @Max(20L) final int maxCars,
+            @RequestParam(value = "timeoutMs", required = false) @Min(1L) final Long timeoutMs,
+            @RequestParam(value = "allowPartial", required = false, defaultValue = "false") final boolean allowPartial) {
+        log.info("Getting cars by state codes: {}", stateCodes);
+        val requestContext = RequestContext.withTimeout(this.deadline(timeoutMs), allowPartial);
+        RequestCancellingInterceptor.bind(requestContext);
+        try (val ignored = requestContext.attach()) {
+            return this.carAsyncService.getCheapestCarsInStatesAsync(stateCodes.stream().distinct().toList(),
+                            new CarFilter(carType, carFullType), maxCars)
+                    .thenApply(cars -> requestContext.isCancelled()
+                            ? ResponseEntity.ok().header(PARTIAL_RESULT_HEADER, Boolean.TRUE.toString()).body(cars)
+                            : ResponseEntity.ok(cars))
+                    .whenComplete((response, error) -> requestContext.complete());
+        }
+    }
+
+    /**
+     * Get the cheapest cars across all states.
+     * This method is mapped to a GET request to the path "/national".
+     * Every car is listed once, with its price in the state it is cheapest in.
+     * @param carType the car type (optional)
+     * @param carFullType the car full type (optional)
+     * @param maxCars the maximum number of cars to return (optional, default is 3)
+     * @param timeoutMs the time budget of the request in milliseconds (optional, capped by com.epam.community.deadline.max-ms)
+     * @param allowPartial whether the cars collected so far are returned when the deadline passes (optional, default is false),
+     *                     such a response carries the {@value #PARTIAL_RESULT_HEADER}: true header
+     * @return a CompletableFuture of a ResponseEntity containing a list of NationalCarModel, cheapest first
+     */
+    @GetMapping("/national")
+    public CompletableFuture<ResponseEntity<List<NationalCarModel>>> getCarsNationwide(
+            @RequestParam(value = "carType", required = false) final CarTypeEnum carType,
+            @RequestParam(value = "carFullType", required = false) final CarFullTypeEnum carFullType,
+            @RequestParam(value = "maxCars", required = false, defaultValue = "3") @Min(0L) @Max(100L) final int maxCars,
+            @RequestParam(value = "timeoutMs", required = false) @Min(1L) final Long timeoutMs,
+            @RequestParam(value = "allowPartial", required = false, defaultValue = "false") final boolean allowPartial) {
+        log.info("Getting cars nationwide");
+        val requestContext = RequestContext.withTimeout(this.deadline(timeoutMs), allowPartial);
+        RequestCancellingInterceptor.bind(requestContext);
+        try (val ignored = requestContext.attach()) {
+            return this.nationalCarsService.getCheapestCarsNationwideAsync(new CarFilter(carType, carFullType), maxCars)
+                    .thenApply(cars -> requestContext.isCancelled()
+                            ? ResponseEntity.ok().header(PARTIAL_RESULT_HEADER, Boolean.TRUE.toString()).body(cars)
+                            : ResponseEntity.ok(cars))
+                    .whenComplete((response, error) -> requestContext.complete());
+        }
+    }
+
+    /**
+     * Stream cars by state code as Server-Sent Events.
+     * This method is mapped to a GET request to the path "/straightforward/{stateCode}/cars/stream".
+     * While the aggregation progresses, provisional top-N lists are sent as "snapshot" events,
+     * the complete result is sent as the last, "final" event.
+     * @param stateCode the state code
+     * @param carType the car type (optional)
+     * @param carFullType the car full type (optional)
+     * @param maxCars the maximum number of cars to return (optional, default is 3)
+     * @return an SseEmitter fed from the asynchronous aggregation
+     */
+    @GetMapping(value = "/straightforward/{stateCode}/cars/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCarsByState(
+            @NonNull @PathVariable final String stateCode,
+            @RequestParam(value = "carType", required = false) final CarTypeEnum carType,
+            @RequestParam(value = "carFullType", required = false) final CarFullTypeEnum carFullType,
+            @RequestParam(value = "maxCars", required = false, defaultValue = "3") @Min(0L) @Max(100L) final int maxCars) {
+        log.info("Streaming cars by state code: {}", stateCode);
+        val emitter = new SseEmitter(this.streamTimeoutMs);
+        // the stream delivers whatever has been collected when the client goes away or the emitter times out
+        val requestContext = RequestContext.withTimeout(Duration.ofMillis(this.streamTimeoutMs), true);
+        emitter.onCompletion(requestContext::cancel);
+        emitter.onTimeout(requestContext::cancel);
+        emitter.onError(error -> requestContext.cancel());
+        try (val ignored = requestContext.attach()) {
+            this.carAsyncService.getCheapestCarsInStateAsync(stateCode, carType, carFullType, maxCars,
+                            Duration.ofMillis(this.streamSnapshotIntervalMs),
+                            snapshot -> send(emitter, "snapshot", snapshot))
+                    .whenComplete((cars, error) -> {
+                        // the emitter completion below must not cancel a stream which was delivered
+                        requestContext.complete();
+                        if (error != null) {
+                            log.warn("Streaming cars by state code: {} failed", stateCode, error);
+                            emitter.completeWithError(error);
+                        } else {
+                            send(emitter, "final", cars);
+                            emitter.complete();
+                        }
+                    });
+        }
+        return emitter;
+    }
+
+    /**
+     * Maps a failed downstream call to 502, the asynchronous result reaches this handler without its CompletionException.
+     * @param e the failure of the downstream call
+     * @return an empty ResponseEntity with the status 502
+     */
+    @ExceptionHandler(RestClientException.class)
+    public ResponseEntity<Void> handleDownstreamFailure(final RestClientException e) {
+        log.warn("Downstream call failed: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
+    }
+
+    private Duration deadline(final Long timeoutMs) {
+        return Duration.ofMillis(timeoutMs == null ? this.defaultDeadlineMs : Math.min(timeoutMs, this.maxDeadlineMs));
+    }
+
+    private static void send(final SseEmitter emitter,
+                             final String eventName,
+                             final List<CarModel> cars) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(eventName)
+                    .data(cars, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // the client is gone or the emitter has already completed, nothing to deliver to
+            log.debug("Could not send {} event: {}", eventName, e.getMessage());
+        }
     }
 }
@@ -0,0 +1,73 @@
+package com.epam.community.middlesvc.models;
+
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filter of the cars by type and full type, a missing component matches every car.
+ *
+ * @param carType     the type of the cars (optional)
+ * @param carFullType the full type of the cars (optional)
+ */
+public record CarFilter(
+        @Nullable CarTypeEnum carType,
+        @Nullable CarFullTypeEnum carFullType) {
+
+    /**
+     * Every combination of type and full type, each of them optional.
+     *
+     * @return the filters, the one matching every car first.
+     */
+    public static List<CarFilter> all() {
+        final List<CarFilter> filters = new ArrayList<>();
+        for (final CarTypeEnum carType : withNull(CarTypeEnum.values())) {
+            for (final CarFullTypeEnum carFullType : withNull(CarFullTypeEnum.values())) {
+                filters.add(new CarFilter(carType, carFullType));
+            }
+        }
+        return filters;
+    }
+
+    /**
+     * The filters a car of the given type and full type passes.
+     *
+     * @param carType     the type of the car
+     * @param carFullType the full type of the car
+     * @return the filters, the most specific one last.
+     */
+    public static List<CarFilter> of(@Nullable final CarTypeEnum carType,
+                                     @Nullable final CarFullTypeEnum carFullType) {
+        final List<CarFilter> filters = new ArrayList<>(4);
+        filters.add(new CarFilter(null, null));
+        if (carType != null) {
+            filters.add(new CarFilter(carType, null));
+        }
+        if (carFullType != null) {
+            filters.add(new CarFilter(null, carFullType));
+        }
+        if ((carType != null) && (carFullType != null)) {
+            filters.add(new CarFilter(carType, carFullType));
+        }
+        return filters;
+    }
+
+    /**
+     * Checks whether a car passes the filter.
+     *
+     * @param car the car of a dealer
+     * @return true if the car passes.
+     */
+    public boolean matches(final DealerCarModel car) {
+        return ((this.carType == null) || (this.carType == car.type()))
+                && ((this.carFullType == null) || (this.carFullType == car.fullType()));
+    }
+
+    private static <T> List<T> withNull(final T[] values) {
+        final List<T> list = new ArrayList<>(values.length + 1);
+        list.add(null);
+        list.addAll(List.of(values));
+        return list;
+    }
+}
@@ -0,0 +1,15 @@
+package com.epam.community.middlesvc.models;
+
+import lombok.Builder;
+
+/**
+ * A car of the nationwide query with the state it is cheapest in.
+ *
+ * @param stateCode the code of the state the price applies to
+ * @param car       the car with its price after the discount of the state and the overhead of the dealer
+ */
+@Builder
+public record NationalCarModel(
+        String stateCode,
+        CarModel car) {
+}
@@ -1,22 +1,35 @@
 package com.epam.community.middlesvc.services;
 
-import com.epam.community.middlesvc.clients.DealerClient;
-import com.epam.community.middlesvc.clients.ManufacturerClient;
-import com.epam.community.middlesvc.clients.StateClient;
+import com.epam.community.middlesvc.caching.ReferenceDataCache;
+import com.epam.community.middlesvc.context.DeadlineExceededException;
+import com.epam.community.middlesvc.context.RequestContext;
 import com.epam.community.middlesvc.models.*;
+import com.epam.community.middlesvc.threading.ExecutorTopology;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.Builder;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.util.ObjectUtils;
 
-import java.util.Collection;
-import java.util.Comparator;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Service class for handling car-related operations asynchronously.
@@ -25,132 +38,307 @@ import java.util.concurrent.Executor;
 @Slf4j
 public class CarAsyncService {
 
-    private final DealerClient dealerClient;
-    private final StateClient stateClient;
-    private final ManufacturerClient manufacturerClient;
-    private final Executor generalAsyncExecutor;
-    private final Executor loopAsyncExecutor0;
-    private final Executor loopAsyncExecutor1;
+    private final ReferenceDataCache referenceDataCache;
+    private final Executor stateFetchExecutor;
+    private final Executor dealerFanOutExecutor;
+    private final Executor carCollectExecutor;
+    private final Executor discountExecutor;
+    private final Executor resultAssemblyExecutor;
+    private final Counter discountCallsCounter;
+    private final Counter prunedDiscountCallsCounter;
 
 
     /**
      * Constructor for the CarAsyncService class.
      *
-     * @param dealerClient         The client to access dealer data.
-     * @param stateClient          The client to access state data.
-     * @param manufacturerClient   The client to access manufacturer data.
-     * @param generalAsyncExecutor The executor to handle asynchronous operations.
+     * @param referenceDataCache The cached access to state, dealer and manufacturer data.
+     * @param executorTopology   The executors the stages of the aggregation are assigned to.
+     * @param meterRegistry      The registry the pruning statistics are published to.
      */
 
-    public CarAsyncService(final DealerClient dealerClient,
-                           final StateClient stateClient,
-                           final ManufacturerClient manufacturerClient,
-                           @Qualifier("generalAsyncExecutor") final Executor generalAsyncExecutor,
-                           @Qualifier("loopAsyncExecutor_0") final Executor loopAsyncExecutor0,
-                           @Qualifier("loopAsyncExecutor_1") final Executor loopAsyncExecutor1) {
-        this.dealerClient = dealerClient;
-        this.stateClient = stateClient;
-        this.manufacturerClient = manufacturerClient;
-        this.generalAsyncExecutor = generalAsyncExecutor;
-        this.loopAsyncExecutor0 = loopAsyncExecutor0;
-        this.loopAsyncExecutor1 = loopAsyncExecutor1;
+    public CarAsyncService(final ReferenceDataCache referenceDataCache,
+                           final ExecutorTopology executorTopology,
+                           final MeterRegistry meterRegistry) {
+        this.referenceDataCache = referenceDataCache;
+        val stages = executorTopology.stages();
+        this.stateFetchExecutor = executorTopology.stageExecutor(stages.stateFetch());
+        this.dealerFanOutExecutor = executorTopology.stageExecutor(stages.dealerFanOut());
+        this.carCollectExecutor = executorTopology.stageExecutor(stages.carCollect());
+        this.discountExecutor = executorTopology.stageExecutor(stages.discount());
+        this.resultAssemblyExecutor = executorTopology.stageExecutor(stages.resultAssembly());
+        this.discountCallsCounter = Counter.builder("cars.aggregation.discount.calls")
+                .description("Discount lookups (downstream call 4) issued by the aggregation")
+                .register(meterRegistry);
+        this.prunedDiscountCallsCounter = Counter.builder("cars.aggregation.discount.pruned")
+                .description("Discount lookups (downstream call 4) skipped because the car could not enter the top-N")
+                .register(meterRegistry);
     }
 
     /**
-     * Retrieves the cheapest cars in a given state based on the specified criteria.
+     * Retrieves the cheapest cars in a given state without blocking the caller.
+     * While the aggregation progresses, provisional top-N snapshots are handed to {@code onSnapshot},
+     * at most one per {@code snapshotInterval} and only when the top-N has changed.
      *
-     * @param stateCode   The code of the state to get the cars from.
-     * @param carType     The type of the car (optional).
-     * @param carFullType The full type of the car (optional).
-     * @param maxCars     The maximum number of cars to retrieve.
-     * @return List of CarModel objects representing the cheapest cars in the given state.
+     * @param stateCode        The code of the state to get the cars from.
+     * @param carType          The type of the car (optional).
+     * @param carFullType      The full type of the car (optional).
+     * @param maxCars          The maximum number of cars to retrieve.
+     * @param snapshotInterval The minimum time between two provisional snapshots.
+     * @param onSnapshot       The consumer of the provisional snapshots, called from the executor threads (optional).
+     * @return CompletableFuture of the final list of the cheapest cars in the given state, completed with a
+     * {@link DeadlineExceededException} if the deadline of the current request passed and partial results are not allowed.
      */
-    public List<CarModel> getCheapestCarsInState(final String stateCode,
-                                                 final CarTypeEnum carType,
-                                                 final CarFullTypeEnum carFullType,
-                                                 final int maxCars) {
+    public CompletableFuture<List<CarModel>> getCheapestCarsInStateAsync(final String stateCode,
+                                                                         final CarTypeEnum carType,
+                                                                         final CarFullTypeEnum carFullType,
+                                                                         final int maxCars,
+                                                                         final Duration snapshotInterval,
+                                                                         @Nullable final Consumer<List<CarModel>> onSnapshot) {
         log.info("Getting 3 cheapest cars in State: {} CarType: {}, CarFullType: {}", stateCode, carType, carFullType);
 
-        // DATA collecting stage
-        val carModels = new HashMap<String, CarModel>();
-        val stateInfo = this.stateClient.getStateInformation(stateCode).join(); // Downstream call 0
-        val collectedFeatures = this.stateClient.getDealersByState(stateCode)  // Downstream call 1
-                .thenApplyAsync(dealers -> dealers.stream()
-                        .map(
-                                dealer -> {
-                                    val dealerInfo = this.dealerClient.getDealerInfo(dealer.id()) // Downstream call 2
-                                            .thenApplyAsync(dealerModel -> {
-                                                        val manufacturerCollectedFeatures = dealerModel.cars().stream()
-                                                                .filter(car -> ObjectUtils.isEmpty(carType) || (carType == car.type()))
-                                                                .filter(car -> ObjectUtils.isEmpty(carFullType) || (carFullType == car.fullType()))
-                                                                .map(car -> this.collectInformation(dealerModel, stateInfo, car)
-                                                                ).toList();
-                                                        return manufacturerCollectedFeatures.stream().map(CompletableFuture::join)
-                                                                .toList();
-                                                    }
-                                                    , this.loopAsyncExecutor0);
-                                    return dealerInfo.join().stream().toList();
-                                })
-                        .toList(),
-                        this.loopAsyncExecutor1);
-
-        collectedFeatures.join().stream()
-                .flatMap(Collection::stream)
-                .forEach(collectedInfo -> {
-                    val carModel = CarModel.builder()
-                            .id(collectedInfo.carModel().id())
-                            .model(collectedInfo.carModel().model())
-                            .year(collectedInfo.carModel().year())
-                            .dealerId(collectedInfo.dealer().id())
-                            .dealer(collectedInfo.dealer().name())
-                            .price(collectedInfo.dealer().getPriceWithOverhead(
-                                    collectedInfo.manufacturerPrice() - ((collectedInfo.manufacturerPrice() * collectedInfo.stateDiscountPercent()) / 100)
-                            ))
-                            .manufacturer(collectedInfo.carModel().manufacturer())
-                            .manufacturerId(collectedInfo.carModel().manufacturerId())
-                            .fullType(collectedInfo.carModel().fullType())
-                            .type(collectedInfo.carModel().type())
-                            .build();
-                    carModels.put(generateCarId(stateCode, carModel.dealerId(), carModel.id()), carModel);
+        // DATA collecting stage, every car is absorbed by the bounded top-N collector as soon as it is priced
+        val collector = new CheapestCarsCollector(maxCars);
+        val filter = new CarFilter(carType, carFullType);
+        val snapshotThrottle = new SnapshotThrottle(snapshotInterval);
+        val aggregation = this.collectCars(stateCode, filter::matches, car -> collector,
+                        carModel -> {
+                            if (collector.offer(carModel) && (onSnapshot != null) && snapshotThrottle.tryAcquire()) {
+                                onSnapshot.accept(collector.snapshot());
+                            }
+                        })
+                // DATA manipulation stage is already done by the collector
+                .thenApplyAsync(voidResult -> collector.snapshot(), this.resultAssemblyExecutor);
+        return withDeadline(aggregation, collector::snapshot, stateCode);
+    }
+
+    /**
+     * Retrieves the cheapest cars in a given state for every combination of car type and full type (see {@link CarFilter#all()})
+     * in a single fan-out, every car is priced once and offered to the top-N of each filter it passes.
+     *
+     * @param stateCode The code of the state to get the cars from.
+     * @param maxCars   The maximum number of cars per filter.
+     * @return CompletableFuture of the cheapest cars by filter, completed with a {@link DeadlineExceededException}
+     * if the deadline of the current request passed.
+     */
+    public CompletableFuture<Map<CarFilter, List<CarModel>>> getCheapestCarsByFilterAsync(final String stateCode,
+                                                                                         final int maxCars) {
+        log.info("Getting {} cheapest cars per filter in State: {}", maxCars, stateCode);
+
+        final Map<CarFilter, CheapestCarsCollector> collectors = new HashMap<>();
+        CarFilter.all().forEach(filter -> collectors.put(filter, new CheapestCarsCollector(maxCars)));
+        // a car missing the top-N of its most specific filter misses the others as well, it is pruned on that one
+        val aggregation = this.collectCars(stateCode, car -> true,
+                        car -> collectors.get(new CarFilter(car.type(), car.fullType())),
+                        carModel -> CarFilter.of(carModel.type(), carModel.fullType())
+                                .forEach(filter -> collectors.get(filter).offer(carModel)))
+                .thenApplyAsync(voidResult -> snapshots(collectors), this.resultAssemblyExecutor);
+        return withDeadline(aggregation, () -> snapshots(collectors), stateCode);
+    }
+
+    /**
+     * Retrieves the cheapest cars of several states at once, the fetches are planned across the states: every dealer
+     * inventory and every car price is fetched once, however many of the states the dealer serves.
+     * Only the state information, the dealers of a state and the discounts remain per state.
+     *
+     * @param stateCodes The codes of the states to get the cars from.
+     * @param filter     The type and full type of the cars.
+     * @param maxCars    The maximum number of cars per state.
+     * @return CompletableFuture of the cheapest cars by state code, in the order of {@code stateCodes}, completed with a
+     * {@link DeadlineExceededException} if the deadline of the current request passed and partial results are not allowed.
+     */
+    public CompletableFuture<Map<String, List<CarModel>>> getCheapestCarsInStatesAsync(final List<String> stateCodes,
+                                                                                      final CarFilter filter,
+                                                                                      final int maxCars) {
+        log.info("Getting {} cheapest cars in States: {} CarType: {}, CarFullType: {}", maxCars, stateCodes, filter.carType(), filter.carFullType());
+
+        final Map<String, CheapestCarsCollector> collectors = new LinkedHashMap<>();
+        stateCodes.forEach(stateCode -> collectors.put(stateCode, new CheapestCarsCollector(maxCars)));
+        val statistics = new PruningStatistics();
+        final Map<Integer, CompletableFuture<Integer>> prices = new ConcurrentHashMap<>();
+        final Map<String, CompletableFuture<DealersOfState>> states = new LinkedHashMap<>();
+        collectors.keySet().forEach(stateCode -> states.put(stateCode, this.referenceDataCache.getDealersByState(stateCode) // Downstream call 1
+                .thenCombineAsync(this.referenceDataCache.getStateInformation(stateCode), // Downstream call 0
+                        DealersOfState::new, this.stateFetchExecutor)));
+        val aggregation = CompletableFuture.allOf(states.values().toArray(CompletableFuture[]::new))
+                .thenComposeAsync(voidResult -> {
+                    // the plan: every dealer once, together with the requested states it serves
+                    final Map<Integer, Set<String>> stateCodesByDealer = new LinkedHashMap<>();
+                    states.forEach((stateCode, dealersOfState) -> dealersOfState.join().dealers().forEach(dealer ->
+                            stateCodesByDealer.computeIfAbsent(dealer.id(), id -> new LinkedHashSet<>()).add(stateCode)));
+                    log.info("States: {} dealer fetches planned: {}, without sharing: {}", stateCodes, stateCodesByDealer.size(),
+                            stateCodesByDealer.values().stream().mapToInt(Set::size).sum());
+                    return CompletableFuture.allOf(stateCodesByDealer.entrySet().stream()
+                            .map(dealerStates -> this.referenceDataCache.getDealerInfo(dealerStates.getKey()) // Downstream call 2
+                                    .thenComposeAsync(dealerModel -> CompletableFuture.allOf(dealerModel.cars().stream()
+                                                    .filter(filter::matches)
+                                                    .flatMap(car -> {
+                                                        // every state of the dealer shares the price of the car
+                                                        final CompletableFuture<Integer> price = prices.computeIfAbsent(car.id(),
+                                                                this.referenceDataCache::getPriceByCarId); // Downstream call 3
+                                                        return dealerStates.getValue().stream()
+                                                                .map(stateCode -> this.collectInformation(dealerModel,
+                                                                                states.get(stateCode).join().state(), car, price,
+                                                                                collectors.get(stateCode), statistics)
+                                                                        .thenAccept(collectedInfo -> collectedInfo
+                                                                                .map(CarAsyncService::toCarModel)
+                                                                                .ifPresent(collectors.get(stateCode)::offer)));
+                                                    })
+                                                    .toArray(CompletableFuture[]::new)),
+                                            this.carCollectExecutor))
+                            .toArray(CompletableFuture[]::new));
+                }, this.dealerFanOutExecutor)
+                .whenComplete((voidResult, error) -> {
+                    log.info("States: {} price fetches: {}, discount lookups issued: {}, pruned: {}", stateCodes, prices.size(),
+                            statistics.issued.sum(), statistics.pruned.sum());
+                    this.discountCallsCounter.increment(statistics.issued.sum());
+                    this.prunedDiscountCallsCounter.increment(statistics.pruned.sum());
+                })
+                .thenApplyAsync(voidResult -> snapshotsByState(collectors), this.resultAssemblyExecutor);
+        return withDeadline(aggregation, () -> snapshotsByState(collectors), String.join(",", stateCodes));
+    }
+
+    private static Map<String, List<CarModel>> snapshotsByState(final Map<String, CheapestCarsCollector> collectors) {
+        final Map<String, List<CarModel>> snapshots = new LinkedHashMap<>();
+        collectors.forEach((stateCode, collector) -> snapshots.put(stateCode, collector.snapshot()));
+        return snapshots;
+    }
+
+    /**
+     * Fans out to the dealers of the state and prices every car passing the filter, each priced car is handed to {@code onPriced}.
+     *
+     * @param collectorOf the top-N the discount lookup of a car is pruned on
+     */
+    private CompletableFuture<Void> collectCars(final String stateCode,
+                                                final Predicate<DealerCarModel> filter,
+                                                final Function<DealerCarModel, CheapestCarsCollector> collectorOf,
+                                                final Consumer<CarModel> onPriced) {
+        val statistics = new PruningStatistics();
+        val stateInfoFeature = this.referenceDataCache.getStateInformation(stateCode); // Downstream call 0
+        return this.referenceDataCache.getDealersByState(stateCode)  // Downstream call 1
+                .thenCombineAsync(stateInfoFeature, DealersOfState::new, this.stateFetchExecutor)
+                .thenComposeAsync(dealersOfState -> CompletableFuture.allOf(dealersOfState.dealers().stream()
+                                .map(dealer -> this.referenceDataCache.getDealerInfo(dealer.id()) // Downstream call 2
+                                        .thenComposeAsync(dealerModel -> CompletableFuture.allOf(dealerModel.cars().stream()
+                                                        .filter(filter)
+                                                        .map(car -> this.collectInformation(dealerModel, dealersOfState.state(), car,
+                                                                        this.referenceDataCache.getPriceByCarId(car.id()), // Downstream call 3
+                                                                        collectorOf.apply(car), statistics)
+                                                                .thenAccept(collectedInfo -> collectedInfo
+                                                                        .map(CarAsyncService::toCarModel)
+                                                                        .ifPresent(onPriced)))
+                                                        .toArray(CompletableFuture[]::new)),
+                                                this.carCollectExecutor))
+                                .toArray(CompletableFuture[]::new)),
+                        this.dealerFanOutExecutor)
+                .whenComplete((voidResult, error) -> {
+                    log.info("State: {} discount lookups issued: {}, pruned: {}", stateCode, statistics.issued.sum(), statistics.pruned.sum());
+                    this.discountCallsCounter.increment(statistics.issued.sum());
+                    this.prunedDiscountCallsCounter.increment(statistics.pruned.sum());
                 });
+    }
 
-        // DATA manipulation stage, in our case sorting and limiting
-        return carModels.values()
-                .stream()
-                .sorted(Comparator.comparingInt(CarModel::price))
-                .limit(maxCars)
-                .toList();
+    private static Map<CarFilter, List<CarModel>> snapshots(final Map<CarFilter, CheapestCarsCollector> collectors) {
+        final Map<CarFilter, List<CarModel>> snapshots = new HashMap<>();
+        collectors.forEach((filter, collector) -> snapshots.put(filter, collector.snapshot()));
+        return snapshots;
     }
 
-    private static String generateCarId(final String stateCode,
-                                        final int dealerId,
-                                        final int carId) {
-        return String.format("%s-D%d-C%d", stateCode, dealerId, carId);
+    /**
+     * Bounds the aggregation by the deadline of the current {@link RequestContext}, if there is one.
+     * On cancellation the caller gets the cars collected so far when partial results are allowed,
+     * a {@link DeadlineExceededException} otherwise. Outstanding downstream calls are aborted by the context itself.
+     *
+     * @param aggregation   The aggregation to bound.
+     * @param partialResult The cars collected so far.
+     * @param stateCode     The code of the state, or states, the cars are collected from.
+     * @param <T>           The type of the result.
+     * @return CompletableFuture of the result, the aggregation itself outside of a request.
+     */
+    public static <T> CompletableFuture<T> withDeadline(final CompletableFuture<T> aggregation,
+                                                        final Supplier<T> partialResult,
+                                                        final String stateCode) {
+        val requestContext = RequestContext.current();
+        if (requestContext == null) {
+            return aggregation;
+        }
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        aggregation.whenComplete((cars, error) -> {
+            if (error == null) {
+                result.complete(cars);
+            } else {
+                result.completeExceptionally(error);
+            }
+        });
+        requestContext.onCancel(() -> {
+            if (requestContext.isPartialResultsAllowed()) {
+                log.info("State: {} deadline reached, returning partial result", stateCode);
+                result.complete(partialResult.get());
+            } else {
+                result.completeExceptionally(new DeadlineExceededException("Cheapest cars of state " + stateCode + " could not be collected in time"));
+            }
+        });
+        return result;
     }
 
-    private CompletableFuture<CollectedData> collectInformation(final DealerModel dealerModel,
-                                                                final StateModel stateModel,
-                                                                final DealerCarModel carModel) {
-        val priceFeature = this.manufacturerClient.getPriceByCarId(carModel.id()); // Downstream call 3
+    private static CarModel toCarModel(final CollectedData collectedInfo) {
+        return CarModel.builder()
+                .id(collectedInfo.carModel().id())
+                .model(collectedInfo.carModel().model())
+                .year(collectedInfo.carModel().year())
+                .dealerId(collectedInfo.dealer().id())
+                .dealer(collectedInfo.dealer().name())
+                .price(collectedInfo.dealer().getPriceWithOverhead(
+                        collectedInfo.manufacturerPrice() - ((collectedInfo.manufacturerPrice() * collectedInfo.stateDiscountPercent()) / 100)
+                ))
+                .manufacturer(collectedInfo.carModel().manufacturer())
+                .manufacturerId(collectedInfo.carModel().manufacturerId())
+                .fullType(collectedInfo.carModel().fullType())
+                .type(collectedInfo.carModel().type())
+                .build();
+    }
 
-        val discountFeature = priceFeature.thenComposeAsync(price -> {
-            if ((price > stateModel.priceLimit()) &&
-                    stateModel.discounts().stream()
-                            .anyMatch(discount -> discount.fullType() == carModel.fullType())) {
-                return this.stateClient.getDiscountByType(stateModel.code(), carModel.fullType());  // Downstream call 4
+    /**
+     * Collects price and discount of a car.
+     * When even the largest discount the state offers for the car's full type can not bring it below the current
+     * Nth-best price, the discount lookup is skipped and the car is dropped (an empty Optional is returned).
+     */
+    private CompletableFuture<Optional<CollectedData>> collectInformation(final DealerModel dealerModel,
+                                                                          final StateModel stateModel,
+                                                                          final DealerCarModel carModel,
+                                                                          final CompletableFuture<Integer> priceFeature,
+                                                                          final CheapestCarsCollector collector,
+                                                                          final PruningStatistics statistics) {
+        // Direct by default on purpose: on a cache hit the futures are already completed and hopping executors costs more than the work
+        return priceFeature.thenComposeAsync(price -> {
+            val largestDiscount = stateModel.discounts().stream()
+                    .filter(discount -> discount.fullType() == carModel.fullType())
+                    .mapToInt(DiscountModel::percent)
+                    .max();
+            if ((price > stateModel.priceLimit()) && largestDiscount.isPresent()) {
+                // an unknown (zero) percent is treated as a full discount, so it never prunes
+                val bestCaseDiscount = largestDiscount.getAsInt() > 0 ? largestDiscount.getAsInt() : 100;
+                if (!collector.canAccept(dealerModel.getPriceWithOverhead(price - ((price * bestCaseDiscount) / 100)))) {
+                    statistics.pruned.increment();
+                    return CompletableFuture.completedFuture(Optional.<CollectedData>empty());
+                }
+                statistics.issued.increment();
+                return this.referenceDataCache.getDiscountByType(stateModel.code(), carModel.fullType())  // Downstream call 4
+                        .thenApply(discount -> Optional.of(collectedData(dealerModel, carModel, price, discount)));
             }
-            return CompletableFuture.completedFuture(0);
-        }, this.generalAsyncExecutor);
-        return CompletableFuture.allOf(priceFeature, discountFeature)
-                .thenApplyAsync(voidResult ->
-                        CollectedData.builder()
-                                .dealer(dealerModel)
-                                .carModel(carModel)
-                                .manufacturerPrice(priceFeature.join())
-                                .stateDiscountPercent(discountFeature.join())
-                                .build(),
-                        this.generalAsyncExecutor
-                );
+            return CompletableFuture.completedFuture(Optional.of(collectedData(dealerModel, carModel, price, 0)));
+        }, this.discountExecutor);
+    }
+
+    private static CollectedData collectedData(final DealerModel dealerModel,
+                                               final DealerCarModel carModel,
+                                               final Integer manufacturerPrice,
+                                               final Integer stateDiscountPercent) {
+        return CollectedData.builder()
+                .dealer(dealerModel)
+                .carModel(carModel)
+                .manufacturerPrice(manufacturerPrice)
+                .stateDiscountPercent(stateDiscountPercent)
+                .build();
     }
 
 
@@ -161,4 +349,32 @@ public class CarAsyncService {
                                  Integer stateDiscountPercent) {
     }
 
+    private record DealersOfState(List<IdNameModel> dealers,
+                                  StateModel state) {
+    }
+
+    private static final class PruningStatistics {
+        private final LongAdder issued = new LongAdder();
+        private final LongAdder pruned = new LongAdder();
+    }
+
+    /**
+     * Lets at most one provisional snapshot through per interval.
+     */
+    private static final class SnapshotThrottle {
+        private final long intervalNanos;
+        private final AtomicLong lastNanos;
+
+        private SnapshotThrottle(final Duration interval) {
+            this.intervalNanos = interval.toNanos();
+            this.lastNanos = new AtomicLong(System.nanoTime() - this.intervalNanos);
+        }
+
+        private boolean tryAcquire() {
+            final long now = System.nanoTime();
+            final long last = this.lastNanos.get();
+            return (now - last >= this.intervalNanos) && this.lastNanos.compareAndSet(last, now);
+        }
+    }
+
 }
@@ -0,0 +1,87 @@
+package com.epam.community.middlesvc.services;
+
+import com.epam.community.middlesvc.models.CarModel;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Thread safe, bounded top-N collector keeping the cheapest cars seen so far.
+ * <p>
+ * Backed by a max-heap of at most {@code capacity} cars, the most expensive of them on top,
+ * so every offer costs O(log capacity) and memory does not depend on how many cars the dealers have.
+ * Results are absorbed one by one as the downstream futures complete instead of being collected and sorted at the end.
+ */
+public final class CheapestCarsCollector {
+
+    private static final Comparator<CarModel> BY_PRICE = Comparator.comparingInt(CarModel::price);
+
+    private final int capacity;
+    private final PriorityQueue<CarModel> heap;
+    private final Set<Long> keys = new HashSet<>();
+
+    /**
+     * Constructor for the CheapestCarsCollector class.
+     *
+     * @param capacity The maximum number of cars to keep.
+     */
+    public CheapestCarsCollector(final int capacity) {
+        this.capacity = capacity;
+        this.heap = new PriorityQueue<>(Math.max(1, capacity), BY_PRICE.reversed());
+    }
+
+    /**
+     * Offers a car to the collector.
+     * The same car of the same dealer is only taken once.
+     *
+     * @param car The car with its final price.
+     * @return true if the car is now part of the top-N.
+     */
+    public synchronized boolean offer(final CarModel car) {
+        final long key = key(car);
+        if (this.capacity == 0 || this.keys.contains(key)) {
+            return false;
+        }
+        if (this.heap.size() == this.capacity) {
+            final CarModel mostExpensive = this.heap.peek();
+            if (car.price() >= mostExpensive.price()) {
+                return false;
+            }
+            this.heap.poll();
+            this.keys.remove(key(mostExpensive));
+        }
+        this.heap.add(car);
+        this.keys.add(key);
+        return true;
+    }
+
+    /**
+     * Checks whether a car with the given best-case price could still enter the top-N.
+     *
+     * @param bestCasePrice The lowest price the car could end up with.
+     * @return false if the car can not beat the current Nth-best car.
+     */
+    public synchronized boolean canAccept(final int bestCasePrice) {
+        return this.capacity > 0
+                && (this.heap.size() < this.capacity || bestCasePrice < this.heap.peek().price());
+    }
+
+    /**
+     * Returns the current top-N cars ordered by price, cheapest first.
+     *
+     * @return an immutable snapshot of the collected cars.
+     */
+    public synchronized List<CarModel> snapshot() {
+        final List<CarModel> cars = new ArrayList<>(this.heap);
+        cars.sort(BY_PRICE);
+        return List.copyOf(cars);
+    }
+
+    private static long key(final CarModel car) {
+        return ((long) car.dealerId() << 32) | (car.id() & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,439 @@
+package com.epam.community.middlesvc.services;
+
+import com.epam.community.middlesvc.caching.ReferenceDataCache;
+import com.epam.community.middlesvc.clients.DealerClient;
+import com.epam.community.middlesvc.clients.StateClient;
+import com.epam.community.middlesvc.configs.NationalQueryProperties;
+import com.epam.community.middlesvc.context.DeadlineExceededException;
+import com.epam.community.middlesvc.context.RequestContext;
+import com.epam.community.middlesvc.models.*;
+import com.epam.community.middlesvc.threading.ExecutorTopology;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service class for the cheapest cars across all states.
+ * <p>
+ * Every dealer is fetched once, however many states it serves, and each of its cars is priced once. The price limits
+ * and discounts of the states of a dealer are gathered into primitive arrays, so the prices of a car in all of them are
+ * computed in a plain integer loop instead of a lookup per state. Each state keeps its own bounded top-N
+ * (see {@link CheapestCarsCollector}), at the end they are merged into the nationwide top-N with every car listed once,
+ * at the state it is cheapest in.
+ * <p>
+ * The dealers are worked off by a fixed number of lanes, each fetching and pricing the inventory of one dealer a page
+ * at a time (see {@link NationalQueryProperties}). That bounds both the downstream calls in flight and the cars a query
+ * holds, the lanes times the page size. Only the table of the dealers and the states they serve grows with the
+ * catalog, by a few integers per dealer. The pages bypass the reference data cache, which would keep whole inventories.
+ */
+@Service
+@Slf4j
+public class NationalCarsService {
+
+    private static final CarFullTypeEnum[] FULL_TYPES = CarFullTypeEnum.values();
+
+    private final ReferenceDataCache referenceDataCache;
+    private final StateClient stateClient;
+    private final DealerClient dealerClient;
+    private final NationalQueryProperties properties;
+    private final Executor stateFetchExecutor;
+    private final Executor dealerFanOutExecutor;
+    private final Executor carCollectExecutor;
+
+    /**
+     * Constructor for the NationalCarsService class.
+     *
+     * @param referenceDataCache The cached access to state, dealer and manufacturer data.
+     * @param stateClient        The client listing the states.
+     * @param dealerClient       The client fetching the inventories of the dealers a page at a time.
+     * @param properties         The limits of the query.
+     * @param executorTopology   The executors the stages of the query are assigned to.
+     */
+    public NationalCarsService(final ReferenceDataCache referenceDataCache,
+                               final StateClient stateClient,
+                               final DealerClient dealerClient,
+                               final NationalQueryProperties properties,
+                               final ExecutorTopology executorTopology) {
+        this.referenceDataCache = referenceDataCache;
+        this.stateClient = stateClient;
+        this.dealerClient = dealerClient;
+        this.properties = properties;
+        val stages = executorTopology.stages();
+        this.stateFetchExecutor = executorTopology.stageExecutor(stages.stateFetch());
+        this.dealerFanOutExecutor = executorTopology.stageExecutor(stages.dealerFanOut());
+        this.carCollectExecutor = executorTopology.stageExecutor(stages.carCollect());
+    }
+
+    /**
+     * Retrieves the cheapest cars across all states, each with its price in the state it is cheapest in.
+     *
+     * @param filter  The type and full type of the cars.
+     * @param maxCars The maximum number of cars to retrieve.
+     * @return CompletableFuture of the cheapest cars ordered by price, completed with a {@link DeadlineExceededException}
+     * if the deadline of the current request passed and partial results are not allowed.
+     */
+    public CompletableFuture<List<NationalCarModel>> getCheapestCarsNationwideAsync(final CarFilter filter,
+                                                                                   final int maxCars) {
+        log.info("Getting {} cheapest cars nationwide CarType: {}, CarFullType: {}", maxCars, filter.carType(), filter.carFullType());
+
+        final AtomicReference<StateTable> table = new AtomicReference<>();
+        val requestContext = RequestContext.current();
+        val aggregation = this.stateClient.getStateCodes()
+                .thenComposeAsync(stateCodes -> this.stateTable(stateCodes, filter, maxCars), this.stateFetchExecutor)
+                .thenComposeAsync(stateTable -> {
+                    table.set(stateTable);
+                    return new Query(stateTable, filter, requestContext).run();
+                }, this.dealerFanOutExecutor)
+                .thenApply(voidResult -> merge(table.get(), maxCars));
+        return CarAsyncService.withDeadline(aggregation,
+                () -> table.get() == null ? List.of() : merge(table.get(), maxCars), "nationwide");
+    }
+
+    /**
+     * Loads the price limits, discounts and dealers of all states.
+     * Only the discounts of the full types passing the filter are looked up.
+     */
+    private CompletableFuture<StateTable> stateTable(final List<String> stateCodes,
+                                                     final CarFilter filter,
+                                                     final int maxCars) {
+        final List<CompletableFuture<DealersOfState>> states = stateCodes.stream()
+                .map(stateCode -> this.referenceDataCache.getDealersByState(stateCode) // Downstream call 1
+                        .thenCombine(this.referenceDataCache.getStateInformation(stateCode), DealersOfState::new)) // Downstream call 0
+                .toList();
+        return CompletableFuture.allOf(states.toArray(CompletableFuture[]::new))
+                .thenComposeAsync(voidResult -> {
+                    val table = new StateTable(stateCodes, maxCars);
+                    final List<CompletableFuture<Void>> discounts = new ArrayList<>();
+                    for (int state = 0; state < stateCodes.size(); state++) {
+                        final int index = state;
+                        val dealersOfState = states.get(state).join();
+                        table.priceLimits[state] = dealersOfState.state().priceLimit();
+                        dealersOfState.dealers().forEach(dealer -> table.addDealer(dealer.id(), index));
+                        dealersOfState.state().discounts().stream()
+                                .map(DiscountModel::fullType)
+                                .filter(fullType -> (filter.carFullType() == null) || (filter.carFullType() == fullType))
+                                .distinct()
+                                .forEach(fullType -> discounts.add(this.referenceDataCache
+                                        .getDiscountByType(stateCodes.get(index), fullType) // Downstream call 4
+                                        .thenAccept(percent -> table.discounts[fullType.ordinal()][index] = percent)));
+                    }
+                    log.info("Nationwide: {} states, {} dealers, {} discounts", stateCodes.size(), table.statesByDealer.size(), discounts.size());
+                    return CompletableFuture.allOf(discounts.toArray(CompletableFuture[]::new))
+                            .thenApply(discountsResult -> table);
+                }, this.stateFetchExecutor);
+    }
+
+    /**
+     * Merges the top-N of the states into the nationwide top-N, a car in the top-N of several states is taken at its
+     * lowest price only. Every car of the nationwide top-N is in the top-N of the state it is cheapest in,
+     * so merging the states' top-N loses nothing.
+     */
+    private static List<NationalCarModel> merge(final StateTable table,
+                                                final int maxCars) {
+        final List<NationalCarModel> offers = new ArrayList<>();
+        for (int state = 0; state < table.stateCodes.size(); state++) {
+            final String stateCode = table.stateCodes.get(state);
+            table.collectors[state].snapshot().forEach(car -> offers.add(new NationalCarModel(stateCode, car)));
+        }
+        offers.sort(Comparator.comparingInt(offer -> offer.car().price()));
+        final Set<Long> cars = new HashSet<>();
+        final List<NationalCarModel> cheapest = new ArrayList<>(maxCars);
+        for (final NationalCarModel offer : offers) {
+            if (cheapest.size() == maxCars) {
+                break;
+            }
+            if (cars.add(((long) offer.car().dealerId() << 32) | (offer.car().id() & 0xFFFFFFFFL))) {
+                cheapest.add(offer);
+            }
+        }
+        return List.copyOf(cheapest);
+    }
+
+    /**
+     * The dealers of a query, worked off by {@code maxDealersInFlight} lanes. A lane takes the next dealer, fetches and
+     * prices its cars a page of {@code chunkSize} at a time and moves on, so the lanes hold one page of cars each,
+     * whatever the size of the inventories.
+     */
+    private final class Query {
+        private final StateTable table;
+        private final CarFilter filter;
+        private final int pageSize;
+        private final Iterator<Map.Entry<Integer, int[]>> dealers;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final AtomicInteger lanes;
+        @Nullable
+        private final RequestContext requestContext;
+
+        private Query(final StateTable table,
+                      final CarFilter filter,
+                      @Nullable final RequestContext requestContext) {
+            this.table = table;
+            this.filter = filter;
+            this.requestContext = requestContext;
+            this.pageSize = Math.max(1, NationalCarsService.this.properties.chunkSize());
+            this.dealers = table.statesByDealer.entrySet().iterator();
+            this.lanes = new AtomicInteger(Math.max(1, NationalCarsService.this.properties.maxDealersInFlight()));
+        }
+
+        private CompletableFuture<Void> run() {
+            for (int lane = this.lanes.get(); lane > 0; lane--) {
+                this.advance(new Lane());
+            }
+            return this.done;
+        }
+
+        /**
+         * Fetches and prices the pages of the lane, pages and prices at hand are dealt with right away.
+         */
+        private void advance(final Lane lane) {
+            while (!this.isStopped()) {
+                if ((lane.states == null) && !this.takeDealer(lane)) {
+                    return;
+                }
+                final CompletableFuture<DealerModel> page = NationalCarsService.this.dealerClient
+                        .getDealerCars(lane.dealerId, lane.offset, this.pageSize); // Downstream call 2
+                if (!page.isDone()) {
+                    page.whenCompleteAsync((dealerModel, error) -> {
+                        if (error != null) {
+                            this.done.completeExceptionally(error);
+                        } else if (this.price(lane, dealerModel)) {
+                            this.advance(lane);
+                        }
+                    }, NationalCarsService.this.carCollectExecutor);
+                    return;
+                }
+                if (page.isCompletedExceptionally()) {
+                    page.whenComplete((dealerModel, error) -> this.done.completeExceptionally(error));
+                    return;
+                }
+                if (!this.price(lane, page.join())) {
+                    return;
+                }
+            }
+            // a failed lane has completed the query already, a cancelled request gets its result from the deadline
+            this.finishLane();
+        }
+
+        private boolean takeDealer(final Lane lane) {
+            final Map.Entry<Integer, int[]> dealer;
+            synchronized (this.dealers) {
+                dealer = this.dealers.hasNext() ? this.dealers.next() : null;
+            }
+            if (dealer == null) {
+                this.finishLane();
+                return false;
+            }
+            lane.start(dealer.getKey(), dealer.getValue());
+            return true;
+        }
+
+        /**
+         * Prices a page of the dealer of the lane, right away if the prices are at hand.
+         *
+         * @return true if the page is priced, false if the lane goes on once the prices arrive or the query failed
+         */
+        private boolean price(final Lane lane,
+                              final DealerModel page) {
+            if (lane.pricing == null) {
+                lane.pricing = new DealerPricing(page, lane.states, this.table);
+            }
+            final List<DealerCarModel> cars = page.cars().stream().filter(this.filter::matches).toList();
+            final List<CompletableFuture<Integer>> prices = cars.stream()
+                    .map(car -> NationalCarsService.this.referenceDataCache.getPriceByCarId(car.id())) // Downstream call 3
+                    .toList();
+            final CompletableFuture<Void> chunk = CompletableFuture.allOf(prices.toArray(CompletableFuture[]::new));
+            if (!chunk.isDone()) {
+                chunk.whenCompleteAsync((voidResult, error) -> {
+                    if (error != null) {
+                        this.done.completeExceptionally(error);
+                    } else {
+                        lane.pricing.price(cars, prices);
+                        lane.next(page.cars().size(), this.pageSize);
+                        this.advance(lane);
+                    }
+                }, NationalCarsService.this.carCollectExecutor);
+                return false;
+            }
+            if (chunk.isCompletedExceptionally()) {
+                chunk.whenComplete((voidResult, error) -> this.done.completeExceptionally(error));
+                return false;
+            }
+            lane.pricing.price(cars, prices);
+            lane.next(page.cars().size(), this.pageSize);
+            return true;
+        }
+
+        private void finishLane() {
+            if (this.lanes.decrementAndGet() == 0) {
+                this.done.complete(null);
+            }
+        }
+
+        private boolean isStopped() {
+            return this.done.isDone() || ((this.requestContext != null) && this.requestContext.isCancelled());
+        }
+    }
+
+    /**
+     * The dealer a lane works on and the position in its inventory, handed on from one stage of the lane to the next.
+     */
+    private static final class Lane {
+        private int dealerId;
+        @Nullable
+        private int[] states;
+        @Nullable
+        private DealerPricing pricing;
+        private int offset;
+
+        private void start(final int dealerId,
+                           final int[] states) {
+            this.dealerId = dealerId;
+            this.states = states;
+            this.pricing = null;
+            this.offset = 0;
+        }
+
+        /**
+         * Moves on to the next page of the dealer, or to the next dealer after a page shorter than the page size.
+         */
+        private void next(final int pageCars,
+                          final int pageSize) {
+            if (pageCars < pageSize) {
+                this.states = null;
+                this.pricing = null;
+            } else {
+                this.offset += pageSize;
+            }
+        }
+    }
+
+    /**
+     * A dealer with the price limits and discounts of the states it serves gathered into contiguous arrays,
+     * so that pricing a car in all of them is a single loop over primitives. It keeps none of the cars of the dealer.
+     */
+    private static final class DealerPricing {
+        private final int dealerId;
+        private final String dealerName;
+        private final int overhead;
+        private final CheapestCarsCollector[] collectors;
+        private final int[] priceLimits;
+        private final int[][] discounts;
+        private final int[] statePrices;
+
+        private DealerPricing(final DealerModel dealer,
+                              final int[] states,
+                              final StateTable table) {
+            this.dealerId = dealer.id();
+            this.dealerName = dealer.name();
+            this.overhead = dealer.overhead();
+            this.collectors = new CheapestCarsCollector[states.length];
+            this.priceLimits = new int[states.length];
+            this.discounts = new int[FULL_TYPES.length][states.length];
+            this.statePrices = new int[states.length];
+            for (int index = 0; index < states.length; index++) {
+                this.collectors[index] = table.collectors[states[index]];
+                this.priceLimits[index] = table.priceLimits[states[index]];
+                for (int fullType = 0; fullType < FULL_TYPES.length; fullType++) {
+                    this.discounts[fullType][index] = table.discounts[fullType][states[index]];
+                }
+            }
+        }
+
+        /**
+         * Prices a page of cars in every state of the dealer and offers them to the top-N of the states.
+         * The pages of a dealer are priced one after the other, never concurrently.
+         */
+        private void price(final List<DealerCarModel> cars,
+                           final List<CompletableFuture<Integer>> prices) {
+            for (int car = 0; car < cars.size(); car++) {
+                final DealerCarModel carModel = cars.get(car);
+                final int price = prices.get(car).join();
+                final int[] discounts = this.discounts[carModel.fullType().ordinal()];
+                // same arithmetic as the per-state aggregation: the discount applies above the price limit only,
+                // the overhead of the dealer on top (see DealerModel#getPriceWithOverhead)
+                for (int state = 0; state < this.statePrices.length; state++) {
+                    final int discount = price > this.priceLimits[state] ? discounts[state] : 0;
+                    final int discounted = price - ((price * discount) / 100);
+                    this.statePrices[state] = discounted + ((discounted * this.overhead) / 100);
+                }
+                for (int state = 0; state < this.statePrices.length; state++) {
+                    if (this.collectors[state].canAccept(this.statePrices[state])) {
+                        this.collectors[state].offer(this.carModel(carModel, this.statePrices[state]));
+                    }
+                }
+            }
+        }
+
+        private CarModel carModel(final DealerCarModel carModel,
+                                  final int price) {
+            return CarModel.builder()
+                    .id(carModel.id())
+                    .model(carModel.model())
+                    .year(carModel.year())
+                    .dealerId(this.dealerId)
+                    .dealer(this.dealerName)
+                    .price(price)
+                    .manufacturer(carModel.manufacturer())
+                    .manufacturerId(carModel.manufacturerId())
+                    .fullType(carModel.fullType())
+                    .type(carModel.type())
+                    .build();
+        }
+    }
+
+    /**
+     * Price limits, discounts by full type and top-N of all states, indexed by the position of the state,
+     * and the states every dealer serves.
+     */
+    private static final class StateTable {
+        private final List<String> stateCodes;
+        private final int[] priceLimits;
+        private final int[][] discounts;
+        private final CheapestCarsCollector[] collectors;
+        private final Map<Integer, int[]> statesByDealer = new LinkedHashMap<>();
+
+        private StateTable(final List<String> stateCodes,
+                           final int maxCars) {
+            this.stateCodes = stateCodes;
+            this.priceLimits = new int[stateCodes.size()];
+            this.discounts = new int[FULL_TYPES.length][stateCodes.size()];
+            this.collectors = new CheapestCarsCollector[stateCodes.size()];
+            for (int state = 0; state < stateCodes.size(); state++) {
+                this.collectors[state] = new CheapestCarsCollector(maxCars);
+            }
+        }
+
+        private void addDealer(final int dealerId,
+                               final int state) {
+            this.statesByDealer.merge(dealerId, new int[]{state}, (states, added) -> states[states.length - 1] == state
+                    ? states
+                    : appended(states, state));
+        }
+
+        private static int[] appended(final int[] states,
+                                      final int state) {
+            final int[] appended = Arrays.copyOf(states, states.length + 1);
+            appended[states.length] = state;
+            return appended;
+        }
+    }
+
+    private record DealersOfState(List<IdNameModel> dealers,
+                                  StateModel state) {
+    }
+}
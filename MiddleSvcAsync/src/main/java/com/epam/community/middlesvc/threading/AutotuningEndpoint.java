@@ -0,0 +1,69 @@
+package com.epam.community.middlesvc.threading;
+
+import com.epam.community.middlesvc.configs.AutotuningProperties;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint of the {@link PoolAutotuner}: {@code GET /actuator/autotuning} shows the settings and the latest
+ * decision per pool, {@code POST /actuator/autotuning} with any of {@code enabled}, {@code targetUtilization},
+ * {@code minPoolSize} and {@code maxPoolSize} changes the settings.
+ */
+@Component
+@Endpoint(id = "autotuning")
+public class AutotuningEndpoint {
+
+    private final PoolAutotuner poolAutotuner;
+
+    /**
+     * Constructor for the AutotuningEndpoint class.
+     *
+     * @param poolAutotuner The autotuner of the pools.
+     */
+    public AutotuningEndpoint(final PoolAutotuner poolAutotuner) {
+        this.poolAutotuner = poolAutotuner;
+    }
+
+    /**
+     * The settings and the latest decisions.
+     *
+     * @return The status of the autotuner.
+     */
+    @ReadOperation
+    public Status status() {
+        return new Status(this.poolAutotuner.settings(), this.poolAutotuner.decisions());
+    }
+
+    /**
+     * Changes the settings, the ones not given are kept.
+     *
+     * @param enabled           whether the pools are resized at all
+     * @param targetUtilization the share of the threads expected to be busy, in (0, 1]
+     * @param minPoolSize       the fewest threads a pool is shrunk to
+     * @param maxPoolSize       the most threads a pool is grown to
+     * @return The status of the autotuner.
+     */
+    @WriteOperation
+    public Status update(@Nullable final Boolean enabled,
+                         @Nullable final Double targetUtilization,
+                         @Nullable final Integer minPoolSize,
+                         @Nullable final Integer maxPoolSize) {
+        this.poolAutotuner.update(enabled, targetUtilization, minPoolSize, maxPoolSize);
+        return this.status();
+    }
+
+    /**
+     * Status of the autotuner.
+     *
+     * @param settings  the current settings
+     * @param decisions the latest decision by pool name
+     */
+    public record Status(AutotuningProperties settings,
+                         Map<String, PoolAutotuner.Decision> decisions) {
+    }
+}
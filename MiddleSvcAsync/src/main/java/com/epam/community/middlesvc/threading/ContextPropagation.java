@@ -0,0 +1,64 @@
+package com.epam.community.middlesvc.threading;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The one way context travels to the async pools.
+ * <p>
+ * A task captures a single {@link ContextSnapshot} of the submitting thread: the current observation, which carries the
+ * trace, and the {@code RequestContext}. The snapshot is immutable and is restored around the task. The MDC is not
+ * copied per task: restoring the observation opens its tracing scope, which puts the trace fields in the MDC of the
+ * worker, the only MDC keys this service logs with.
+ * <p>
+ * Executors must be wrapped once, a {@code TaskDecorator} propagating the context on top of it captures everything a second time.
+ */
+public final class ContextPropagation {
+
+    private static final ContextSnapshotFactory SNAPSHOTS = ContextSnapshotFactory.builder()
+            .contextRegistry(ContextRegistry.getInstance())
+            .build();
+
+    private ContextPropagation() {
+    }
+
+    /**
+     * Wraps an executor service so its tasks run in the context of the submitting thread.
+     *
+     * @param executorService The executor service to wrap.
+     * @return The context propagating executor service.
+     */
+    public static ExecutorService wrap(final ExecutorService executorService) {
+        return ContextExecutorService.wrap(executorService, SNAPSHOTS::captureAll);
+    }
+
+    /**
+     * Binds a task to the context of the current thread.
+     *
+     * @param task The task to bind.
+     * @return The task restoring the captured context while it runs.
+     */
+    public static Runnable wrap(final Runnable task) {
+        return SNAPSHOTS.captureAll().wrap(task);
+    }
+
+    /**
+     * Captures the context of the current thread.
+     *
+     * @return The immutable snapshot of the context.
+     */
+    public static ContextSnapshot capture() {
+        return SNAPSHOTS.captureAll();
+    }
+
+    /**
+     * @return The factory of the snapshots, for decorators which must capture the same context.
+     */
+    static ContextSnapshotFactory snapshotFactory() {
+        return SNAPSHOTS;
+    }
+}
@@ -1,20 +1,37 @@
 package com.epam.community.middlesvc.threading;
 
+import io.micrometer.core.instrument.Counter;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.lang.Nullable;
 
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 public class ExampleExecutor implements Executor {
 
     private final ExecutorService executorService;
+    @Nullable
+    private final Counter rejected;
 
     public ExampleExecutor(ExecutorService executorService) {
+        this(executorService, null);
+    }
+
+    public ExampleExecutor(ExecutorService executorService, @Nullable Counter rejected) {
         this.executorService = executorService;
+        this.rejected = rejected;
     }
 
     @Override
     public void execute(@NotNull final Runnable command) {
-        this.executorService.execute(command);
+        try {
+            this.executorService.execute(command);
+        } catch (RejectedExecutionException e) {
+            if (this.rejected != null) {
+                this.rejected.increment();
+            }
+            throw e;
+        }
     }
 }
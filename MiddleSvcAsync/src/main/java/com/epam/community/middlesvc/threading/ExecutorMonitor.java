@@ -0,0 +1,207 @@
+package com.epam.community.middlesvc.threading;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.core.instrument.internal.TimedExecutorService;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Instruments the async pools and keeps a live view of their saturation.
+ * <p>
+ * Every monitored pool publishes, tagged with its {@code name}:
+ * <ul>
+ *     <li>{@code executor.idle} - the time tasks waited in the queue,</li>
+ *     <li>{@code executor} - the time tasks took to execute,</li>
+ *     <li>{@code executor.active}, {@code executor.pool.size}, {@code executor.queued} and the other gauges of
+ *     {@link ExecutorServiceMetrics}, including {@code executor.steals} of a {@link ForkJoinPool},</li>
+ *     <li>{@code executor.rejected} - the tasks the pool turned away.</li>
+ * </ul>
+ * The snapshots are served by the {@code executors} actuator endpoint (see {@link ExecutorsEndpoint}).
+ */
+@Component
+@Slf4j
+public class ExecutorMonitor {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Supplier<PoolSnapshot>> pools = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for the ExecutorMonitor class.
+     *
+     * @param meterRegistry The registry the pool metrics are published to.
+     */
+    public ExecutorMonitor(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Instruments a thread pool, rejected tasks are counted before the pool's own rejection policy applies.
+     *
+     * @param name The name of the pool, used as the name tag of the metrics.
+     * @param pool The pool to instrument.
+     * @return The pool wrapped to time the queue wait and the execution of its tasks.
+     */
+    public ExecutorService monitor(final String name,
+                                   final ThreadPoolExecutor pool) {
+        final Counter rejected = this.rejectedCounter(name);
+        final RejectedExecutionHandler policy = pool.getRejectedExecutionHandler();
+        pool.setRejectedExecutionHandler((task, executor) -> {
+            rejected.increment();
+            policy.rejectedExecution(task, executor);
+        });
+        this.pools.put(name, () -> PoolSnapshot.builder()
+                .type("thread-pool")
+                .poolSize(pool.getPoolSize())
+                .corePoolSize(pool.getCorePoolSize())
+                .maxPoolSize(pool.getMaximumPoolSize())
+                .largestPoolSize(pool.getLargestPoolSize())
+                .active(pool.getActiveCount())
+                .queued(pool.getQueue().size())
+                .queueRemainingCapacity(pool.getQueue().remainingCapacity())
+                .completed(pool.getCompletedTaskCount())
+                .rejected((long) rejected.count())
+                .utilization(pool.getMaximumPoolSize() > 0 ? (double) pool.getActiveCount() / pool.getMaximumPoolSize() : 0.0)
+                .queueWait(this.timings(name, "executor.idle"))
+                .execution(this.timings(name, "executor"))
+                .build());
+        log.info("Monitoring executor {}", name);
+        return ExecutorServiceMetrics.monitor(this.meterRegistry, pool, name, Tags.empty());
+    }
+
+    /**
+     * Instruments a fork-join pool. A fork-join pool has no rejection policy to hook into,
+     * so the rejections are counted by the returned executor.
+     *
+     * @param name        The name of the pool, used as the name tag of the metrics.
+     * @param pool        The pool to instrument.
+     * @param maxPoolSize The most workers the pool is declared with, including those compensating for blocked ones;
+     *                    a fork-join pool does not expose it.
+     * @return The pool wrapped to time the queue wait and the execution of its tasks.
+     */
+    public Executor monitor(final String name,
+                            final ForkJoinPool pool,
+                            final int maxPoolSize) {
+        final Counter rejected = this.rejectedCounter(name);
+        this.pools.put(name, () -> PoolSnapshot.builder()
+                .type("fork-join")
+                .poolSize(pool.getPoolSize())
+                .corePoolSize(pool.getParallelism())
+                .maxPoolSize(maxPoolSize)
+                .largestPoolSize(pool.getPoolSize())
+                .active(pool.getActiveThreadCount())
+                .queued(pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount())
+                .queueRemainingCapacity(-1)
+                .completed(-1L)
+                .rejected((long) rejected.count())
+                .steals(pool.getStealCount())
+                .utilization(pool.getParallelism() > 0 ? (double) pool.getRunningThreadCount() / pool.getParallelism() : 0.0)
+                .queueWait(this.timings(name, "executor.idle"))
+                .execution(this.timings(name, "executor"))
+                .build());
+        log.info("Monitoring executor {}", name);
+        return new ExampleExecutor(ExecutorServiceMetrics.monitor(this.meterRegistry, pool, name, Tags.empty()), rejected);
+    }
+
+    /**
+     * Instruments another view of a monitored fork-join pool, under the metrics of the pool.
+     *
+     * @param name The name of the pool, used as the name tag of the metrics.
+     * @param view The view of the pool, see {@link MdcForkJoinPool#withoutPropagation()}.
+     * @return The view wrapped to time the queue wait and the execution of its tasks.
+     */
+    public Executor monitorView(final String name,
+                                final ExecutorService view) {
+        return new ExampleExecutor(new TimedExecutorService(this.meterRegistry, view, name, "", Tags.empty()),
+                this.rejectedCounter(name));
+    }
+
+    /**
+     * Takes a snapshot of every monitored pool.
+     *
+     * @return The snapshots by pool name.
+     */
+    public Map<String, PoolSnapshot> snapshot() {
+        final Map<String, PoolSnapshot> snapshots = new TreeMap<>();
+        this.pools.forEach((name, snapshot) -> snapshots.put(name, snapshot.get()));
+        return snapshots;
+    }
+
+    private Counter rejectedCounter(final String name) {
+        return Counter.builder("executor.rejected")
+                .description("Tasks the executor turned away")
+                .tag("name", name)
+                .register(this.meterRegistry);
+    }
+
+    private Timings timings(final String name,
+                            final String meter) {
+        final Timer timer = this.meterRegistry.find(meter).tag("name", name).timer();
+        if (timer == null) {
+            return new Timings(0L, 0.0, 0.0);
+        }
+        return new Timings(timer.count(), timer.mean(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Saturation snapshot of a pool.
+     *
+     * @param type                   {@code thread-pool} or {@code fork-join}
+     * @param poolSize               the current number of threads
+     * @param corePoolSize           the core size, the parallelism of a fork-join pool
+     * @param maxPoolSize            the maximum size, including the compensating workers of a fork-join pool
+     * @param largestPoolSize        the most threads the pool has had
+     * @param active                 the threads running a task
+     * @param queued                 the tasks waiting for a thread
+     * @param queueRemainingCapacity the tasks the queue can still take, -1 when unbounded
+     * @param completed              the tasks completed, -1 when the pool does not track them
+     * @param rejected               the tasks turned away
+     * @param steals                 the tasks stolen between the workers of a fork-join pool
+     * @param utilization            the share of the maximum threads that are busy
+     * @param queueWait              the time tasks waited in the queue
+     * @param execution              the time tasks took to execute
+     */
+    @Builder
+    public record PoolSnapshot(String type,
+                               int poolSize,
+                               int corePoolSize,
+                               int maxPoolSize,
+                               int largestPoolSize,
+                               int active,
+                               long queued,
+                               int queueRemainingCapacity,
+                               long completed,
+                               long rejected,
+                               long steals,
+                               double utilization,
+                               Timings queueWait,
+                               Timings execution) {
+    }
+
+    /**
+     * Timings of the tasks of a pool, the maximum covers the recent past only.
+     *
+     * @param count  the tasks timed
+     * @param meanMs the mean time in milliseconds
+     * @param maxMs  the maximum time in milliseconds
+     */
+    public record Timings(long count,
+                          double meanMs,
+                          double maxMs) {
+    }
+}
@@ -0,0 +1,283 @@
+package com.epam.community.middlesvc.threading;
+
+import com.epam.community.middlesvc.admission.SojournAdmissionControl;
+import com.epam.community.middlesvc.configs.ExecutionProperties;
+import com.epam.community.middlesvc.configs.FairShareProperties;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties.Pool;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties.Stages;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the executors declared in {@link ExecutorTopologyProperties} and hands them out by name.
+ * <p>
+ * Every executor propagates the context of the submitting thread (see {@link ContextPropagation}) and, except for the
+ * virtual and direct ones, is instrumented by the {@link ExecutorMonitor}. The time the tasks wait for a thread is
+ * reported to the {@link SojournAdmissionControl}, for the tasks of the stages from their submission to the fair share on,
+ * as that is where their backlog stands. In the fork-join mode
+ * (see {@link ExecutionProperties}) every name but {@value #DIRECT} resolves to the fork-join pool.
+ * The stages of the aggregation share their pools fairly between the requests, see {@link FairShareExecutor}, which
+ * captures the context of the tasks itself and is handed the pools not propagating it.
+ */
+@Component
+@Slf4j
+public class ExecutorTopology implements DisposableBean {
+
+    public static final String DIRECT = "direct";
+
+    private static final Executor DIRECT_EXECUTOR = Runnable::run;
+
+    private final ExecutorMonitor executorMonitor;
+    private final ExecutionProperties executionProperties;
+    private final FairShareProperties fairShareProperties;
+    private final MeterRegistry meterRegistry;
+    private final SojournAdmissionControl admissionControl;
+    private final Stages stages;
+    private final Duration awaitTermination;
+    private final Map<String, Executor> executors = new ConcurrentHashMap<>();
+    private final Map<String, Executor> withoutPropagation = new ConcurrentHashMap<>();
+    private final List<ExecutorService> services = new ArrayList<>();
+    private final Map<String, ThreadPoolExecutor> threadPools = new ConcurrentHashMap<>();
+    private final Map<String, ForkJoinPool> forkJoinPools = new ConcurrentHashMap<>();
+    private final Map<String, Pool> declarations = new ConcurrentHashMap<>();
+    private final Map<String, Executor> stageExecutors = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for the ExecutorTopology class, builds all declared executors.
+     *
+     * @param executorTopologyProperties The declared executors and the stage assignment.
+     * @param executionProperties        The execution mode.
+     * @param fairShareProperties        The fair sharing of the pools between the requests.
+     * @param executorMonitor            The monitor instrumenting the pools.
+     * @param meterRegistry              The registry the fair sharing metrics are published to.
+     * @param admissionControl           The admission control the queue sojourn of the tasks is reported to.
+     */
+    public ExecutorTopology(final ExecutorTopologyProperties executorTopologyProperties,
+                            final ExecutionProperties executionProperties,
+                            final FairShareProperties fairShareProperties,
+                            final ExecutorMonitor executorMonitor,
+                            final MeterRegistry meterRegistry,
+                            final SojournAdmissionControl admissionControl) {
+        this.executorMonitor = executorMonitor;
+        this.executionProperties = executionProperties;
+        this.fairShareProperties = fairShareProperties;
+        this.meterRegistry = meterRegistry;
+        this.admissionControl = admissionControl;
+        this.stages = executorTopologyProperties.stages();
+        this.awaitTermination = executorTopologyProperties.awaitTermination();
+        executorTopologyProperties.pools().forEach(this::build);
+        log.info("Executors: {}, stages: {}, mode: {}", this.executors.keySet(), this.stages, executionProperties.mode());
+    }
+
+    /**
+     * Looks a declared executor up.
+     *
+     * @param name The name of the executor.
+     * @return The executor, the fork-join pool in the fork-join mode.
+     * @throws IllegalStateException if no executor of that name is declared.
+     */
+    public Executor executor(final String name) {
+        if (DIRECT.equals(name)) {
+            return DIRECT_EXECUTOR;
+        }
+        final String resolved = this.executionProperties.isForkJoin() ? this.executionProperties.forkJoinPool() : name;
+        final Executor executor = this.executors.get(resolved);
+        if (executor == null) {
+            throw new IllegalStateException("No executor '" + resolved + "' declared under com.epam.community.executors.pools");
+        }
+        return executor;
+    }
+
+    /**
+     * Looks the executor of an aggregation stage up, shared fairly between the requests when enabled.
+     * Stages running on the same pool share its turns.
+     *
+     * @param name The name of the executor.
+     * @return The executor of the stage.
+     * @throws IllegalStateException if no executor of that name is declared.
+     */
+    public Executor stageExecutor(final String name) {
+        final Executor executor = this.executor(name);
+        if (!this.fairShareProperties.enabled() || (executor == DIRECT_EXECUTOR)) {
+            return executor;
+        }
+        final String resolved = this.executionProperties.isForkJoin() ? this.executionProperties.forkJoinPool() : name;
+        return this.stageExecutors.computeIfAbsent(resolved, pool -> new FairShareExecutor(pool, this.withoutPropagation.get(pool),
+                this.fairShareProperties.maxInFlight(), this.fairShareProperties.maxInFlightPerRequest(),
+                this.fairShareProperties.maxQueued(), this.admissionControl::record, this.meterRegistry));
+    }
+
+    /**
+     * The executor of every stage of the aggregation.
+     *
+     * @return The executor names by stage.
+     */
+    public Stages stages() {
+        return this.stages;
+    }
+
+    /**
+     * The thread pools behind the declared executors, for resizing them at runtime.
+     *
+     * @return The thread pools by executor name.
+     */
+    public Map<String, ThreadPoolExecutor> threadPools() {
+        return Collections.unmodifiableMap(this.threadPools);
+    }
+
+    /**
+     * The fork-join pools behind the declared executors, for resizing them at runtime.
+     *
+     * @return The fork-join pools by executor name.
+     */
+    public Map<String, ForkJoinPool> forkJoinPools() {
+        return Collections.unmodifiableMap(this.forkJoinPools);
+    }
+
+    /**
+     * The declarations of the executors, the bulkheads included, for keeping them within their bounds at runtime.
+     *
+     * @return The declarations by executor name.
+     */
+    public Map<String, Pool> declarations() {
+        return Collections.unmodifiableMap(this.declarations);
+    }
+
+    /**
+     * Builds and registers an executor.
+     *
+     * @param name The name of the executor.
+     * @param pool The declaration of the executor.
+     * @return The executor, propagating the context of the submitting thread.
+     */
+    public Executor build(final String name,
+                          final Pool pool) {
+        final String threadNamePrefix = pool.threadNamePrefix() != null ? pool.threadNamePrefix() : name + "-";
+        final Executor executor = switch (pool.kind()) {
+            case PLATFORM -> this.sojournTimed(this.platform(name, pool, threadNamePrefix));
+            case FORK_JOIN -> this.sojournTimed(this.forkJoin(name, pool, threadNamePrefix));
+            case VIRTUAL -> this.virtual(name);
+            case DIRECT -> DIRECT_EXECUTOR;
+        };
+        log.info("Executor {}: {}", name, pool);
+        this.declarations.put(name, pool);
+        this.executors.put(name, executor);
+        return executor;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        this.services.forEach(ExecutorService::shutdown);
+        for (final ExecutorService service : this.services) {
+            if (!service.awaitTermination(this.awaitTermination.toMillis(), TimeUnit.MILLISECONDS)) {
+                service.shutdownNow();
+            }
+        }
+    }
+
+    private Executor platform(final String name,
+                              final Pool pool,
+                              final String threadNamePrefix) {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(pool.corePoolSize(), pool.maxPoolSize(),
+                pool.keepAlive().toMillis(), TimeUnit.MILLISECONDS, queue(pool), new CustomizableThreadFactory(threadNamePrefix),
+                rejectionPolicy(pool));
+        this.services.add(executor);
+        this.threadPools.put(name, executor);
+        final ExecutorService monitored = this.executorMonitor.monitor(name, executor);
+        this.withoutPropagation.put(name, monitored);
+        return ContextPropagation.wrap(monitored);
+    }
+
+    private Executor forkJoin(final String name,
+                              final Pool pool,
+                              final String threadNamePrefix) {
+        final MdcForkJoinPool forkJoinPool = new MdcForkJoinPool(
+                pool.parallelism(),
+                forkJoin -> {
+                    final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoin);
+                    thread.setName(threadNamePrefix + thread.getPoolIndex());
+                    thread.setContextClassLoader(Thread.currentThread().getContextClassLoader());
+                    return thread;
+                },
+                null,
+                pool.asyncMode(),
+                pool.corePoolSize(),
+                pool.maxPoolSize(),
+                pool.minRunnable(),
+                // beyond maxPoolSize a blocked worker is not compensated for, instead of failing the call
+                forkJoin -> true,
+                pool.keepAlive().toMillis(),
+                TimeUnit.MILLISECONDS);
+        this.services.add(forkJoinPool);
+        this.forkJoinPools.put(name, forkJoinPool);
+        final Executor monitored = this.executorMonitor.monitor(name, forkJoinPool, pool.maxPoolSize());
+        this.withoutPropagation.put(name, this.executorMonitor.monitorView(name, forkJoinPool.withoutPropagation()));
+        // MdcForkJoinPool propagates the context itself
+        return monitored;
+    }
+
+    private Executor virtual(final String name) {
+        final ExecutorService executor;
+        try {
+            executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Executor " + name + " needs virtual threads, available from Java 21 on", e);
+        }
+        this.services.add(executor);
+        this.withoutPropagation.put(name, executor);
+        return ContextPropagation.wrap(executor);
+    }
+
+    /**
+     * Reports the time every task waits for a thread, a virtual or direct executor has no queue to wait in.
+     */
+    private Executor sojournTimed(final Executor executor) {
+        return task -> {
+            final long submitted = System.nanoTime();
+            executor.execute(() -> {
+                this.admissionControl.record(System.nanoTime() - submitted);
+                task.run();
+            });
+        };
+    }
+
+    private static BlockingQueue<Runnable> queue(final Pool pool) {
+        return switch (pool.queue()) {
+            case LINKED -> new LinkedBlockingQueue<>(pool.queueCapacity());
+            case ARRAY -> new ArrayBlockingQueue<>(pool.queueCapacity());
+            case SYNCHRONOUS -> new SynchronousQueue<>();
+        };
+    }
+
+    private static RejectedExecutionHandler rejectionPolicy(final Pool pool) {
+        return switch (pool.rejection()) {
+            case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+            case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+            case DISCARD -> new ThreadPoolExecutor.DiscardPolicy();
+            case DISCARD_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+        };
+    }
+}
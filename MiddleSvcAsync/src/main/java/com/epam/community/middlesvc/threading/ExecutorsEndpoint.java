@@ -0,0 +1,49 @@
+package com.epam.community.middlesvc.threading;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint showing the live saturation of the async pools, {@code /actuator/executors}
+ * for all of them and {@code /actuator/executors/{name}} for a single one.
+ */
+@Component
+@Endpoint(id = "executors")
+public class ExecutorsEndpoint {
+
+    private final ExecutorMonitor executorMonitor;
+
+    /**
+     * Constructor for the ExecutorsEndpoint class.
+     *
+     * @param executorMonitor The monitor of the async pools.
+     */
+    public ExecutorsEndpoint(final ExecutorMonitor executorMonitor) {
+        this.executorMonitor = executorMonitor;
+    }
+
+    /**
+     * Snapshot of every monitored pool.
+     *
+     * @return The snapshots by pool name.
+     */
+    @ReadOperation
+    public Map<String, ExecutorMonitor.PoolSnapshot> executors() {
+        return this.executorMonitor.snapshot();
+    }
+
+    /**
+     * Snapshot of a single pool.
+     *
+     * @param name The name of the pool.
+     * @return The snapshot, {@code null} (404) for an unknown pool.
+     */
+    @ReadOperation
+    public ExecutorMonitor.PoolSnapshot executor(@Selector final String name) {
+        return this.executorMonitor.snapshot().get(name);
+    }
+}
@@ -0,0 +1,202 @@
+package com.epam.community.middlesvc.threading;
+
+import com.epam.community.middlesvc.context.RequestContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Executor sharing a pool fairly between the requests submitting to it.
+ * <p>
+ * Tasks are queued per request (the root {@link RequestContext}, tasks outside of a request share one queue) and handed
+ * to the pool round-robin across the requests, at most {@code maxInFlight} at a time and at most
+ * {@code maxInFlightPerRequest} of a single request. A request fanning out to thousands of cars thereby only holds its
+ * share of the pool, while the tasks of smaller requests overtake its backlog instead of queueing behind it.
+ * At most {@code maxQueued} tasks wait for their turn across all requests, beyond that a task is rejected with a
+ * {@link RejectedExecutionException}, as a full pool queue would.
+ * <p>
+ * The context of a task is captured on submission, as the task may be handed to the pool from another request's thread.
+ * The pool handed in must therefore not capture the context again.
+ * The sojourn of a task, from its submission until it starts on a thread, is reported as a whole, the wait for its
+ * request's turn included, as the pool queue stays short while the backlog builds up here.
+ * The time tasks wait for their turn is published as {@code executor.fair.queue.wait}, the backlog as
+ * {@code executor.fair.queued}, the requests holding a share as {@code executor.fair.requests} and the rejected tasks as
+ * {@code executor.fair.rejected}, all tagged with the pool name.
+ */
+@Slf4j
+public final class FairShareExecutor implements Executor {
+
+    private static final Object NO_REQUEST = new Object();
+
+    private final String name;
+    private final Executor delegate;
+    private final int maxInFlight;
+    private final int maxInFlightPerRequest;
+    private final int maxQueued;
+    private final Timer queueWait;
+    private final Counter rejected;
+    private final LongConsumer sojourn;
+    private final Map<Object, RequestQueue> requests = new HashMap<>();
+    private final ArrayDeque<RequestQueue> turns = new ArrayDeque<>();
+    private int inFlight;
+    private int queued;
+
+    /**
+     * Constructor for the FairShareExecutor class.
+     *
+     * @param name                  The name of the pool, used as the name tag of the metrics.
+     * @param delegate              The pool running the tasks, not propagating the context itself.
+     * @param maxInFlight           The most tasks handed to the pool at a time.
+     * @param maxInFlightPerRequest The most tasks of a single request handed to the pool at a time.
+     * @param maxQueued             The most tasks waiting for their turn across all requests.
+     * @param sojourn               Receives the nanoseconds every task waited from its submission until it started.
+     * @param meterRegistry         The registry the metrics are published to.
+     */
+    public FairShareExecutor(final String name,
+                             final Executor delegate,
+                             final int maxInFlight,
+                             final int maxInFlightPerRequest,
+                             final int maxQueued,
+                             final LongConsumer sojourn,
+                             final MeterRegistry meterRegistry) {
+        this.name = name;
+        this.delegate = delegate;
+        this.maxInFlight = maxInFlight;
+        this.maxInFlightPerRequest = maxInFlightPerRequest;
+        this.maxQueued = maxQueued;
+        this.sojourn = sojourn;
+        this.queueWait = Timer.builder("executor.fair.queue.wait")
+                .description("Time tasks waited for their request's turn")
+                .tag("name", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("executor.fair.rejected")
+                .description("Tasks turned away while the maximum number of tasks waited for their turn")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("executor.fair.queued", this, executor -> executor.queued())
+                .description("Tasks waiting for their request's turn")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("executor.fair.requests", this, executor -> executor.backloggedRequests())
+                .description("Requests with tasks queued or in flight")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        final RequestContext requestContext = RequestContext.current();
+        final Object key = requestContext != null ? requestContext.root() : NO_REQUEST;
+        final QueuedTask task = new QueuedTask(ContextPropagation.wrap(command), System.nanoTime());
+        synchronized (this) {
+            if (this.queued >= this.maxQueued) {
+                this.rejected.increment();
+                throw new RejectedExecutionException("Executor " + this.name + " has " + this.queued + " tasks waiting for their turn");
+            }
+            this.requests.computeIfAbsent(key, this::newRequest).tasks.add(task);
+            this.queued++;
+        }
+        this.dispatch();
+    }
+
+    private synchronized double queued() {
+        return this.queued;
+    }
+
+    private synchronized double backloggedRequests() {
+        return this.requests.size();
+    }
+
+    /**
+     * Hands queued tasks to the pool round-robin across the requests, while the caps allow.
+     */
+    private void dispatch() {
+        while (true) {
+            final RequestQueue request;
+            final QueuedTask task;
+            synchronized (this) {
+                request = this.inFlight < this.maxInFlight ? this.nextRequest() : null;
+                if (request == null) {
+                    return;
+                }
+                task = request.tasks.poll();
+                request.inFlight++;
+                this.inFlight++;
+                this.queued--;
+            }
+            this.queueWait.record(System.nanoTime() - task.enqueuedNanos, TimeUnit.NANOSECONDS);
+            final Runnable run = () -> {
+                this.sojourn.accept(System.nanoTime() - task.enqueuedNanos);
+                try {
+                    task.runnable.run();
+                } finally {
+                    this.completed(request);
+                }
+            };
+            try {
+                this.delegate.execute(run);
+            } catch (RejectedExecutionException e) {
+                // the submitter is long gone and its future would never complete, so the task runs right here
+                log.warn("Pool rejected a queued task, running it on the dispatching thread", e);
+                run.run();
+            }
+        }
+    }
+
+    /**
+     * Picks the next request in turn which has a queued task and room for another one in flight.
+     */
+    private RequestQueue nextRequest() {
+        for (int visited = 0, size = this.turns.size(); visited < size; visited++) {
+            final RequestQueue request = this.turns.pollFirst();
+            this.turns.addLast(request);
+            if (!request.tasks.isEmpty() && (request.inFlight < this.maxInFlightPerRequest)) {
+                return request;
+            }
+        }
+        return null;
+    }
+
+    private RequestQueue newRequest(final Object key) {
+        final RequestQueue request = new RequestQueue(key);
+        this.turns.addLast(request);
+        return request;
+    }
+
+    private void completed(final RequestQueue request) {
+        synchronized (this) {
+            request.inFlight--;
+            this.inFlight--;
+            if (request.tasks.isEmpty() && (request.inFlight == 0)) {
+                this.requests.remove(request.key);
+                this.turns.remove(request);
+            }
+        }
+        this.dispatch();
+    }
+
+    private static final class RequestQueue {
+        private final Object key;
+        private final ArrayDeque<QueuedTask> tasks = new ArrayDeque<>();
+        private int inFlight;
+
+        private RequestQueue(final Object key) {
+            this.key = key;
+        }
+    }
+
+    private record QueuedTask(Runnable runnable,
+                              long enqueuedNanos) {
+    }
+}
@@ -1,20 +1,23 @@
 package com.epam.community.middlesvc.threading;
 
+import io.micrometer.context.ContextSnapshot;
 import lombok.extern.slf4j.Slf4j;
-import org.slf4j.MDC;
-import org.springframework.util.ObjectUtils;
 
 import java.lang.Thread.UncaughtExceptionHandler;
-import java.util.Map;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 
 /**
  * <a href="https://stackoverflow.com/questions/36026402/how-to-use-mdc-with-forkjoinpool">from</a>
  * A {@link ForkJoinPool} that inherits MDC contexts from the thread that queues a task.
+ * The context is carried as a single snapshot (see {@link ContextPropagation}), the trace fields of the MDC
+ * come with the observation it restores.
  *
  * @author Gili Tzabari
  */
@@ -61,27 +64,97 @@ public final class MdcForkJoinPool extends ForkJoinPool {
     @Override
     public void execute(final ForkJoinTask<?> task) {
         // See http://stackoverflow.com/a/19329668/14731
-        super.execute(wrap(task, MDC.getCopyOfContextMap()));
+        super.execute(wrap(task, ContextPropagation.capture()));
     }
 
     @Override
     public void execute(final Runnable task) {
         // See http://stackoverflow.com/a/19329668/14731
-        super.execute(wrap(task, MDC.getCopyOfContextMap()));
+        super.execute(ContextPropagation.wrap(task));
+    }
+
+    // submit and invoke do not go through execute, they wrap the task themselves
+
+    @Override
+    public <T> ForkJoinTask<T> submit(final ForkJoinTask<T> task) {
+        return super.submit(wrap(task, ContextPropagation.capture()));
+    }
+
+    @Override
+    public <T> ForkJoinTask<T> submit(final Callable<T> task) {
+        return super.submit(ContextPropagation.capture().wrap(task));
+    }
+
+    @Override
+    public <T> ForkJoinTask<T> submit(final Runnable task,
+                                      final T result) {
+        return super.submit(ContextPropagation.wrap(task), result);
+    }
+
+    @Override
+    public ForkJoinTask<?> submit(final Runnable task) {
+        return super.submit(ContextPropagation.wrap(task));
+    }
+
+    @Override
+    public <T> T invoke(final ForkJoinTask<T> task) {
+        return super.invoke(wrap(task, ContextPropagation.capture()));
+    }
+
+    /**
+     * The pool as an executor service running its tasks in the context they already carry, for executors capturing the
+     * context of their tasks themselves, see {@link FairShareExecutor}.
+     *
+     * @return The view of the pool, shut down along with it.
+     */
+    ExecutorService withoutPropagation() {
+        return new AbstractExecutorService() {
+            @Override
+            public void execute(final Runnable task) {
+                MdcForkJoinPool.super.execute(task);
+            }
+
+            @Override
+            public void shutdown() {
+                MdcForkJoinPool.this.shutdown();
+            }
+
+            @Override
+            public List<Runnable> shutdownNow() {
+                return MdcForkJoinPool.this.shutdownNow();
+            }
+
+            @Override
+            public boolean isShutdown() {
+                return MdcForkJoinPool.this.isShutdown();
+            }
+
+            @Override
+            public boolean isTerminated() {
+                return MdcForkJoinPool.this.isTerminated();
+            }
+
+            @Override
+            public boolean awaitTermination(final long timeout,
+                                            final TimeUnit unit) throws InterruptedException {
+                return MdcForkJoinPool.this.awaitTermination(timeout, unit);
+            }
+        };
     }
 
     private <T> ForkJoinTask<T> wrap(final ForkJoinTask<T> task,
-                                     final Map<String, String> newContext) {
+                                     final ContextSnapshot context) {
         return new ForkJoinTask<T>() {
             private static final long serialVersionUID = 1L;
             /**
-             * If non-null, overrides the value returned by the underlying task.
+             * If set, overrides the value returned by the underlying task.
+             * Written and read around the join of the task, which already orders the accesses.
              */
-            private final AtomicReference<T> override = new AtomicReference<>();
+            private T override;
 
             @Override
             public T getRawResult() {
-                final T result = this.override.get();
+                final T result = this.override;
                 if (result != null)
                     return result;
                 return task.getRawResult();
@@ -89,60 +162,18 @@ public final class MdcForkJoinPool extends ForkJoinPool {
 
             @Override
             protected void setRawResult(final T value) {
-                this.override.set(value);
+                this.override = value;
             }
 
             @Override
             protected boolean exec() {
                 // According to ForkJoinTask.fork() "it is a usage error to fork a task more than once unless it has completed
                 // and been reinitialized". We therefore assume that this method does not have to be thread-safe.
-                final Map<String, String> oldContext = beforeExecution(newContext);
-                try {
+                try (ContextSnapshot.Scope ignored = context.setThreadLocals()) {
                     task.invoke();
                     return true;
-                } finally {
-                    afterExecution(oldContext);
                 }
             }
         };
     }
-
-    private Runnable wrap(final Runnable task,
-                          final Map<String, String> newContext) {
-        return () -> {
-            final Map<String, String> oldContext = beforeExecution(newContext);
-            try {
-                task.run();
-            } finally {
-                afterExecution(oldContext);
-            }
-        };
-    }
-
-    /**
-     * Invoked before running a task.
-     *
-     * @param newValue the new MDC context
-     * @return the old MDC context
-     */
-    private Map<String, String> beforeExecution(final Map<String, String> newValue) {
-        final Map<String, String> previous = MDC.getCopyOfContextMap();
-        if (ObjectUtils.isEmpty(newValue))
-            MDC.clear();
-        else
-            MDC.setContextMap(newValue);
-        return previous;
-    }
-
-    /**
-     * Invoked after running a task.
-     *
-     * @param oldValue the old MDC context
-     */
-    private void afterExecution(final Map<String, String> oldValue) {
-        if (ObjectUtils.isEmpty(oldValue))
-            MDC.clear();
-        else
-            MDC.setContextMap(oldValue);
-    }
 }
@@ -0,0 +1,241 @@
+package com.epam.community.middlesvc.threading;
+
+import com.epam.community.middlesvc.configs.AutotuningProperties;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties.Pool;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Resizes the pools of the {@link ExecutorTopology} from what they are observed doing, see {@link AutotuningProperties}.
+ * <p>
+ * Per interval the arrival rate (tasks completed per second, equal to the arrivals in a steady state) and the mean time
+ * a task takes are read from the {@code executor} timer of the pool. By Little's law their product is the number of
+ * tasks in flight on average; smoothed and divided by the target utilization it is the size the pool needs.
+ * A single decision changes the size by at most {@code maxStep}, always within {@code minPoolSize} and {@code maxPoolSize}
+ * and never beyond the {@code maxPoolSize} the pool is declared with, so a bulkhead keeps the ceiling that isolates its
+ * downstream service.
+ * <p>
+ * A thread pool is resized through its core size.
+ * A fork-join pool is resized through its parallelism, which needs Java 19; on older runtimes it is only logged.
+ */
+@Component
+@Slf4j
+public class PoolAutotuner {
+
+    @Nullable
+    private static final MethodHandle SET_PARALLELISM = setParallelism();
+
+    private final ExecutorTopology executorTopology;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, PoolState> states = new ConcurrentHashMap<>();
+    private volatile AutotuningProperties settings;
+
+    /**
+     * Constructor for the PoolAutotuner class.
+     *
+     * @param executorTopology     The pools to resize.
+     * @param autotuningProperties The initial settings.
+     * @param meterRegistry        The registry the timers of the pools are read from.
+     */
+    public PoolAutotuner(final ExecutorTopology executorTopology,
+                         final AutotuningProperties autotuningProperties,
+                         final MeterRegistry meterRegistry) {
+        this.executorTopology = executorTopology;
+        this.meterRegistry = meterRegistry;
+        this.settings = autotuningProperties;
+    }
+
+    /**
+     * Resizes every pool once, does nothing while disabled.
+     */
+    @Scheduled(fixedDelayString = "${com.epam.community.autotuning.interval:10s}")
+    public void tune() {
+        final AutotuningProperties current = this.settings;
+        if (!current.enabled()) {
+            return;
+        }
+        final long now = System.nanoTime();
+        final Map<String, Pool> declarations = this.executorTopology.declarations();
+        this.executorTopology.threadPools().forEach((name, pool) ->
+                this.tune(name, pool.getCorePoolSize(), declarations.get(name).maxPoolSize(), pool::setCorePoolSize, current, now));
+        this.executorTopology.forkJoinPools().forEach((name, pool) ->
+                this.tune(name, pool.getParallelism(), declarations.get(name).maxPoolSize(), size -> resize(name, pool, size), current, now));
+    }
+
+    /**
+     * The current settings.
+     *
+     * @return The settings.
+     */
+    public AutotuningProperties settings() {
+        return this.settings;
+    }
+
+    /**
+     * Changes the settings, the ones not given are kept.
+     *
+     * @param enabled           whether the pools are resized at all
+     * @param targetUtilization the share of the threads expected to be busy
+     * @param minPoolSize       the fewest threads a pool is shrunk to
+     * @param maxPoolSize       the most threads a pool is grown to
+     * @return The new settings.
+     */
+    public AutotuningProperties update(@Nullable final Boolean enabled,
+                                       @Nullable final Double targetUtilization,
+                                       @Nullable final Integer minPoolSize,
+                                       @Nullable final Integer maxPoolSize) {
+        final AutotuningProperties current = this.settings;
+        final AutotuningProperties updated = new AutotuningProperties(
+                enabled != null ? enabled : current.enabled(),
+                current.interval(),
+                targetUtilization != null ? targetUtilization : current.targetUtilization(),
+                minPoolSize != null ? minPoolSize : current.minPoolSize(),
+                maxPoolSize != null ? maxPoolSize : current.maxPoolSize(),
+                current.maxStep(),
+                current.smoothing(),
+                current.minSamples());
+        if ((updated.targetUtilization() <= 0.0) || (updated.targetUtilization() > 1.0)
+                || (updated.minPoolSize() < 1) || (updated.maxPoolSize() < updated.minPoolSize())) {
+            throw new IllegalArgumentException("Invalid autotuning settings: " + updated);
+        }
+        this.settings = updated;
+        log.info("Autotuning settings changed to {}", updated);
+        return updated;
+    }
+
+    /**
+     * The latest decision of every pool.
+     *
+     * @return The decisions by pool name.
+     */
+    public Map<String, Decision> decisions() {
+        final Map<String, Decision> decisions = new TreeMap<>();
+        this.states.forEach((name, state) -> {
+            if (state.lastDecision != null) {
+                decisions.put(name, state.lastDecision);
+            }
+        });
+        return decisions;
+    }
+
+    private void tune(final String name,
+                      final int currentSize,
+                      final int declaredMaxSize,
+                      final IntConsumer resize,
+                      final AutotuningProperties settings,
+                      final long now) {
+        final Timer timer = this.meterRegistry.find("executor").tag("name", name).timer();
+        if (timer == null) {
+            return;
+        }
+        final long count = timer.count();
+        final double totalNanos = timer.totalTime(TimeUnit.NANOSECONDS);
+        final PoolState state = this.states.computeIfAbsent(name, key -> new PoolState(count, totalNanos, now));
+        final long tasks = count - state.count;
+        final double busyNanos = totalNanos - state.totalNanos;
+        final long elapsedNanos = now - state.nanos;
+        if ((tasks < settings.minSamples()) || (elapsedNanos <= 0L)) {
+            // too little to go by, keep accumulating
+            return;
+        }
+        state.count = count;
+        state.totalNanos = totalNanos;
+        state.nanos = now;
+
+        final double arrivalRate = tasks / (elapsedNanos / 1e9);
+        final double latencySeconds = busyNanos / tasks / 1e9;
+        final double concurrency = arrivalRate * latencySeconds;
+        state.concurrency = Double.isNaN(state.concurrency)
+                ? concurrency
+                : (settings.smoothing() * concurrency) + ((1.0 - settings.smoothing()) * state.concurrency);
+
+        final int step = Math.max(1, (int) Math.ceil(currentSize * settings.maxStep()));
+        final int wanted = (int) Math.ceil(state.concurrency / settings.targetUtilization());
+        final int maxSize = Math.min(settings.maxPoolSize(), declaredMaxSize);
+        final int target = Math.max(Math.min(settings.minPoolSize(), maxSize), Math.min(maxSize,
+                Math.max(currentSize - step, Math.min(currentSize + step, wanted))));
+        final Decision decision = new Decision(Instant.now(), arrivalRate, latencySeconds * 1e3, state.concurrency, currentSize, target);
+        state.lastDecision = decision;
+        if (target != currentSize) {
+            log.info("Autotuning {}: arrival {}/s, latency {} ms, in flight {}, size {} -> {}", name,
+                    Math.round(arrivalRate), Math.round(decision.latencyMs()), Math.round(state.concurrency), currentSize, target);
+            resize.accept(target);
+        } else {
+            log.debug("Autotuning {}: arrival {}/s, latency {} ms, in flight {}, size {} kept", name,
+                    Math.round(arrivalRate), Math.round(decision.latencyMs()), Math.round(state.concurrency), currentSize);
+        }
+    }
+
+    private static void resize(final String name,
+                               final ForkJoinPool pool,
+                               final int size) {
+        if (SET_PARALLELISM == null) {
+            log.info("Autotuning {}: parallelism {} wanted, changing it needs Java 19", name, size);
+            return;
+        }
+        try {
+            SET_PARALLELISM.invoke(pool, size);
+        } catch (Throwable e) {
+            log.warn("Autotuning {}: parallelism could not be changed to {}", name, size, e);
+        }
+    }
+
+    @Nullable
+    private static MethodHandle setParallelism() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(ForkJoinPool.class, "setParallelism",
+                    MethodType.methodType(int.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A single sizing decision.
+     *
+     * @param at          when it was taken
+     * @param arrivalRate the tasks per second
+     * @param latencyMs   the mean time a task took
+     * @param concurrency the smoothed number of tasks in flight
+     * @param from        the size before
+     * @param to          the size after
+     */
+    public record Decision(Instant at,
+                           double arrivalRate,
+                           double latencyMs,
+                           double concurrency,
+                           int from,
+                           int to) {
+    }
+
+    private static final class PoolState {
+        private long count;
+        private double totalNanos;
+        private long nanos;
+        private double concurrency = Double.NaN;
+        private volatile Decision lastDecision;
+
+        private PoolState(final long count,
+                          final double totalNanos,
+                          final long nanos) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.nanos = nanos;
+        }
+    }
+}
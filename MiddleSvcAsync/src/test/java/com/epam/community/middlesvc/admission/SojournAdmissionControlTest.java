@@ -0,0 +1,60 @@
+package com.epam.community.middlesvc.admission;
+
+import com.epam.community.middlesvc.configs.AdmissionControlProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SojournAdmissionControlTest {
+
+    private static final long ABOVE_TARGET = TimeUnit.MILLISECONDS.toNanos(50L);
+    private static final long BELOW_TARGET = TimeUnit.MILLISECONDS.toNanos(1L);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SojournAdmissionControl admissionControl = new SojournAdmissionControl(
+            new AdmissionControlProperties(true, Duration.ofMillis(10L), Duration.ofMillis(20L), Duration.ofSeconds(1L)),
+            this.meterRegistry);
+
+    @Test
+    void shedsOnceTheShortestSojournOfAnIntervalIsAboveTheTarget() throws InterruptedException {
+        this.admissionControl.record(ABOVE_TARGET);
+        assertTrue(this.admissionControl.tryAdmit());
+
+        Thread.sleep(30L);
+        this.admissionControl.record(ABOVE_TARGET);
+
+        assertTrue(this.admissionControl.isOverloaded());
+        assertFalse(this.admissionControl.tryAdmit());
+        assertEquals(1.0, this.meterRegistry.get("http.server.admission").tag("outcome", "shed").counter().count());
+        assertEquals(1.0, this.meterRegistry.get("http.server.admission").tag("outcome", "admitted").counter().count());
+    }
+
+    @Test
+    void keepsAdmittingWhileABurstDrainsWithinTheInterval() throws InterruptedException {
+        this.admissionControl.record(ABOVE_TARGET);
+        this.admissionControl.record(BELOW_TARGET);
+
+        Thread.sleep(30L);
+
+        assertTrue(this.admissionControl.tryAdmit());
+        assertFalse(this.admissionControl.isOverloaded());
+    }
+
+    @Test
+    void admitsAgainOnceTheQueueIsGone() throws InterruptedException {
+        this.admissionControl.record(ABOVE_TARGET);
+        Thread.sleep(30L);
+        this.admissionControl.record(BELOW_TARGET);
+        assertTrue(this.admissionControl.isOverloaded());
+
+        Thread.sleep(30L);
+
+        assertTrue(this.admissionControl.tryAdmit());
+    }
+}
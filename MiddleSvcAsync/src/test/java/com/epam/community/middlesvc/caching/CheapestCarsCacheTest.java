@@ -0,0 +1,75 @@
+package com.epam.community.middlesvc.caching;
+
+import com.epam.community.middlesvc.configs.ResultCacheProperties;
+import com.epam.community.middlesvc.models.CarModel;
+import com.epam.community.middlesvc.services.CarAsyncService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CheapestCarsCacheTest {
+
+    private static final List<CarModel> CHEAPEST = IntStream.range(0, 20)
+            .mapToObj(i -> new CarModel(i, "model", 2024, 1, "dealer", 1000 + i, "manufacturer", 1, null, null))
+            .toList();
+
+    @Mock
+    private CarAsyncService carAsyncService;
+
+    private CheapestCarsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        this.cache = new CheapestCarsCache(this.carAsyncService,
+                new ResultCacheProperties(true, Duration.ofMillis(50L), Duration.ofMinutes(1L), 20, 100, Duration.ofSeconds(1L)),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void collapsesConcurrentMissesAndSlicesTheTopCars() {
+        final CompletableFuture<List<CarModel>> aggregation = new CompletableFuture<>();
+        when(this.carAsyncService.getCheapestCarsInStateAsync(eq("CA"), any(), any(), eq(20), any(), any()))
+                .thenReturn(aggregation);
+
+        final CompletableFuture<List<CarModel>> three = this.cache.getCheapestCarsInState("CA", null, null, 3);
+        final CompletableFuture<List<CarModel>> ten = this.cache.getCheapestCarsInState("CA", null, null, 10);
+        aggregation.complete(CHEAPEST);
+
+        assertEquals(CHEAPEST.subList(0, 3), three.join());
+        assertEquals(CHEAPEST.subList(0, 10), ten.join());
+        verify(this.carAsyncService, times(1)).getCheapestCarsInStateAsync(eq("CA"), any(), any(), eq(20), any(), any());
+    }
+
+    @Test
+    void servesAStaleEntryWhileItIsRefreshed() throws InterruptedException {
+        final CompletableFuture<List<CarModel>> refresh = new CompletableFuture<>();
+        when(this.carAsyncService.getCheapestCarsInStateAsync(eq("CA"), any(), any(), eq(20), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(CHEAPEST), refresh);
+        this.cache.getCheapestCarsInState("CA", null, null, 3).join();
+
+        Thread.sleep(100L);
+        final CompletableFuture<List<CarModel>> stale = this.cache.getCheapestCarsInState("CA", null, null, 3);
+        this.cache.getCheapestCarsInState("CA", null, null, 3);
+
+        assertTrue(stale.isDone());
+        assertEquals(CHEAPEST.subList(0, 3), stale.join());
+        verify(this.carAsyncService, timeout(1000L).times(2)).getCheapestCarsInStateAsync(eq("CA"), any(), any(), eq(20), any(), any());
+    }
+}
@@ -0,0 +1,108 @@
+package com.epam.community.middlesvc.caching;
+
+import com.epam.community.middlesvc.clients.StateClient;
+import com.epam.community.middlesvc.configs.MaterializerProperties;
+import com.epam.community.middlesvc.models.CarFilter;
+import com.epam.community.middlesvc.models.CarModel;
+import com.epam.community.middlesvc.models.CarTypeEnum;
+import com.epam.community.middlesvc.models.IdNameModel;
+import com.epam.community.middlesvc.models.StateModel;
+import com.epam.community.middlesvc.services.CarAsyncService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CheapestCarsMaterializerTest {
+
+    private static final List<CarModel> SEDANS = IntStream.range(0, 20)
+            .mapToObj(i -> new CarModel(i, "model", 2024, 1, "dealer", 1000 + i, "manufacturer", 1, null, CarTypeEnum.SEDAN))
+            .toList();
+    private static final StateModel STATE = new StateModel(1, "TX", 100_000, List.of());
+
+    @Mock
+    private CarAsyncService carAsyncService;
+    @Mock
+    private StateClient stateClient;
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    private CheapestCarsMaterializer materializer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(this.stateClient.getStateCodes()).thenReturn(CompletableFuture.completedFuture(List.of("CA", "TX")));
+        when(this.referenceDataCache.getStateInformation(anyString())).thenReturn(CompletableFuture.completedFuture(STATE));
+        when(this.referenceDataCache.getDealersByState(anyString())).thenReturn(CompletableFuture.completedFuture(List.of()));
+        when(this.referenceDataCache.peekStateInformation(anyString())).thenReturn(STATE);
+        when(this.referenceDataCache.peekDealersByState(anyString())).thenReturn(List.of());
+        when(this.carAsyncService.getCheapestCarsByFilterAsync(anyString(), anyInt())).thenReturn(CompletableFuture.completedFuture(
+                Map.of(new CarFilter(CarTypeEnum.SEDAN, null), SEDANS)));
+        this.materializer = new CheapestCarsMaterializer(this.carAsyncService, this.stateClient, this.referenceDataCache,
+                new MaterializerProperties(true, Duration.ofSeconds(1L), Duration.ofMinutes(5L), Duration.ofMinutes(15L), 20,
+                        Duration.ofSeconds(10L), Duration.ofHours(1L)),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void materializesOneStatePerTickAndServesSlices() {
+        this.materializer.tick();
+        this.materializer.tick();
+
+        verify(this.carAsyncService, times(1)).getCheapestCarsByFilterAsync(eq("CA"), eq(20));
+        verify(this.carAsyncService, never()).getCheapestCarsByFilterAsync(eq("TX"), anyInt());
+        final CheapestCarsMaterializer.MaterializedCars cars = this.materializer.getCheapestCarsInState("CA", CarTypeEnum.SEDAN, null, 3).orElseThrow();
+        assertEquals(SEDANS.subList(0, 3), cars.cars());
+        assertTrue(this.materializer.getCheapestCarsInState("TX", CarTypeEnum.SEDAN, null, 3).isEmpty());
+
+        this.materializer.tick();
+        this.materializer.tick();
+
+        verify(this.carAsyncService, times(1)).getCheapestCarsByFilterAsync(eq("TX"), eq(20));
+        verify(this.carAsyncService, times(1)).getCheapestCarsByFilterAsync(eq("CA"), eq(20));
+    }
+
+    @Test
+    void refreshesAStateOnceItsDealersChange() {
+        this.materializer.tick();
+        this.materializer.tick();
+        this.materializer.tick();
+
+        final List<IdNameModel> dealers = List.of(new IdNameModel(1, "new dealer"));
+        when(this.referenceDataCache.getDealersByState("TX")).thenReturn(CompletableFuture.completedFuture(dealers));
+        when(this.referenceDataCache.peekDealersByState("TX")).thenReturn(dealers);
+        this.materializer.tick();
+
+        verify(this.carAsyncService, times(2)).getCheapestCarsByFilterAsync(eq("TX"), eq(20));
+        verify(this.carAsyncService, times(1)).getCheapestCarsByFilterAsync(eq("CA"), eq(20));
+    }
+
+    @Test
+    void looksForChangesWithoutLoadingTheReferenceData() {
+        for (int i = 0; i < 10; i++) {
+            this.materializer.tick();
+        }
+
+        // the first tick loads the state codes, each of the next two refreshes a state
+        verify(this.referenceDataCache, times(2)).getStateInformation(anyString());
+        verify(this.referenceDataCache, times(2)).getDealersByState(anyString());
+    }
+}
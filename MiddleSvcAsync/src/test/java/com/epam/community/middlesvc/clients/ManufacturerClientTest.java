@@ -1,19 +1,28 @@
 package com.epam.community.middlesvc.clients;
 
+import com.epam.community.middlesvc.configs.BatchingProperties;
+import com.epam.community.middlesvc.configs.HedgingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class ManufacturerClientTest {
@@ -21,13 +30,17 @@ class ManufacturerClientTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
     private ManufacturerClient manufacturerClient;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        ReflectionTestUtils.setField(manufacturerClient, "url", "http://test:test");
+        final HedgingProperties.Policy policy = new HedgingProperties.Policy(0.95, Duration.ofMillis(10L), Duration.ofSeconds(1L),
+                100, 0.05, 10, List.of());
+        manufacturerClient = new ManufacturerClient(restTemplate, "http://test:test", "http://test:test",
+                new HedgingProperties(false, policy, policy),
+                new BatchingProperties(false, new BatchingProperties.Batch(Duration.ofMillis(5L), 100), new BatchingProperties.Batch(Duration.ofMillis(5L), 100)),
+                Runnable::run, new SimpleMeterRegistry());
     }
 
     @Test
@@ -59,4 +72,15 @@ class ManufacturerClientTest {
 
         assertNull(price.join());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getPricesByCarIds_requestsAllIdsAtOnce() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(),
+                ArgumentMatchers.<ParameterizedTypeReference<Map<Integer, Integer>>>any(), anyMap()))
+                .thenReturn(ResponseEntity.ok(Map.of(1, 20000, 2, 30000)));
+
+        assertEquals(Map.of(1, 20000, 2, 30000), manufacturerClient.getPricesByCarIds(List.of(1, 2)).join());
+        verify(restTemplate).exchange(eq("http://test:test"), eq(HttpMethod.GET), isNull(),
+                ArgumentMatchers.<ParameterizedTypeReference<Map<Integer, Integer>>>any(), eq(Map.of("ids", "1,2")));
+    }
+}
@@ -0,0 +1,54 @@
+package com.epam.community.middlesvc.clients.balancing;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicaGroupTest {
+
+    private final Replica busy = new Replica(URI.create("http://localhost:9001"));
+    private final Replica idle = new Replica(URI.create("http://localhost:9002"));
+
+    @Test
+    void choose_prefersReplicaWithFewerOutstandingRequests() {
+        final ReplicaGroup group = this.group(50);
+        this.busy.onStart();
+
+        IntStream.range(0, 100).forEach(i -> assertSame(this.idle, group.choose()));
+    }
+
+    @Test
+    void onFailure_ejectsReplicaAfterConsecutiveFailures() {
+        final ReplicaGroup group = this.group(50);
+        IntStream.range(0, 3).forEach(i -> {
+            this.busy.onStart();
+            group.onFailure(this.busy);
+        });
+
+        assertTrue(this.busy.isEjected(System.nanoTime()));
+        IntStream.range(0, 100).forEach(i -> assertNotSame(this.busy, group.choose()));
+    }
+
+    @Test
+    void onFailure_neverEjectsMoreThanAllowed() {
+        final ReplicaGroup group = this.group(0);
+        IntStream.range(0, 3).forEach(i -> {
+            this.busy.onStart();
+            group.onFailure(this.busy);
+        });
+
+        assertFalse(this.busy.isEjected(System.nanoTime()));
+    }
+
+    private ReplicaGroup group(final int maxEjectedPercent) {
+        return new ReplicaGroup("test", List.of(this.busy, this.idle), true, 3, Duration.ofMinutes(1L), maxEjectedPercent);
+    }
+}
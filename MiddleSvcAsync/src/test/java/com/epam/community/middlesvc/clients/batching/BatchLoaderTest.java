@@ -0,0 +1,61 @@
+package com.epam.community.middlesvc.clients.batching;
+
+import com.epam.community.middlesvc.configs.BatchingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchLoaderTest {
+
+    private final List<List<Integer>> batches = new ArrayList<>();
+
+    private final BatchLoader<Integer, Integer> loader = new BatchLoader<>("test",
+            new BatchingProperties.Batch(Duration.ofSeconds(10L), 3),
+            keys -> {
+                this.batches.add(keys);
+                return CompletableFuture.completedFuture(keys.stream()
+                        .filter(key -> key > 0)
+                        .collect(Collectors.toMap(key -> key, key -> key * 10)));
+            },
+            new SimpleMeterRegistry());
+
+    @Test
+    void load_dispatchesFullBatchAsOneRequest() {
+        final CompletableFuture<Integer> first = this.loader.load(1);
+        final CompletableFuture<Integer> duplicate = this.loader.load(1);
+        final CompletableFuture<Integer> second = this.loader.load(2);
+        final CompletableFuture<Integer> third = this.loader.load(3);
+
+        assertEquals(List.of(List.of(1, 2, 3)), this.batches);
+        assertEquals(10, first.join());
+        assertEquals(10, duplicate.join());
+        assertEquals(20, second.join());
+        assertEquals(30, third.join());
+    }
+
+    @Test
+    void load_failsKeyMissingFromResponse() {
+        final BatchLoader<Integer, Integer> windowed = new BatchLoader<>("test",
+                new BatchingProperties.Batch(Duration.ofMillis(5L), 100),
+                keys -> CompletableFuture.completedFuture(Map.of(1, 10)),
+                new SimpleMeterRegistry());
+
+        final CompletableFuture<Integer> known = windowed.load(1);
+        final CompletableFuture<Integer> unknown = windowed.load(-1);
+
+        assertEquals(10, known.join());
+        assertInstanceOf(RestClientException.class, assertThrows(CompletionException.class, unknown::join).getCause());
+    }
+}
@@ -0,0 +1,71 @@
+package com.epam.community.middlesvc.clients.hedging;
+
+import com.epam.community.middlesvc.configs.HedgingProperties.Policy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class HedgerTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch slowPrimary = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        this.slowPrimary.countDown();
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    void call_slowPrimaryIsOvertakenByHedgeToReplica() throws Exception {
+        final Hedger hedger = this.hedger(1.0);
+
+        final String result = hedger.call(this::request).get(5, TimeUnit.SECONDS);
+
+        assertEquals("replica", result);
+        assertEquals(1.0, this.meterRegistry.get("downstream.hedging.hedges").counter().count());
+        assertEquals(1.0, this.meterRegistry.get("downstream.hedging.wins").counter().count());
+    }
+
+    @Test
+    void call_noHedgeWithoutBudget() throws Exception {
+        final Hedger hedger = this.hedger(0.0);
+
+        final var result = hedger.call(this::request);
+
+        assertFalse(result.isDone());
+        TimeUnit.MILLISECONDS.sleep(100L);
+        assertEquals(1.0, this.meterRegistry.get("downstream.hedging.budget.exhausted").counter().count());
+        this.slowPrimary.countDown();
+        assertEquals("primary", result.get(5, TimeUnit.SECONDS));
+        assertEquals(0.0, this.meterRegistry.get("downstream.hedging.hedges").counter().count());
+    }
+
+    private Hedger hedger(final double budget) {
+        final Policy policy = new Policy(0.95, Duration.ofMillis(10L), Duration.ofMillis(10L), 0, budget, 1,
+                List.of("replica"));
+        return new Hedger("test", true, policy, "primary", this.executor, this.meterRegistry);
+    }
+
+    private String request(final String url) {
+        if ("primary".equals(url)) {
+            try {
+                this.slowPrimary.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return url;
+    }
+}
@@ -0,0 +1,49 @@
+package com.epam.community.middlesvc.clients.limiting;
+
+import com.epam.community.middlesvc.configs.ConcurrencyLimitProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AimdLimiterTest {
+
+    private final AimdLimiter limiter = new AimdLimiter(new ConcurrencyLimitProperties(true, 2, 1, 10, 0.5,
+            Duration.ofSeconds(1L), 1, Duration.ofMillis(10L)));
+
+    @Test
+    void release_growsLimitWhileWindowIsUsed() throws InterruptedException {
+        for (int round = 0; round < 6; round++) {
+            final int limit = this.limiter.limit();
+            for (int i = 0; i < limit; i++) {
+                assertNull(this.limiter.acquire(0L));
+            }
+            for (int i = 0; i < limit; i++) {
+                this.limiter.release(1_000L, false);
+            }
+        }
+
+        assertEquals(4, this.limiter.limit());
+    }
+
+    @Test
+    void release_cutsLimitOnDropAndSlowCall() throws InterruptedException {
+        this.limiter.acquire(0L);
+        this.limiter.release(1_000L, true);
+        assertEquals(1, this.limiter.limit());
+
+        this.limiter.acquire(0L);
+        this.limiter.release(Duration.ofSeconds(2L).toNanos(), false);
+        assertEquals(1, this.limiter.limit());
+    }
+
+    @Test
+    void acquire_rejectsBeyondLimitAndQueue() throws InterruptedException {
+        assertNull(this.limiter.acquire(0L));
+        assertNull(this.limiter.acquire(0L));
+
+        assertEquals(AimdLimiter.TIMEOUT, this.limiter.acquire(Duration.ofMillis(10L).toNanos()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.epam.community.middlesvc.clients.limiting;
+
+import com.epam.community.middlesvc.clients.limiting.CircuitBreaker.State;
+import com.epam.community.middlesvc.configs.CircuitBreakerProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CircuitBreakerTest {
+
+    private final List<String> transitions = new ArrayList<>();
+
+    @Test
+    void opensAtFailureRateAndClosesAfterSuccessfulTrials() throws InterruptedException {
+        final CircuitBreaker breaker = this.breaker(Duration.ofMillis(20L));
+        for (int i = 0; i < 4; i++) {
+            final State admittedIn = breaker.tryAcquire();
+            if (i % 2 == 0) {
+                breaker.onSuccess(admittedIn);
+            } else {
+                breaker.onFailure(admittedIn);
+            }
+        }
+        assertEquals(State.OPEN, breaker.state());
+        assertNull(breaker.tryAcquire());
+
+        Thread.sleep(30L);
+        final State first = breaker.tryAcquire();
+        final State second = breaker.tryAcquire();
+        assertEquals(State.HALF_OPEN, first);
+        assertNull(breaker.tryAcquire());
+        breaker.onSuccess(first);
+        breaker.onSuccess(second);
+
+        assertEquals(State.CLOSED, breaker.state());
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), this.transitions);
+    }
+
+    @Test
+    void failedTrialOpensAgain() throws InterruptedException {
+        final CircuitBreaker breaker = this.breaker(Duration.ofMillis(20L));
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(breaker.tryAcquire());
+        }
+        Thread.sleep(30L);
+
+        breaker.onFailure(breaker.tryAcquire());
+
+        assertEquals(State.OPEN, breaker.state());
+        assertNull(breaker.tryAcquire());
+    }
+
+    private CircuitBreaker breaker(final Duration openDuration) {
+        return new CircuitBreaker(new CircuitBreakerProperties(true, 4, 4, 50, openDuration, 2),
+                (from, to) -> this.transitions.add(from + "->" + to));
+    }
+}
@@ -0,0 +1,58 @@
+package com.epam.community.middlesvc.clients.transport;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompletionTrackingResponseTest {
+
+    @Test
+    void close_reportsTheOutcomeOnceTheBodyHasBeenRead() throws IOException {
+        final List<CompletionTrackingResponse.Outcome> outcomes = new ArrayList<>();
+        final CompletionTrackingResponse response = new CompletionTrackingResponse(
+                new MockClientHttpResponse("cars".getBytes(StandardCharsets.UTF_8), HttpStatus.OK),
+                System.nanoTime(), (elapsedNanos, outcome) -> outcomes.add(outcome));
+
+        assertEquals("cars", new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
+        assertTrue(outcomes.isEmpty());
+
+        response.close();
+        response.close();
+        assertEquals(List.of(CompletionTrackingResponse.Outcome.SUCCESS), outcomes);
+    }
+
+    @Test
+    void close_reportsAServerErrorAsFailure() {
+        final List<CompletionTrackingResponse.Outcome> outcomes = new ArrayList<>();
+        new CompletionTrackingResponse(new MockClientHttpResponse(new byte[0], HttpStatus.SERVICE_UNAVAILABLE),
+                System.nanoTime(), (elapsedNanos, outcome) -> outcomes.add(outcome)).close();
+
+        assertEquals(List.of(CompletionTrackingResponse.Outcome.FAILURE), outcomes);
+    }
+
+    @Test
+    void close_reportsABrokenBodyAsFailure() {
+        final List<CompletionTrackingResponse.Outcome> outcomes = new ArrayList<>();
+        final CompletionTrackingResponse response = new CompletionTrackingResponse(new MockClientHttpResponse(new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        }, HttpStatus.OK), System.nanoTime(), (elapsedNanos, outcome) -> outcomes.add(outcome));
+
+        assertThrows(IOException.class, () -> response.getBody().readAllBytes());
+        response.close();
+
+        assertEquals(List.of(CompletionTrackingResponse.Outcome.FAILURE), outcomes);
+    }
+}
@@ -0,0 +1,54 @@
+package com.epam.community.middlesvc.context;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestContextTest {
+
+    @Test
+    void cancel_runsTheCallbacksBeforeAbortingTheExchanges() {
+        final RequestContext context = RequestContext.withTimeout(Duration.ofMinutes(1L), true);
+        final List<String> order = new ArrayList<>();
+        context.register(() -> order.add("exchange"));
+        context.onCancel(() -> order.add("callback"));
+
+        context.cancel();
+        context.cancel();
+
+        assertEquals(List.of("callback", "exchange"), order);
+    }
+
+    @Test
+    void onCancel_runsACallbackRegisteredAfterTheCancellationOnce() {
+        final RequestContext context = RequestContext.withTimeout(Duration.ofMinutes(1L), true);
+        final AtomicInteger runs = new AtomicInteger();
+        context.cancel();
+
+        context.onCancel(runs::incrementAndGet);
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void complete_disarmsTheDeadline() throws InterruptedException {
+        final RequestContext context = RequestContext.withTimeout(Duration.ofMillis(50L), true);
+        final AtomicInteger runs = new AtomicInteger();
+        context.onCancel(runs::incrementAndGet);
+
+        context.complete();
+        Thread.sleep(200L);
+        context.cancel();
+        context.onCancel(runs::incrementAndGet);
+
+        assertEquals(0, runs.get());
+        // the deadline itself has passed, only the cancellation of the finished request is suppressed
+        assertTrue(context.isCancelled());
+    }
+}
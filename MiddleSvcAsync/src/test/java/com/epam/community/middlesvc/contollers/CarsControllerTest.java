@@ -0,0 +1,196 @@
+package com.epam.community.middlesvc.contollers;
+
+import com.epam.community.middlesvc.admission.AdmissionControlInterceptor;
+import com.epam.community.middlesvc.admission.SojournAdmissionControl;
+import com.epam.community.middlesvc.caching.CheapestCarsCache;
+import com.epam.community.middlesvc.caching.CheapestCarsMaterializer;
+import com.epam.community.middlesvc.context.RequestCancellingInterceptor;
+import com.epam.community.middlesvc.context.RequestContext;
+import com.epam.community.middlesvc.models.CarFilter;
+import com.epam.community.middlesvc.models.CarModel;
+import com.epam.community.middlesvc.services.CarAsyncService;
+import com.epam.community.middlesvc.services.NationalCarsService;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CarsControllerTest {
+
+    // server.tomcat.threads.max
+    private static final int REQUEST_THREADS = 100;
+
+    @Mock
+    private CarAsyncService carAsyncService;
+    @Mock
+    private CheapestCarsCache cheapestCarsCache;
+    @Mock
+    private CheapestCarsMaterializer cheapestCarsMaterializer;
+    @Mock
+    private NationalCarsService nationalCarsService;
+    @Mock
+    private SojournAdmissionControl admissionControl;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(this.cheapestCarsMaterializer.getCheapestCarsInState(anyString(), any(), any(), anyInt())).thenReturn(Optional.empty());
+        when(this.admissionControl.tryAdmit()).thenReturn(true);
+        when(this.admissionControl.retryAfterSeconds()).thenReturn("1");
+        final CarsController controller = new CarsController(this.carAsyncService, this.cheapestCarsCache, this.cheapestCarsMaterializer,
+                this.nationalCarsService, this.admissionControl);
+        ReflectionTestUtils.setField(controller, "defaultDeadlineMs", 10_000L);
+        ReflectionTestUtils.setField(controller, "maxDeadlineMs", 30_000L);
+        // the standalone setup bypasses WebMvcConfig, the interceptors are registered the way they would be
+        this.mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .addInterceptors(new AdmissionControlInterceptor(this.admissionControl), new HandlerInterceptor() {
+                    @Override
+                    public boolean preHandle(final HttpServletRequest request,
+                                             final HttpServletResponse response,
+                                             final Object handler) {
+                        WebAsyncUtils.getAsyncManager(request)
+                                .registerDeferredResultInterceptor("cancelling", new RequestCancellingInterceptor());
+                        return true;
+                    }
+                })
+                .build();
+    }
+
+    @Test
+    void getCarsByState_holdsMoreRequestsInFlightThanThereAreRequestThreads() throws Exception {
+        final CompletableFuture<List<CarModel>> aggregation = new CompletableFuture<>();
+        when(this.cheapestCarsCache.getCheapestCarsInState(anyString(), any(), any(), anyInt()))
+                .thenReturn(aggregation);
+
+        // every request is taken by the one test thread, none of them holds it while its aggregation runs
+        final List<MvcResult> inFlight = new ArrayList<>();
+        for (int i = 0; i < REQUEST_THREADS + 50; i++) {
+            inFlight.add(this.mockMvc.perform(get(RestConstants.CARS_ENDPOINT + "/straightforward/CA/cars"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn());
+        }
+        assertFalse(aggregation.isDone());
+
+        aggregation.complete(List.of());
+        for (final MvcResult result : inFlight) {
+            this.mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void getCarsByState_mapsAFailedDownstreamCallToBadGateway() throws Exception {
+        when(this.cheapestCarsCache.getCheapestCarsInState(anyString(), any(), any(), anyInt()))
+                .thenReturn(CompletableFuture.failedFuture(new ResourceAccessException("dealers unavailable")));
+
+        final MvcResult result = this.mockMvc.perform(get(RestConstants.CARS_ENDPOINT + "/straightforward/CA/cars"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(result)).andExpect(status().isBadGateway());
+    }
+
+    @Test
+    void getCarsByStates_asksForEveryStateOnceInTheRequestedOrder() throws Exception {
+        when(this.carAsyncService.getCheapestCarsInStatesAsync(any(), any(), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(Map.of()));
+
+        final MvcResult result = this.mockMvc.perform(get(RestConstants.CARS_ENDPOINT + "/straightforward/batch/cars")
+                        .param("stateCodes", "TX", "CA", "TX"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        verify(this.carAsyncService).getCheapestCarsInStatesAsync(List.of("TX", "CA"), new CarFilter(null, null), 3);
+    }
+
+    @Test
+    void getCarsByState_cancelsTheRequestContextWhenTheClientDisconnects() throws Exception {
+        final AtomicReference<RequestContext> requestContext = new AtomicReference<>();
+        when(this.cheapestCarsCache.getCheapestCarsInState(anyString(), any(), any(), anyInt()))
+                .thenAnswer(invocation -> {
+                    requestContext.set(RequestContext.current());
+                    return new CompletableFuture<List<CarModel>>();
+                });
+
+        final MvcResult result = this.mockMvc.perform(get(RestConstants.CARS_ENDPOINT + "/straightforward/CA/cars"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertNotNull(requestContext.get());
+        assertFalse(requestContext.get().isCancelled());
+
+        // the container reports the broken connection as an error of the asynchronous request
+        final MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (final AsyncListener listener : asyncContext.getListeners()) {
+            listener.onError(new AsyncEvent(asyncContext, new IOException("Broken pipe")));
+        }
+
+        assertTrue(requestContext.get().isCancelled());
+    }
+
+    @Test
+    void getCarsByState_servesTheMaterializedViewWhileSheddingLoad() throws Exception {
+        when(this.admissionControl.tryAdmit()).thenReturn(false);
+        when(this.cheapestCarsMaterializer.getCheapestCarsInState(anyString(), any(), any(), anyInt()))
+                .thenReturn(Optional.of(new CheapestCarsMaterializer.MaterializedCars(List.of(), Instant.now())));
+
+        final MvcResult result = this.mockMvc.perform(get(RestConstants.CARS_ENDPOINT + "/straightforward/CA/cars"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        verify(this.admissionControl, never()).tryAdmit();
+    }
+
+    @Test
+    void getCarsByState_shedsAMissOfTheMaterializedView() throws Exception {
+        when(this.admissionControl.tryAdmit()).thenReturn(false);
+
+        final MvcResult result = this.mockMvc.perform(get(RestConstants.CARS_ENDPOINT + "/straightforward/CA/cars"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        verify(this.cheapestCarsCache, never()).getCheapestCarsInState(anyString(), any(), any(), anyInt());
+    }
+}
@@ -0,0 +1,96 @@
+package com.epam.community.middlesvc.services;
+
+import com.epam.community.middlesvc.caching.ReferenceDataCache;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties;
+import com.epam.community.middlesvc.models.*;
+import com.epam.community.middlesvc.threading.ExecutorTopology;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CarAsyncServiceTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+    @Mock
+    private ExecutorTopology executorTopology;
+
+    private CarAsyncService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(this.executorTopology.stages()).thenReturn(new ExecutorTopologyProperties.Stages("direct", "direct", "direct", "direct", "direct"));
+        when(this.executorTopology.stageExecutor(anyString())).thenReturn(DIRECT);
+        // CA discounts electric cars above 1000 by 10%, TX never discounts
+        when(this.referenceDataCache.getStateInformation("CA")).thenReturn(CompletableFuture.completedFuture(
+                new StateModel(1, "CA", 1000, List.of(new DiscountModel(1, "electric", 10, CarFullTypeEnum.ELECTRIC)))));
+        when(this.referenceDataCache.getStateInformation("TX")).thenReturn(CompletableFuture.completedFuture(
+                new StateModel(2, "TX", 100_000, List.of())));
+        when(this.referenceDataCache.getDiscountByType("CA", CarFullTypeEnum.ELECTRIC)).thenReturn(CompletableFuture.completedFuture(10));
+        // dealer 1 serves both states
+        when(this.referenceDataCache.getDealersByState("CA")).thenReturn(CompletableFuture.completedFuture(
+                List.of(new IdNameModel(1, "both"))));
+        when(this.referenceDataCache.getDealersByState("TX")).thenReturn(CompletableFuture.completedFuture(
+                List.of(new IdNameModel(1, "both"), new IdNameModel(2, "texas"))));
+        when(this.referenceDataCache.getDealerInfo(1)).thenReturn(CompletableFuture.completedFuture(new DealerModel(1, "both", 10, List.of(
+                car(1, CarFullTypeEnum.ELECTRIC), car(2, CarFullTypeEnum.GASOLINE)))));
+        when(this.referenceDataCache.getDealerInfo(2)).thenReturn(CompletableFuture.completedFuture(new DealerModel(2, "texas", 0, List.of(
+                car(3, CarFullTypeEnum.GASOLINE)))));
+        when(this.referenceDataCache.getPriceByCarId(1)).thenReturn(CompletableFuture.completedFuture(2000));
+        when(this.referenceDataCache.getPriceByCarId(2)).thenReturn(CompletableFuture.completedFuture(1500));
+        when(this.referenceDataCache.getPriceByCarId(3)).thenReturn(CompletableFuture.completedFuture(1800));
+        this.service = new CarAsyncService(this.referenceDataCache, this.executorTopology, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void getCheapestCarsInStatesAsync_pricesEveryStateOnItsOwnAndFetchesSharedDealersAndCarsOnce() throws Exception {
+        final Map<String, List<CarModel>> cars = this.service.getCheapestCarsInStatesAsync(List.of("TX", "CA"),
+                new CarFilter(null, null), 3).get();
+
+        // car 1: CA (2000 - 10%) + 10% = 1980, TX 2000 + 10% = 2200; car 2: 1650 in both; car 3: TX only, 1800
+        final Map<String, List<String>> prices = new LinkedHashMap<>();
+        cars.forEach((stateCode, stateCars) -> prices.put(stateCode, stateCars.stream()
+                .map(car -> car.id() + ":" + car.price())
+                .toList()));
+        assertEquals(List.of("TX", "CA"), List.copyOf(prices.keySet()));
+        assertEquals(List.of("2:1650", "3:1800", "1:2200"), prices.get("TX"));
+        assertEquals(List.of("2:1650", "1:1980"), prices.get("CA"));
+        verify(this.referenceDataCache, times(1)).getDealerInfo(1);
+        verify(this.referenceDataCache, times(1)).getDealerInfo(2);
+        verify(this.referenceDataCache, times(1)).getPriceByCarId(1);
+        verify(this.referenceDataCache, times(1)).getPriceByCarId(2);
+        verify(this.referenceDataCache, times(1)).getPriceByCarId(3);
+        verify(this.referenceDataCache, times(1)).getDiscountByType("CA", CarFullTypeEnum.ELECTRIC);
+    }
+
+    @Test
+    void getCheapestCarsInStatesAsync_keepsTheTopNOfEveryState() throws Exception {
+        final Map<String, List<CarModel>> cars = this.service.getCheapestCarsInStatesAsync(List.of("CA", "TX"),
+                new CarFilter(null, null), 1).get();
+
+        assertEquals(List.of(2), cars.get("CA").stream().map(CarModel::id).toList());
+        assertEquals(List.of(2), cars.get("TX").stream().map(CarModel::id).toList());
+    }
+
+    private static DealerCarModel car(final int id,
+                                      final CarFullTypeEnum fullType) {
+        return new DealerCarModel(id, "model", 2024, "manufacturer", 1, fullType, CarTypeEnum.SEDAN);
+    }
+}
@@ -0,0 +1,55 @@
+package com.epam.community.middlesvc.services;
+
+import com.epam.community.middlesvc.models.CarModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CheapestCarsCollectorTest {
+
+    @Test
+    void offer_keepsOnlyCheapestCarsOrderedByPrice() {
+        final CheapestCarsCollector collector = new CheapestCarsCollector(3);
+
+        List.of(500, 100, 400, 300, 200, 600)
+                .forEach(price -> collector.offer(car(1, price, price)));
+
+        assertEquals(List.of(100, 200, 300), collector.snapshot().stream().map(CarModel::price).toList());
+    }
+
+    @Test
+    void offer_ignoresSameCarOfSameDealer() {
+        final CheapestCarsCollector collector = new CheapestCarsCollector(3);
+
+        assertTrue(collector.offer(car(1, 7, 100)));
+        assertFalse(collector.offer(car(1, 7, 100)));
+        assertTrue(collector.offer(car(2, 7, 100)));
+
+        assertEquals(2, collector.snapshot().size());
+    }
+
+    @Test
+    void canAccept_comparesAgainstNthBestOnceFull() {
+        final CheapestCarsCollector collector = new CheapestCarsCollector(2);
+
+        assertTrue(collector.canAccept(Integer.MAX_VALUE));
+        collector.offer(car(1, 1, 100));
+        collector.offer(car(1, 2, 200));
+
+        assertTrue(collector.canAccept(199));
+        assertFalse(collector.canAccept(200));
+        assertFalse(new CheapestCarsCollector(0).canAccept(0));
+    }
+
+    private static CarModel car(final int dealerId, final int id, final int price) {
+        return CarModel.builder()
+                .id(id)
+                .dealerId(dealerId)
+                .price(price)
+                .build();
+    }
+}
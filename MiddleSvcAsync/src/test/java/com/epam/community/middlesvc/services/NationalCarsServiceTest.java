@@ -0,0 +1,171 @@
+package com.epam.community.middlesvc.services;
+
+import com.epam.community.middlesvc.caching.ReferenceDataCache;
+import com.epam.community.middlesvc.clients.DealerClient;
+import com.epam.community.middlesvc.clients.StateClient;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties;
+import com.epam.community.middlesvc.configs.NationalQueryProperties;
+import com.epam.community.middlesvc.models.*;
+import com.epam.community.middlesvc.threading.ExecutorTopology;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.stubbing.Answer;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class NationalCarsServiceTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+    @Mock
+    private StateClient stateClient;
+    @Mock
+    private DealerClient dealerClient;
+    @Mock
+    private ExecutorTopology executorTopology;
+
+    private NationalCarsService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(this.executorTopology.stages()).thenReturn(new ExecutorTopologyProperties.Stages("direct", "direct", "direct", "direct", "direct"));
+        when(this.executorTopology.stageExecutor(anyString())).thenReturn(DIRECT);
+        when(this.stateClient.getStateCodes()).thenReturn(CompletableFuture.completedFuture(List.of("CA", "TX")));
+        stubStates(this.referenceDataCache);
+        // dealer 1 serves both states
+        when(this.referenceDataCache.getDealersByState("CA")).thenReturn(CompletableFuture.completedFuture(
+                List.of(new IdNameModel(1, "both"))));
+        when(this.referenceDataCache.getDealersByState("TX")).thenReturn(CompletableFuture.completedFuture(
+                List.of(new IdNameModel(1, "both"), new IdNameModel(2, "texas"))));
+        when(this.dealerClient.getDealerCars(eq(1), anyInt(), anyInt())).thenAnswer(pages(new DealerModel(1, "both", 10, List.of(
+                car(1, CarFullTypeEnum.ELECTRIC), car(2, CarFullTypeEnum.GASOLINE)))));
+        when(this.dealerClient.getDealerCars(eq(2), anyInt(), anyInt())).thenAnswer(pages(new DealerModel(2, "texas", 0, List.of(
+                car(3, CarFullTypeEnum.GASOLINE)))));
+        when(this.referenceDataCache.getPriceByCarId(1)).thenReturn(CompletableFuture.completedFuture(2000));
+        when(this.referenceDataCache.getPriceByCarId(2)).thenReturn(CompletableFuture.completedFuture(1500));
+        when(this.referenceDataCache.getPriceByCarId(3)).thenReturn(CompletableFuture.completedFuture(1800));
+        this.service = new NationalCarsService(this.referenceDataCache, this.stateClient, this.dealerClient,
+                new NationalQueryProperties(2, 1), this.executorTopology);
+    }
+
+    @Test
+    void listsEveryCarOnceAtItsCheapestStateAndFetchesSharedDealersOnce() throws Exception {
+        final List<NationalCarModel> cars = this.service.getCheapestCarsNationwideAsync(new CarFilter(null, null), 3).get();
+
+        // car 1: CA (2000 - 10%) + 10% = 1980, TX 2000 + 10% = 2200; car 2: 1650 in both; car 3: TX 1800
+        assertEquals(List.of("2:CA:1650", "3:TX:1800", "1:CA:1980"), cars.stream()
+                .map(car -> car.car().id() + ":" + car.stateCode() + ":" + car.car().price())
+                .toList());
+        verify(this.dealerClient, times(1)).getDealerCars(1, 0, 1);
+        verify(this.dealerClient, times(1)).getDealerCars(1, 1, 1);
+        verify(this.referenceDataCache, times(1)).getPriceByCarId(1);
+        verify(this.referenceDataCache, times(1)).getPriceByCarId(2);
+    }
+
+    @Test
+    void holdsNoMoreCarsThanTheLanesTimesTheChunkSizeWhateverTheInventories() throws Exception {
+        final int dealers = 40;
+        final int carsPerDealer = 5_000;
+        final int lanes = 4;
+        final int chunkSize = 100;
+        // stub only: a query of 200 000 cars is not to be recorded invocation by invocation
+        final ReferenceDataCache cache = mock(ReferenceDataCache.class, withSettings().stubOnly());
+        final DealerClient pagedDealers = mock(DealerClient.class, withSettings().stubOnly());
+        final ExecutorService downstream = Executors.newFixedThreadPool(lanes);
+        final AtomicLong fetched = new AtomicLong();
+        final AtomicLong priced = new AtomicLong();
+        final AtomicLong maxHeld = new AtomicLong();
+        final AtomicLong maxLimit = new AtomicLong();
+        try {
+            stubStates(cache);
+            final List<IdNameModel> catalog = IntStream.rangeClosed(1, dealers)
+                    .mapToObj(dealer -> new IdNameModel(dealer, "dealer-" + dealer))
+                    .toList();
+            when(cache.getDealersByState(anyString())).thenReturn(CompletableFuture.completedFuture(catalog));
+            when(cache.getPriceByCarId(anyInt())).thenAnswer(invocation -> {
+                priced.incrementAndGet();
+                return CompletableFuture.completedFuture(1000 + (invocation.<Integer>getArgument(0) % 7919));
+            });
+            // the pages are generated on demand and arrive on the downstream threads, so the lanes overlap
+            when(pagedDealers.getDealerCars(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> {
+                final int dealer = invocation.getArgument(0);
+                final int offset = invocation.getArgument(1);
+                final int limit = invocation.getArgument(2);
+                maxLimit.accumulateAndGet(limit, Math::max);
+                return CompletableFuture.supplyAsync(() -> {
+                    final List<DealerCarModel> page = IntStream.range(offset, Math.min(offset + limit, carsPerDealer))
+                            .mapToObj(car -> car((dealer * carsPerDealer) + car, CarFullTypeEnum.GASOLINE))
+                            .toList();
+                    maxHeld.accumulateAndGet(fetched.addAndGet(page.size()) - priced.get(), Math::max);
+                    return new DealerModel(dealer, "dealer-" + dealer, 0, page);
+                }, downstream);
+            });
+            final NationalCarsService nationwide = new NationalCarsService(cache, this.stateClient, pagedDealers,
+                    new NationalQueryProperties(lanes, chunkSize), this.executorTopology);
+
+            final List<NationalCarModel> cars = nationwide.getCheapestCarsNationwideAsync(new CarFilter(null, null), 3)
+                    .get(30, TimeUnit.SECONDS);
+
+            assertEquals(List.of(1000, 1000, 1000), cars.stream().map(car -> car.car().price()).toList());
+            assertEquals((long) dealers * carsPerDealer, fetched.get());
+            assertEquals((long) dealers * carsPerDealer, priced.get());
+            assertEquals(chunkSize, maxLimit.get());
+            assertTrue(maxHeld.get() <= (long) lanes * chunkSize,
+                    "held " + maxHeld.get() + " cars at once, bound is " + (lanes * chunkSize));
+        } finally {
+            downstream.shutdownNow();
+        }
+    }
+
+    /**
+     * CA discounts electric cars above 1000 by 10%, TX never discounts.
+     */
+    private static void stubStates(final ReferenceDataCache cache) {
+        when(cache.getStateInformation("CA")).thenReturn(CompletableFuture.completedFuture(
+                new StateModel(1, "CA", 1000, List.of(new DiscountModel(1, "electric", 10, CarFullTypeEnum.ELECTRIC)))));
+        when(cache.getStateInformation("TX")).thenReturn(CompletableFuture.completedFuture(
+                new StateModel(2, "TX", 100_000, List.of())));
+        when(cache.getDiscountByType("CA", CarFullTypeEnum.ELECTRIC)).thenReturn(CompletableFuture.completedFuture(10));
+    }
+
+    /**
+     * Serves the inventory of a dealer a page at a time, as the dealers endpoint does given an offset and a limit.
+     */
+    private static Answer<CompletableFuture<DealerModel>> pages(final DealerModel dealer) {
+        return invocation -> {
+            final int offset = invocation.getArgument(1);
+            final int limit = invocation.getArgument(2);
+            final List<DealerCarModel> cars = dealer.cars();
+            return CompletableFuture.completedFuture(new DealerModel(dealer.id(), dealer.name(), dealer.overhead(),
+                    cars.subList(Math.min(offset, cars.size()), Math.min(offset + limit, cars.size()))));
+        };
+    }
+
+    private static DealerCarModel car(final int id,
+                                      final CarFullTypeEnum fullType) {
+        return new DealerCarModel(id, "model", 2024, "manufacturer", 1, fullType, CarTypeEnum.SEDAN);
+    }
+}
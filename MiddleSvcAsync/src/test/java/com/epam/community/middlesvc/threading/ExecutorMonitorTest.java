@@ -0,0 +1,66 @@
+package com.epam.community.middlesvc.threading;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExecutorMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorMonitor executorMonitor = new ExecutorMonitor(this.meterRegistry);
+    private final ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 1L, TimeUnit.SECONDS, new SynchronousQueue<>());
+
+    @AfterEach
+    void tearDown() {
+        this.pool.shutdownNow();
+    }
+
+    @Test
+    void monitor_countsRejectionsAndReportsSaturation() throws InterruptedException {
+        final ExecutorService monitored = this.executorMonitor.monitor("test", this.pool);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        monitored.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+
+        assertThrows(RejectedExecutionException.class, () -> monitored.execute(() -> { }));
+
+        final ExecutorMonitor.PoolSnapshot snapshot = this.executorMonitor.snapshot().get("test");
+        assertEquals(1, snapshot.active());
+        assertEquals(1L, snapshot.rejected());
+        assertEquals(1.0, this.meterRegistry.get("executor.rejected").tag("name", "test").counter().count());
+        release.countDown();
+    }
+
+    @Test
+    void monitor_reportsTheDeclaredMaxPoolSizeOfAForkJoinPool() {
+        final ForkJoinPool forkJoinPool = new ForkJoinPool(2);
+        try {
+            this.executorMonitor.monitor("fork-join", forkJoinPool, 8);
+
+            final ExecutorMonitor.PoolSnapshot snapshot = this.executorMonitor.snapshot().get("fork-join");
+            assertEquals(2, snapshot.corePoolSize());
+            assertEquals(8, snapshot.maxPoolSize());
+        } finally {
+            forkJoinPool.shutdownNow();
+        }
+    }
+}
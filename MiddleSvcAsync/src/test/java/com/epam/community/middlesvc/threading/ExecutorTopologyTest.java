@@ -0,0 +1,95 @@
+package com.epam.community.middlesvc.threading;
+
+import com.epam.community.middlesvc.admission.SojournAdmissionControl;
+import com.epam.community.middlesvc.configs.AdmissionControlProperties;
+import com.epam.community.middlesvc.configs.ExecutionProperties;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties.Kind;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties.Pool;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties.QueueType;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties.RejectionPolicy;
+import com.epam.community.middlesvc.configs.FairShareProperties;
+import com.epam.community.middlesvc.context.RequestContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExecutorTopologyTest {
+
+    private static final Map<String, Pool> POOLS = Map.of(
+            "loop", pool(Kind.PLATFORM),
+            "forkJoin", pool(Kind.FORK_JOIN));
+    private static final AdmissionControlProperties ADMISSION_CONTROL = new AdmissionControlProperties(
+            false, Duration.ofMillis(20L), Duration.ofMillis(200L), Duration.ofSeconds(1L));
+    private static final ExecutorTopologyProperties.Stages STAGES = new ExecutorTopologyProperties.Stages(
+            "direct", "loop", "loop", "direct", "direct");
+
+    @Test
+    void executor_runsTasksOnTheDeclaredPool() throws Exception {
+        final ExecutorTopology topology = topology(ExecutionProperties.Mode.POOLS);
+        try {
+            final String thread = CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(),
+                    topology.executor(topology.stages().dealerFanOut())).get();
+
+            assertTrue(thread.startsWith("loop-"), thread);
+            assertThrows(IllegalStateException.class, () -> topology.executor("unknown"));
+        } finally {
+            topology.destroy();
+        }
+    }
+
+    @Test
+    void executor_resolvesEverythingButDirectToTheForkJoinPoolInForkJoinMode() throws Exception {
+        final ExecutorTopology topology = topology(ExecutionProperties.Mode.FORK_JOIN);
+        try {
+            final Executor forkJoin = topology.executor("forkJoin");
+
+            assertSame(forkJoin, topology.executor("loop"));
+            assertEquals(Thread.currentThread().getName(), CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(),
+                    topology.executor(ExecutorTopology.DIRECT)).get());
+        } finally {
+            topology.destroy();
+        }
+    }
+
+    @Test
+    void stageExecutor_runsTasksInTheContextCapturedByTheFairShare() throws Exception {
+        for (final ExecutionProperties.Mode mode : ExecutionProperties.Mode.values()) {
+            final ExecutorTopology topology = topology(mode, true);
+            final RequestContext requestContext = RequestContext.fork(null);
+            try (RequestContext.Scope ignored = RequestContext.open(requestContext)) {
+                final Executor stage = topology.stageExecutor(topology.stages().carCollect());
+
+                assertTrue(stage instanceof FairShareExecutor, mode.name());
+                assertSame(requestContext, CompletableFuture.supplyAsync(RequestContext::current, stage).get(), mode.name());
+            } finally {
+                topology.destroy();
+            }
+        }
+    }
+
+    private static ExecutorTopology topology(final ExecutionProperties.Mode mode) {
+        return topology(mode, false);
+    }
+
+    private static ExecutorTopology topology(final ExecutionProperties.Mode mode,
+                                             final boolean fairShare) {
+        return new ExecutorTopology(new ExecutorTopologyProperties(POOLS, STAGES, Duration.ofSeconds(1L)),
+                new ExecutionProperties(mode, "forkJoin"), new FairShareProperties(fairShare, 10, 2, 100),
+                new ExecutorMonitor(new SimpleMeterRegistry()), new SimpleMeterRegistry(),
+                new SojournAdmissionControl(ADMISSION_CONTROL, new SimpleMeterRegistry()));
+    }
+
+    private static Pool pool(final Kind kind) {
+        return new Pool(kind, 1, 2, Duration.ofSeconds(1L), QueueType.LINKED, 10, RejectionPolicy.ABORT, 2, 1, false, null);
+    }
+}
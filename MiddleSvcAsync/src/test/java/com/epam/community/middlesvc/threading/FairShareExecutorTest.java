@@ -0,0 +1,87 @@
+package com.epam.community.middlesvc.threading;
+
+import com.epam.community.middlesvc.context.RequestContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FairShareExecutorTest {
+
+    private final List<Runnable> handedOver = new ArrayList<>();
+    private final List<String> ran = new ArrayList<>();
+    private final List<Long> sojourns = new ArrayList<>();
+    private final FairShareExecutor executor = new FairShareExecutor("pool", this.handedOver::add, 3, 2, 10, this.sojourns::add,
+            new SimpleMeterRegistry());
+
+    @Test
+    void execute_letsALightRequestOvertakeTheBacklogOfAHeavyOne() {
+        this.submit(RequestContext.fork(null), "heavy", 10);
+        this.submit(RequestContext.fork(null), "light", 1);
+
+        // the heavy request holds its share only, the light one takes the free slot
+        assertEquals(3, this.handedOver.size());
+        this.runHandedOver(3);
+
+        assertEquals(List.of("heavy", "heavy", "light"), this.ran);
+    }
+
+    @Test
+    void execute_capsTheTasksInFlightPerRequest() {
+        this.submit(RequestContext.fork(null), "heavy", 10);
+
+        assertEquals(2, this.handedOver.size());
+        this.runHandedOver(1);
+
+        assertEquals(3, this.handedOver.size());
+    }
+
+    @Test
+    void execute_rejectsTasksBeyondTheQueueBound() {
+        final RequestContext requestContext = RequestContext.fork(null);
+        // two handed over, ten waiting for their turn
+        this.submit(requestContext, "heavy", 12);
+
+        assertThrows(RejectedExecutionException.class, () -> this.submit(requestContext, "heavy", 1));
+        this.runHandedOver(1);
+        this.submit(requestContext, "heavy", 1);
+        assertEquals(3, this.handedOver.size());
+    }
+
+    @Test
+    void execute_reportsTheSojournFromTheSubmissionWhenTheTaskStarts() throws InterruptedException {
+        this.submit(RequestContext.fork(null), "heavy", 3);
+        Thread.sleep(20L);
+
+        assertEquals(List.of(), this.sojourns);
+        this.runHandedOver(2);
+        // the third task waited for its request's turn, the wait counts as well
+        this.handedOver.get(2).run();
+
+        assertEquals(3, this.sojourns.size());
+        assertTrue(this.sojourns.get(2) >= TimeUnit.MILLISECONDS.toNanos(20L), this.sojourns.toString());
+    }
+
+    private void submit(final RequestContext requestContext,
+                        final String name,
+                        final int tasks) {
+        try (RequestContext.Scope ignored = RequestContext.open(requestContext)) {
+            for (int i = 0; i < tasks; i++) {
+                this.executor.execute(() -> this.ran.add(name));
+            }
+        }
+    }
+
+    private void runHandedOver(final int tasks) {
+        for (int i = 0; i < tasks; i++) {
+            this.handedOver.get(i).run();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.epam.community.middlesvc.threading;
+
+import com.epam.community.middlesvc.context.RequestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers the task wrapping of {@link MdcForkJoinPool} from several submitters while the workers steal each other's
+ * subtasks. Every task, the roots and their subtasks, is submitted through the pool, so every one of them runs in
+ * a wrapper and the wrappers are what the workers steal. Wrappers completed from outside the pool meanwhile
+ * must keep the overriding result.
+ */
+class MdcForkJoinPoolStressTest {
+
+    private static final int SUBMITTERS = 8;
+    private static final int ROOTS_PER_SUBMITTER = 200;
+    private static final int SIZE = 1_000;
+
+    private final MdcForkJoinPool pool = new MdcForkJoinPool(4, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false);
+    private final ExecutorService submitters = Executors.newFixedThreadPool(SUBMITTERS);
+    private final AtomicInteger foreignContexts = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        this.submitters.shutdownNow();
+        this.pool.shutdownNow();
+    }
+
+    @Test
+    void submit_keepsResultAndContextOfEveryTaskUnderStealing() throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> results = new ArrayList<>();
+        for (int submitter = 0; submitter < SUBMITTERS; submitter++) {
+            results.add(this.submitters.submit(() -> {
+                start.await();
+                for (int root = 0; root < ROOTS_PER_SUBMITTER; root++) {
+                    final RequestContext requestContext = RequestContext.withTimeout(Duration.ofMinutes(1L), false);
+                    final ForkJoinTask<Long> sum;
+                    try (RequestContext.Scope ignored = RequestContext.open(requestContext)) {
+                        sum = this.pool.submit(new Sum(requestContext, 0, SIZE));
+                    }
+                    assertEquals((long) SIZE * (SIZE - 1) / 2, sum.join());
+                    assertEquals((long) SIZE * (SIZE - 1) / 2, sum.getRawResult());
+                    requestContext.complete();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (final Future<?> result : results) {
+            result.get(1L, TimeUnit.MINUTES);
+        }
+        assertEquals(0, this.foreignContexts.get());
+    }
+
+    @Test
+    void complete_overridesTheResultOfWrappersWhileTheyAreStolen() throws Exception {
+        final BlockingQueue<Pending> pending = new LinkedBlockingQueue<>();
+        final List<Pending> overridden = new ArrayList<>();
+        final AtomicBoolean submitted = new AtomicBoolean();
+        // completes every other subtask from outside the pool, before, while or after a worker runs it
+        final Thread completer = new Thread(() -> {
+            int polled = 0;
+            while (!submitted.get() || !pending.isEmpty()) {
+                final Pending next;
+                try {
+                    next = pending.poll(1L, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if ((next != null) && (polled++ % 2 == 0)) {
+                    next.wrapper.complete(new Partial(next.expected, true));
+                    overridden.add(next);
+                }
+            }
+        });
+        completer.start();
+
+        final List<Future<?>> results = new ArrayList<>();
+        for (int submitter = 0; submitter < SUBMITTERS; submitter++) {
+            results.add(this.submitters.submit(() -> {
+                for (int root = 0; root < ROOTS_PER_SUBMITTER; root++) {
+                    // an overriding result carries the same sum, so the roots add up either way
+                    assertEquals((long) SIZE * (SIZE - 1) / 2, this.pool.submit(new Range(pending, 0, SIZE)).join().sum());
+                }
+                return null;
+            }));
+        }
+        for (final Future<?> result : results) {
+            result.get(1L, TimeUnit.MINUTES);
+        }
+        submitted.set(true);
+        completer.join(TimeUnit.MINUTES.toMillis(1L));
+
+        assertFalse(overridden.isEmpty());
+        for (final Pending completed : overridden) {
+            assertTrue(completed.wrapper.isDone());
+            assertFalse(completed.wrapper.isCompletedAbnormally());
+            assertTrue(completed.wrapper.join().overridden());
+            assertTrue(completed.wrapper.getRawResult().overridden());
+        }
+    }
+
+    @Test
+    void submit_propagatesTheFailureOfTheTask() {
+        final ForkJoinTask<Long> failing = this.pool.submit(new RecursiveTask<Long>() {
+            @Override
+            protected Long compute() {
+                throw new IllegalStateException("failed");
+            }
+        });
+
+        assertThrows(IllegalStateException.class, failing::join);
+        assertTrue(failing.isCompletedAbnormally());
+        assertInstanceOf(IllegalStateException.class, failing.getException());
+    }
+
+    private final class Sum extends RecursiveTask<Long> {
+        private final RequestContext requestContext;
+        private final int from;
+        private final int to;
+
+        private Sum(final RequestContext requestContext,
+                    final int from,
+                    final int to) {
+            this.requestContext = requestContext;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (RequestContext.current() != this.requestContext) {
+                MdcForkJoinPoolStressTest.this.foreignContexts.incrementAndGet();
+            }
+            if (this.to - this.from <= 16) {
+                long sum = 0L;
+                for (int i = this.from; i < this.to; i++) {
+                    sum += i;
+                }
+                return sum;
+            }
+            final int middle = (this.from + this.to) >>> 1;
+            // submitted from a worker, the wrapper lands in its local queue, where the other workers steal it from
+            final ForkJoinTask<Long> left = MdcForkJoinPoolStressTest.this.pool.submit(
+                    new Sum(this.requestContext, this.from, middle));
+            final long right = new Sum(this.requestContext, middle, this.to).compute();
+            return right + left.join();
+        }
+    }
+
+    private record Partial(long sum,
+                           boolean overridden) {
+    }
+
+    private record Pending(ForkJoinTask<Partial> wrapper,
+                           long expected) {
+    }
+
+    private final class Range extends RecursiveTask<Partial> {
+        private final BlockingQueue<Pending> pending;
+        private final int from;
+        private final int to;
+
+        private Range(final BlockingQueue<Pending> pending,
+                      final int from,
+                      final int to) {
+            this.pending = pending;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (this.to - this.from <= 16) {
+                long sum = 0L;
+                for (int i = this.from; i < this.to; i++) {
+                    sum += i;
+                }
+                return new Partial(sum, false);
+            }
+            final int middle = (this.from + this.to) >>> 1;
+            final ForkJoinTask<Partial> left = MdcForkJoinPoolStressTest.this.pool.submit(new Range(this.pending, this.from, middle));
+            this.pending.add(new Pending(left, (long) (this.from + middle - 1) * (middle - this.from) / 2));
+            final long right = new Range(this.pending, middle, this.to).compute().sum();
+            return new Partial(right + left.join().sum(), false);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.epam.community.middlesvc.threading;
+
+import com.epam.community.middlesvc.admission.SojournAdmissionControl;
+import com.epam.community.middlesvc.configs.AdmissionControlProperties;
+import com.epam.community.middlesvc.configs.AutotuningProperties;
+import com.epam.community.middlesvc.configs.ExecutionProperties;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties.Kind;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties.Pool;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties.QueueType;
+import com.epam.community.middlesvc.configs.ExecutorTopologyProperties.RejectionPolicy;
+import com.epam.community.middlesvc.configs.FairShareProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PoolAutotunerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorTopology topology = new ExecutorTopology(
+            new ExecutorTopologyProperties(
+                    Map.of("pool", new Pool(Kind.PLATFORM, 4, 8, Duration.ofSeconds(1L), QueueType.LINKED, 10, RejectionPolicy.ABORT, 1, 1, false, null)),
+                    new ExecutorTopologyProperties.Stages("direct", "pool", "pool", "direct", "direct"),
+                    Duration.ofSeconds(1L)),
+            new ExecutionProperties(ExecutionProperties.Mode.POOLS, "pool"),
+            new FairShareProperties(false, 10, 2, 100),
+            new ExecutorMonitor(this.meterRegistry),
+            this.meterRegistry,
+            new SojournAdmissionControl(new AdmissionControlProperties(
+                    false, Duration.ofMillis(20L), Duration.ofMillis(200L), Duration.ofSeconds(1L)), this.meterRegistry));
+    private final PoolAutotuner autotuner = new PoolAutotuner(this.topology,
+            new AutotuningProperties(true, Duration.ofSeconds(10L), 0.5, 2, 400, 0.5, 1.0, 10L), this.meterRegistry);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        this.topology.destroy();
+    }
+
+    @Test
+    void tune_growsBusyPoolByAtMostOneStep() {
+        this.autotuner.tune();
+        this.record(1_000, Duration.ofSeconds(1L));
+        this.autotuner.tune();
+
+        assertEquals(6, this.topology.threadPools().get("pool").getCorePoolSize());
+        assertEquals(6, this.autotuner.decisions().get("pool").to());
+    }
+
+    @Test
+    void tune_keepsPoolWithinItsDeclaredMaximum() {
+        this.autotuner.tune();
+        this.record(1_000, Duration.ofSeconds(1L));
+        this.autotuner.tune();
+        this.record(1_000, Duration.ofSeconds(1L));
+        this.autotuner.tune();
+
+        assertEquals(8, this.topology.threadPools().get("pool").getCorePoolSize());
+        assertEquals(8, this.topology.threadPools().get("pool").getMaximumPoolSize());
+    }
+
+    @Test
+    void tune_leavesPoolAloneWhileDisabled() {
+        this.autotuner.update(false, null, null, null);
+        this.autotuner.tune();
+        this.record(1_000, Duration.ofSeconds(1L));
+        this.autotuner.tune();
+
+        assertEquals(4, this.topology.threadPools().get("pool").getCorePoolSize());
+    }
+
+    @Test
+    void update_rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> this.autotuner.update(null, 1.5, null, null));
+        assertThrows(IllegalArgumentException.class, () -> this.autotuner.update(null, null, 10, 5));
+    }
+
+    private void record(final int tasks,
+                        final Duration each) {
+        final Timer timer = this.meterRegistry.get("executor").tag("name", "pool").timer();
+        for (int i = 0; i < tasks; i++) {
+            timer.record(each);
+        }
+    }
+}
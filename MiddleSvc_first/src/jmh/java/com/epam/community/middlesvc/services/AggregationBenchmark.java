@@ -0,0 +1,146 @@
+package com.epam.community.middlesvc.services;
+
+import com.epam.community.middlesvc.clients.DealerClient;
+import com.epam.community.middlesvc.clients.ManufacturerClient;
+import com.epam.community.middlesvc.clients.StateClient;
+import com.epam.community.middlesvc.models.CarFullTypeEnum;
+import com.epam.community.middlesvc.models.CarModel;
+import com.epam.community.middlesvc.models.DealerModel;
+import com.epam.community.middlesvc.models.IdNameModel;
+import com.epam.community.middlesvc.models.StateModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The aggregation of {@link CarService} against an in-memory {@link SyntheticCatalog}, every downstream call
+ * blocking its thread for {@code latencyMicros}, as the RestTemplate clients do.
+ * The aggregation runs on a pool sized like the {@code generalAsyncExecutor}; as its queue overflows at the larger
+ * catalogs, the overflow runs on the submitting thread instead of being rejected.
+ * <p>
+ * Run with {@code ./gradlew jmh}: throughput and the latency percentiles (sample mode) per concurrent request,
+ * the gc profiler adds the allocation per aggregation as {@code gc.alloc.rate.norm}. MiddleSvc and MiddleSvcAsync
+ * have the same benchmark of their aggregation, with the same catalog and parameters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class AggregationBenchmark {
+
+    @Param({"20"})
+    private int dealers;
+    @Param({"10", "100"})
+    private int carsPerDealer;
+    @Param({"0", "1000"})
+    private int latencyMicros;
+
+    private ExecutorService executor;
+    private CarService carService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final SyntheticCatalog catalog = new SyntheticCatalog(this.dealers, this.carsPerDealer);
+        this.executor = new ThreadPoolExecutor(50, 100, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(300),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.carService = new CarService(new StubDealerClient(catalog, this.latencyMicros), new StubStateClient(catalog, this.latencyMicros),
+                new StubManufacturerClient(catalog, this.latencyMicros), this.executor);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    @Benchmark
+    public List<CarModel> cheapestCars() {
+        return this.carService.getCheapestCarsInStateAsync(SyntheticCatalog.STATE_CODE, null, null, 3).join();
+    }
+
+    private static void call(final long latencyMicros) {
+        if (latencyMicros > 0L) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(latencyMicros));
+        }
+    }
+
+    private static final class StubStateClient extends StateClient {
+        private final SyntheticCatalog catalog;
+        private final long latencyMicros;
+
+        private StubStateClient(final SyntheticCatalog catalog,
+                                final long latencyMicros) {
+            super(null);
+            this.catalog = catalog;
+            this.latencyMicros = latencyMicros;
+        }
+
+        @Override
+        public List<IdNameModel> getDealersByState(final String code) {
+            call(this.latencyMicros);
+            return this.catalog.dealersOfState();
+        }
+
+        @Override
+        public StateModel getStateInformation(final String code) {
+            call(this.latencyMicros);
+            return this.catalog.state();
+        }
+
+        @Override
+        public int getDiscountByType(final String stateCode, final String type) {
+            call(this.latencyMicros);
+            return SyntheticCatalog.discount(CarFullTypeEnum.fromString(type));
+        }
+    }
+
+    private static final class StubDealerClient extends DealerClient {
+        private final SyntheticCatalog catalog;
+        private final long latencyMicros;
+
+        private StubDealerClient(final SyntheticCatalog catalog,
+                                 final long latencyMicros) {
+            super(null);
+            this.catalog = catalog;
+            this.latencyMicros = latencyMicros;
+        }
+
+        @Override
+        public DealerModel getDealerInfo(final int id) {
+            call(this.latencyMicros);
+            return this.catalog.dealer(id);
+        }
+    }
+
+    private static final class StubManufacturerClient extends ManufacturerClient {
+        private final SyntheticCatalog catalog;
+        private final long latencyMicros;
+
+        private StubManufacturerClient(final SyntheticCatalog catalog,
+                                       final long latencyMicros) {
+            super(null);
+            this.catalog = catalog;
+            this.latencyMicros = latencyMicros;
+        }
+
+        @Override
+        public Integer getPriceByCarId(final int id) {
+            call(this.latencyMicros);
+            return this.catalog.price(id);
+        }
+    }
+}
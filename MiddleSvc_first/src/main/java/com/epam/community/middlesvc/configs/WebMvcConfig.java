@@ -2,7 +2,9 @@ package com.epam.community.middlesvc.configs;
 
 import com.epam.community.middlesvc.contollers.RestConstants;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -15,6 +17,9 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 @EnableWebMvc
 public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Value("${com.epam.community.async.request-timeout-ms:30000}")
+    private long asyncRequestTimeoutMs;
     /**
      * This method adds view controllers to the registry.
      * It sets up a redirect from the API delimiter to the Swagger UI.
@@ -25,4 +30,15 @@ public class WebMvcConfig implements WebMvcConfigurer {
     public void addViewControllers(final ViewControllerRegistry registry) {
         registry.addRedirectViewController(RestConstants.API_DELIMITER, RestConstants.SWAGGER_UI);
     }
+
+    /**
+     * This method is used to configure the asynchronous request processing.
+     * A request not answered within the timeout is answered with 503.
+     *
+     * @param configurer the AsyncSupportConfigurer to which the timeout is applied.
+     */
+    @Override
+    public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(this.asyncRequestTimeoutMs);
+    }
 }
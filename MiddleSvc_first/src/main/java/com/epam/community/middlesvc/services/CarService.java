@@ -58,18 +58,26 @@ public class CarService {
      * @param carType The type of the car to retrieve.
      * @param carFullType The full type of the car to retrieve.
      * @param maxCars The maximum number of cars to retrieve.
-     * @return A List of CarModel objects representing the cheapest cars in the state.
+     * @return A CompletableFuture of a List of CarModel objects representing the cheapest cars in the state,
+     * the caller is not blocked while the data is collected.
      */
-    public List<CarModel> getCheapestCarsInState(final String stateCode,
-                                                 final CarTypeEnum carType,
-                                                 final CarFullTypeEnum carFullType,
-                                                 final int maxCars) {
+    public CompletableFuture<List<CarModel>> getCheapestCarsInStateAsync(final String stateCode,
+                                                                         final CarTypeEnum carType,
+                                                                         final CarFullTypeEnum carFullType,
+                                                                         final int maxCars) {
         log.info("Getting 3 cheapest cars in State: {} CarType: {}, CarFullType: {}", stateCode, carType, carFullType);
 
         // DATA collecting stage
-        val carModels = new HashMap<String, CarModel>();
-        val stateInfo = this.getStateInformationFuture(stateCode).join();
-        val collectedFeatures = this.getDealersByStateFuture(stateCode)
+        return this.getStateInformationFuture(stateCode)
+                .thenCompose(stateInfo -> this.collectFeatures(stateCode, carType, carFullType, stateInfo))
+                .thenApply(collectedFeatures -> this.cheapestCars(stateCode, maxCars, collectedFeatures));
+    }
+
+    private CompletableFuture<List<List<CollectedData>>> collectFeatures(final String stateCode,
+                                                                         final CarTypeEnum carType,
+                                                                         final CarFullTypeEnum carFullType,
+                                                                         final StateModel stateInfo) {
+        return this.getDealersByStateFuture(stateCode)
                 .thenApplyAsync(dealers -> dealers.stream()
                         .map(
                                 dealer -> {
@@ -89,8 +97,13 @@ public class CarService {
                                 })
                                 .toList(),
                         this.generalAsyncExecutor);
+    }
 
-        collectedFeatures.join().stream()
+    private List<CarModel> cheapestCars(final String stateCode,
+                                        final int maxCars,
+                                        final List<List<CollectedData>> collectedFeatures) {
+        val carModels = new HashMap<String, CarModel>();
+        collectedFeatures.stream()
                 .flatMap(Collection::stream)
                 .forEach(collectedInfo -> {
                     val carModel = CarModel.builder()
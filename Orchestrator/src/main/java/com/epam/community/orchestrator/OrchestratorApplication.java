@@ -0,0 +1,21 @@
+package com.epam.community.orchestrator;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.PropertySource;
+
+@SpringBootApplication
+@ConfigurationPropertiesScan
+@PropertySource("classpath:topology/middle.properties")
+public class OrchestratorApplication {
+
+    public static void main(final String[] args) {
+        // the jars of the topology carry an application.yaml each, the orchestrator reads its own orchestrator.yaml
+        System.exit(SpringApplication.exit(new SpringApplicationBuilder(OrchestratorApplication.class)
+                .properties("spring.config.name=orchestrator")
+                .run(args)));
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.epam.community.orchestrator.configs;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+
+/**
+ * Configuration class for the HTTP client sending the load of the scenarios, non-blocking as in the LoadGenerator.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * Bean for the HTTP client, HTTP/1.1 as the services run on Tomcat without TLS.
+     *
+     * @param properties the matrix settings
+     * @return a new HttpClient
+     */
+    @Bean
+    public HttpClient loadHttpClient(final OrchestratorProperties properties) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.load().requestTimeout())
+                .build();
+    }
+}
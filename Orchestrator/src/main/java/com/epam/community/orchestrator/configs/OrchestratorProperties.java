@@ -0,0 +1,82 @@
+package com.epam.community.orchestrator.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties of a benchmark matrix: every combination of the {@link Matrix} values is a scenario,
+ * run against the topology (three DownstreamServer roles and the Middle variant of the build) started in this JVM
+ * on random local ports.
+ *
+ * @param middle                the Middle variant of the build, set from {@code topology/middle.properties}
+ * @param matrix                the swept parameters
+ * @param load                  the load of every scenario
+ * @param downstreamProperties  properties every DownstreamServer instance is started with, over its application.yaml
+ * @param middleProperties      properties the Middle service is started with, over its application.yaml
+ * @param label                 the name of the matrix in the reports, prefix of the scenario labels
+ * @param reportDirectory       the directory the comparison table and the reports of the scenarios are written to
+ */
+@ConfigurationProperties(prefix = "com.epam.community.orchestrator")
+public record OrchestratorProperties(
+        Middle middle,
+        @DefaultValue Matrix matrix,
+        @DefaultValue Load load,
+        @DefaultValue Map<String, String> downstreamProperties,
+        @DefaultValue Map<String, String> middleProperties,
+        @DefaultValue("matrix") String label,
+        @DefaultValue("reports") Path reportDirectory) {
+
+    /**
+     * The Middle variant the orchestrator was built with.
+     *
+     * @param variant     the module name, e.g. MiddleSvcAsync
+     * @param application the fully qualified name of its application class
+     */
+    public record Middle(
+            String variant,
+            String application) {
+    }
+
+    /**
+     * The swept parameters, the scenarios are run in the order of their declaration, the rate varying fastest.
+     * The DownstreamServer instances are restarted per instance count and sleep time, the Middle service per
+     * thread count, the rates run against the same started topology.
+     *
+     * @param downstreamInstances the number of DownstreamServer instances per role, more than one needs a Middle
+     *                            variant with client side load balancing
+     * @param sleepTimes          the time every DownstreamServer endpoint sleeps per request ({@code com.epam.sleepTime})
+     * @param tomcatThreads       the maximum request threads of the Middle service ({@code server.tomcat.threads.max})
+     * @param rates               the requests per second sent to the Middle service, the open-loop counterpart of the
+     *                            number of JMeter users
+     */
+    public record Matrix(
+            @DefaultValue("1") List<Integer> downstreamInstances,
+            @DefaultValue("10ms") List<Duration> sleepTimes,
+            @DefaultValue("100") List<Integer> tomcatThreads,
+            @DefaultValue("50") List<Double> rates) {
+    }
+
+    /**
+     * The load of a scenario, see the LoadGenerator module.
+     *
+     * @param path           the path of the Middle service endpoint requested
+     * @param warmup         how long the load runs before it is measured
+     * @param duration       how long the load is measured
+     * @param requestTimeout a request not answered within it counts as failed
+     * @param maxInFlight    requests beyond it are not sent but counted as skipped
+     * @param reportInterval how often the progress is logged
+     */
+    public record Load(
+            @DefaultValue("/api/v0.1/cars/straightforward/CA/cars") String path,
+            @DefaultValue("10s") Duration warmup,
+            @DefaultValue("30s") Duration duration,
+            @DefaultValue("30s") Duration requestTimeout,
+            @DefaultValue("10000") int maxInFlight,
+            @DefaultValue("5s") Duration reportInterval) {
+    }
+}
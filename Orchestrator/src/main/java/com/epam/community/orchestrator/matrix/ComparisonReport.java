@@ -0,0 +1,121 @@
+package com.epam.community.orchestrator.matrix;
+
+import com.epam.community.orchestrator.configs.OrchestratorProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reports a matrix: the throughput and the tail latency of every scenario side by side, logged and written as a
+ * Markdown table to {@code <label>-<time>.md} in the report directory. The latencies are measured from the intended
+ * send time, the full distributions are in the histograms of the scenarios.
+ * <p>
+ * The latency columns cover all requests, a failed, skipped or abandoned one included, so a scenario shedding its
+ * load does not get a better tail for it. {@code ok_p99_ms} is the p99 of the succeeded requests alone.
+ */
+@Component
+@Slf4j
+public class ComparisonReport {
+
+    static final List<String> HEADER = List.of("instances", "sleep_ms", "tomcat_threads", "rate", "throughput",
+            "p50_ms", "p99_ms", "p99_9_ms", "max_ms", "ok_p99_ms", "failed", "skipped");
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final OrchestratorProperties properties;
+
+    /**
+     * Constructor for the ComparisonReport class.
+     *
+     * @param properties The matrix settings, the label and report directory are taken from them.
+     */
+    public ComparisonReport(final OrchestratorProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Logs and writes the comparison table.
+     *
+     * @param results the outcomes of the scenarios in the order they were run
+     * @throws IOException if the table could not be written
+     */
+    public void report(final List<ScenarioResult> results) throws IOException {
+        final String table = table(results);
+        log.info("Matrix '{}' of {}:{}{}", this.properties.label(), this.properties.middle().variant(),
+                System.lineSeparator(), table);
+
+        final Path directory = this.properties.reportDirectory();
+        Files.createDirectories(directory);
+        final Path file = directory.resolve(this.properties.label() + "-" + FILE_TIME.format(LocalDateTime.now()) + ".md");
+        Files.writeString(file, "# " + this.properties.label() + " (" + this.properties.middle().variant() + ")"
+                + System.lineSeparator() + System.lineSeparator() + table, StandardCharsets.UTF_8);
+        log.info("Comparison written to {}", file.toAbsolutePath());
+    }
+
+    static String table(final List<ScenarioResult> results) {
+        final List<List<String>> rows = new ArrayList<>(results.size() + 1);
+        rows.add(HEADER);
+        results.forEach(result -> rows.add(row(result)));
+        final int[] widths = new int[HEADER.size()];
+        rows.forEach(row -> {
+            for (int column = 0; column < widths.length; column++) {
+                widths[column] = Math.max(widths[column], row.get(column).length());
+            }
+        });
+
+        final StringBuilder table = new StringBuilder();
+        for (int i = 0; i < rows.size(); i++) {
+            line(table, rows.get(i), widths);
+            if (i == 0) {
+                final List<String> separator = new ArrayList<>(widths.length);
+                for (final int width : widths) {
+                    separator.add(String.join("", Collections.nCopies(width - 1, "-")) + ":");
+                }
+                line(table, separator, widths);
+            }
+        }
+        return table.toString();
+    }
+
+    private static List<String> row(final ScenarioResult result) {
+        final Scenario scenario = result.scenario();
+        final Histogram all = result.load().all();
+        return List.of(
+                Integer.toString(scenario.downstreamInstances()),
+                Long.toString(scenario.sleepTime().toMillis()),
+                Integer.toString(scenario.tomcatThreads()),
+                String.format(Locale.ROOT, "%.1f", scenario.rate()),
+                String.format(Locale.ROOT, "%.1f", result.throughput()),
+                millis(all.getValueAtPercentile(50.0)),
+                millis(all.getValueAtPercentile(99.0)),
+                millis(all.getValueAtPercentile(99.9)),
+                millis(all.getMaxValue()),
+                millis(result.load().succeeded().getValueAtPercentile(99.0)),
+                Long.toString(result.load().failed().getTotalCount()),
+                Long.toString(result.load().skipped()));
+    }
+
+    private static void line(final StringBuilder table,
+                             final List<String> cells,
+                             final int[] widths) {
+        table.append('|');
+        for (int column = 0; column < widths.length; column++) {
+            table.append(' ').append(String.format("%" + widths[column] + "s", cells.get(column))).append(" |");
+        }
+        table.append(System.lineSeparator());
+    }
+
+    private static String millis(final double micros) {
+        return String.format(Locale.ROOT, "%.3f", micros / 1000.0);
+    }
+}
@@ -0,0 +1,89 @@
+package com.epam.community.orchestrator.matrix;
+
+import com.epam.community.loadgenerator.configs.LoadGeneratorProperties;
+import com.epam.community.loadgenerator.load.LoadReport;
+import com.epam.community.loadgenerator.load.OpenLoopDriver;
+import com.epam.community.orchestrator.configs.OrchestratorProperties;
+import com.epam.community.orchestrator.topology.DownstreamServers;
+import com.epam.community.orchestrator.topology.RunningService;
+import com.epam.community.orchestrator.topology.TopologyLauncher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs every scenario of the matrix once the application has started, the application exits afterwards.
+ * <p>
+ * The topology is only restarted for the parameters it is started with: the DownstreamServer instances per instance
+ * count and sleep time, the Middle service per thread count. The rates run one after the other against the same
+ * services, every one with its own warmup. Each scenario is reported as a LoadGenerator run (a row of
+ * {@code summary.csv} and a histogram), the matrix as a comparison table.
+ */
+@Component
+@Slf4j
+public class MatrixRunner implements CommandLineRunner {
+
+    private final OrchestratorProperties properties;
+    private final TopologyLauncher topologyLauncher;
+    private final HttpClient loadHttpClient;
+    private final ComparisonReport comparisonReport;
+
+    /**
+     * Constructor for the MatrixRunner class.
+     *
+     * @param properties       The matrix settings.
+     * @param topologyLauncher The launcher of the services.
+     * @param loadHttpClient   The client sending the load.
+     * @param comparisonReport The report of the matrix.
+     */
+    public MatrixRunner(final OrchestratorProperties properties,
+                        final TopologyLauncher topologyLauncher,
+                        final HttpClient loadHttpClient,
+                        final ComparisonReport comparisonReport) {
+        this.properties = properties;
+        this.topologyLauncher = topologyLauncher;
+        this.loadHttpClient = loadHttpClient;
+        this.comparisonReport = comparisonReport;
+    }
+
+    @Override
+    public void run(final String... args) throws Exception {
+        final OrchestratorProperties.Matrix matrix = this.properties.matrix();
+        final List<ScenarioResult> results = new ArrayList<>();
+        for (final int instances : matrix.downstreamInstances()) {
+            for (final Duration sleepTime : matrix.sleepTimes()) {
+                try (DownstreamServers downstreamServers = this.topologyLauncher.startDownstreamServers(instances, sleepTime)) {
+                    for (final int tomcatThreads : matrix.tomcatThreads()) {
+                        try (RunningService middle = this.topologyLauncher.startMiddle(downstreamServers, tomcatThreads)) {
+                            for (final double rate : matrix.rates()) {
+                                results.add(this.runScenario(new Scenario(instances, sleepTime, tomcatThreads, rate), middle));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        this.comparisonReport.report(results);
+    }
+
+    private ScenarioResult runScenario(final Scenario scenario,
+                                       final RunningService middle) throws InterruptedException, IOException {
+        final OrchestratorProperties.Load load = this.properties.load();
+        final LoadGeneratorProperties loadProperties = new LoadGeneratorProperties(
+                List.of(URI.create(middle.baseUrl() + load.path())), scenario.rate(), load.warmup(), load.duration(),
+                load.requestTimeout(), load.maxInFlight(), load.reportInterval(), scenario.label(this.properties.label()),
+                this.properties.reportDirectory());
+        log.info("Running scenario {}", loadProperties.label());
+        final ScenarioResult result = new ScenarioResult(scenario,
+                new OpenLoopDriver(this.loadHttpClient, loadProperties).run());
+        new LoadReport(loadProperties).report(result.load());
+        return result;
+    }
+}
@@ -0,0 +1,28 @@
+package com.epam.community.orchestrator.matrix;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * A combination of the swept parameters.
+ *
+ * @param downstreamInstances the DownstreamServer instances per role
+ * @param sleepTime           the time every DownstreamServer endpoint sleeps per request
+ * @param tomcatThreads       the maximum request threads of the Middle service
+ * @param rate                the requests per second sent to the Middle service
+ */
+public record Scenario(
+        int downstreamInstances,
+        Duration sleepTime,
+        int tomcatThreads,
+        double rate) {
+
+    /**
+     * @param matrixLabel the name of the matrix
+     * @return the name of the scenario in the reports, e.g. {@code matrix-i1-s10ms-t100-r50}
+     */
+    public String label(final String matrixLabel) {
+        return matrixLabel + "-i" + this.downstreamInstances + "-s" + this.sleepTime.toMillis() + "ms-t" + this.tomcatThreads
+                + "-r" + BigDecimal.valueOf(this.rate).stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,21 @@
+package com.epam.community.orchestrator.matrix;
+
+import com.epam.community.loadgenerator.load.LoadResult;
+
+/**
+ * The outcome of the load of a scenario.
+ *
+ * @param scenario the parameters of the scenario
+ * @param load     the latencies and outcomes of its load
+ */
+public record ScenarioResult(
+        Scenario scenario,
+        LoadResult load) {
+
+    /**
+     * @return the requests per second answered with a status below 400 within the measured duration
+     */
+    public double throughput() {
+        return this.load.succeeded().getTotalCount() * 1000.0 / this.load.duration().toMillis();
+    }
+}
@@ -0,0 +1,47 @@
+package com.epam.community.orchestrator.topology;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The roles a DownstreamServer instance is started in, as in the docs: the same application serves all endpoints,
+ * the Middle service addresses every endpoint group at the instances of its role.
+ */
+public enum DownstreamRole {
+    STATES("states", "StateSvc"),
+    DEALERS("dealers", "DealerSvc"),
+    MANUFACTURERS("manufacturers", "ManufacturerSvc");
+
+    private final String group;
+    private final String applicationName;
+
+    DownstreamRole(final String group,
+                   final String applicationName) {
+        this.group = group;
+        this.applicationName = applicationName;
+    }
+
+    /**
+     * @return the endpoint group of the Middle service configuration, e.g. {@code states}
+     */
+    public String group() {
+        return this.group;
+    }
+
+    /**
+     * @return the {@code spring.application.name} of the instances
+     */
+    public String applicationName() {
+        return this.applicationName;
+    }
+
+    /**
+     * @param group the endpoint group of the Middle service configuration
+     * @return the role serving the group, empty for a group of no DownstreamServer role
+     */
+    public static Optional<DownstreamRole> fromGroup(final String group) {
+        return Arrays.stream(values())
+                .filter(role -> role.group.equals(group))
+                .findFirst();
+    }
+}
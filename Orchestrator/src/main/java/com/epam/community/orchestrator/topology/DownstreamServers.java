@@ -0,0 +1,28 @@
+package com.epam.community.orchestrator.topology;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The DownstreamServer instances of a scenario by role.
+ *
+ * @param instances the started instances per role
+ */
+public record DownstreamServers(
+        Map<DownstreamRole, List<RunningService>> instances) implements AutoCloseable {
+
+    /**
+     * @return the base URLs of the instances per role
+     */
+    public Map<DownstreamRole, List<String>> baseUrls() {
+        return this.instances.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey,
+                        entry -> entry.getValue().stream().map(RunningService::baseUrl).toList()));
+    }
+
+    @Override
+    public void close() {
+        this.instances.values().forEach(services -> services.forEach(RunningService::close));
+    }
+}
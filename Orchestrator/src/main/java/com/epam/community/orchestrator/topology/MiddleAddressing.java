@@ -0,0 +1,92 @@
+package com.epam.community.orchestrator.topology;
+
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Points the Middle service at the started DownstreamServer instances, going by the endpoint properties of its
+ * application.yaml. A variant with client side load balancing addresses the endpoint groups by name and gets the
+ * instances as its replicas ({@code com.epam.community.load-balancing.replicas.<group>}), the endpoint URLs of the
+ * other variants ({@code com.epam.community.endpoints.<group>.*}) are rewritten to the single instance of the role.
+ */
+final class MiddleAddressing {
+
+    static final String ENDPOINTS_PREFIX = "com.epam.community.endpoints.";
+    static final String REPLICAS_PREFIX = "com.epam.community.load-balancing.replicas.";
+    private static final Pattern BASE_URL = Pattern.compile("^https?://[^/?#]+");
+
+    private final Map<String, String> endpoints = new LinkedHashMap<>();
+    private boolean loadBalanced;
+
+    MiddleAddressing(final List<PropertySource<?>> configuration) {
+        for (final PropertySource<?> source : configuration) {
+            if (!(source instanceof EnumerablePropertySource<?> enumerable)) {
+                continue;
+            }
+            for (final String name : enumerable.getPropertyNames()) {
+                if (name.startsWith(REPLICAS_PREFIX)) {
+                    this.loadBalanced = true;
+                } else if (name.startsWith(ENDPOINTS_PREFIX)) {
+                    this.endpoints.put(name, String.valueOf(enumerable.getProperty(name)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the addressing from the configuration file of the Middle service.
+     *
+     * @param configuration the application.yaml of the Middle variant
+     * @return the addressing of the variant
+     * @throws IOException if the file could not be read
+     */
+    static MiddleAddressing load(final Resource configuration) throws IOException {
+        return new MiddleAddressing(new YamlPropertySourceLoader().load("middle", configuration));
+    }
+
+    /**
+     * Checks the variant can be pointed at the given number of instances per role.
+     *
+     * @param instances the DownstreamServer instances per role
+     * @throws IllegalStateException if the variant addresses a single instance only
+     */
+    void checkInstances(final int instances) {
+        if ((instances != 1) && !this.loadBalanced) {
+            throw new IllegalStateException("The Middle variant has no client side load balancing, it can only address "
+                    + "one DownstreamServer instance per role instead of " + instances);
+        }
+    }
+
+    /**
+     * @param baseUrls the base URLs of the started instances per role
+     * @return the properties pointing the Middle service at them
+     */
+    Map<String, String> properties(final Map<DownstreamRole, List<String>> baseUrls) {
+        final Map<String, String> properties = new LinkedHashMap<>();
+        if (this.loadBalanced) {
+            baseUrls.forEach((role, urls) -> {
+                for (int i = 0; i < urls.size(); i++) {
+                    properties.put(REPLICAS_PREFIX + role.group() + "[" + i + "]", urls.get(i));
+                }
+            });
+            return properties;
+        }
+        this.endpoints.forEach((name, url) -> {
+            final String group = name.substring(ENDPOINTS_PREFIX.length()).split("\\.", 2)[0];
+            DownstreamRole.fromGroup(group)
+                    .map(baseUrls::get)
+                    .ifPresent(urls -> properties.put(name,
+                            BASE_URL.matcher(url).replaceFirst(Matcher.quoteReplacement(urls.get(0)))));
+        });
+        return properties;
+    }
+}
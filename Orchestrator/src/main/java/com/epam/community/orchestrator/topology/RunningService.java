@@ -0,0 +1,34 @@
+package com.epam.community.orchestrator.topology;
+
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * A service of the topology started in this JVM, stopped by closing its application context.
+ *
+ * @param name    the name of the instance in the log, e.g. {@code DealerSvc#2}
+ * @param context the application context of the service
+ */
+public record RunningService(
+        String name,
+        ConfigurableApplicationContext context) implements AutoCloseable {
+
+    /**
+     * @return the local port the service was started on
+     */
+    public int port() {
+        return ((WebServerApplicationContext) this.context).getWebServer().getPort();
+    }
+
+    /**
+     * @return the scheme, host and port of the service
+     */
+    public String baseUrl() {
+        return "http://localhost:" + this.port();
+    }
+
+    @Override
+    public void close() {
+        this.context.close();
+    }
+}
@@ -0,0 +1,118 @@
+package com.epam.community.orchestrator.topology;
+
+import com.epam.community.downstreamserver.DownstreamServerApplication;
+import com.epam.community.orchestrator.configs.OrchestratorProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starts the services of the topology in this JVM, every one in its own application context on a random local port.
+ * <p>
+ * The jars of all modules carry an {@code application.yaml} at the same path, so a service is started from the copy
+ * of its own file the build puts under {@code topology/}, with the properties of the scenario passed as command line
+ * arguments, which take precedence over it.
+ */
+@Component
+@Slf4j
+public class TopologyLauncher {
+
+    static final String DOWNSTREAM_CONFIGURATION = "topology/downstream-server.yaml";
+    static final String MIDDLE_CONFIGURATION = "topology/middle.yaml";
+
+    // no span export to a collector which is not running, no meters piling up in the global registry across restarts
+    private static final Map<String, String> COMMON_PROPERTIES = Map.of(
+            "management.tracing.enabled", "false",
+            "management.metrics.use-global-registry", "false");
+
+    private final OrchestratorProperties properties;
+    private final MiddleAddressing middleAddressing;
+    private final Class<?> middleApplication;
+
+    /**
+     * Constructor for the TopologyLauncher class.
+     *
+     * @param properties The matrix settings, checked against the Middle variant of the build.
+     * @throws IOException            if the configuration of the Middle variant could not be read
+     * @throws ClassNotFoundException if the application class of the Middle variant is not on the classpath
+     */
+    public TopologyLauncher(final OrchestratorProperties properties) throws IOException, ClassNotFoundException {
+        this.properties = properties;
+        this.middleAddressing = MiddleAddressing.load(new ClassPathResource(MIDDLE_CONFIGURATION));
+        this.middleApplication = Class.forName(properties.middle().application());
+        properties.matrix().downstreamInstances().forEach(this.middleAddressing::checkInstances);
+    }
+
+    /**
+     * Starts the DownstreamServer instances of every role.
+     *
+     * @param instances the instances per role
+     * @param sleepTime the time every endpoint sleeps per request
+     * @return the started instances
+     */
+    public DownstreamServers startDownstreamServers(final int instances,
+                                                    final Duration sleepTime) {
+        final Map<DownstreamRole, List<RunningService>> started = new EnumMap<>(DownstreamRole.class);
+        try {
+            for (final DownstreamRole role : DownstreamRole.values()) {
+                final List<RunningService> services = new ArrayList<>(instances);
+                started.put(role, services);
+                for (int i = 1; i <= instances; i++) {
+                    final Map<String, String> scenario = new LinkedHashMap<>(this.properties.downstreamProperties());
+                    scenario.put("spring.application.name", role.applicationName());
+                    scenario.put("com.epam.sleepTime", Long.toString(sleepTime.toMillis()));
+                    services.add(this.start(role.applicationName() + "#" + i, DownstreamServerApplication.class,
+                            DOWNSTREAM_CONFIGURATION, scenario));
+                }
+            }
+        } catch (RuntimeException e) {
+            new DownstreamServers(started).close();
+            throw e;
+        }
+        return new DownstreamServers(started);
+    }
+
+    /**
+     * Starts the Middle service pointed at the given DownstreamServer instances.
+     *
+     * @param downstreamServers the instances the Middle service calls
+     * @param tomcatThreads     the maximum request threads, all of them started upfront
+     * @return the started service
+     */
+    public RunningService startMiddle(final DownstreamServers downstreamServers,
+                                      final int tomcatThreads) {
+        final Map<String, String> scenario = new LinkedHashMap<>(this.properties.middleProperties());
+        scenario.putAll(this.middleAddressing.properties(downstreamServers.baseUrls()));
+        scenario.put("server.tomcat.threads.max", Integer.toString(tomcatThreads));
+        scenario.put("server.tomcat.threads.min-spare", Integer.toString(tomcatThreads));
+        return this.start(this.properties.middle().variant(), this.middleApplication, MIDDLE_CONFIGURATION, scenario);
+    }
+
+    private RunningService start(final String name,
+                                 final Class<?> application,
+                                 final String configuration,
+                                 final Map<String, String> scenario) {
+        final Map<String, String> arguments = new LinkedHashMap<>(COMMON_PROPERTIES);
+        arguments.putAll(scenario);
+        arguments.put("spring.config.location", "classpath:/" + configuration);
+        arguments.put("server.port", "0");
+        log.info("Starting {} with {}", name, scenario);
+        final RunningService service = new RunningService(name, new SpringApplicationBuilder(application)
+                .bannerMode(Banner.Mode.OFF)
+                .run(arguments.entrySet().stream()
+                        .map(argument -> "--" + argument.getKey() + "=" + argument.getValue())
+                        .toArray(String[]::new)));
+        log.info("Started {} on port {}", name, service.port());
+        return service;
+    }
+}
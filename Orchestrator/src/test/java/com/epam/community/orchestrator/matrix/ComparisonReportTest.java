@@ -0,0 +1,38 @@
+package com.epam.community.orchestrator.matrix;
+
+import com.epam.community.loadgenerator.load.LoadResult;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ComparisonReportTest {
+
+    @Test
+    void table_takesTheTailOverTheFailedRequestsToo() {
+        // 990 requests answered in 10 ms, 20 skipped and recorded at the request timeout of 5 s
+        final Histogram succeeded = new Histogram(3);
+        succeeded.recordValueWithCount(10_000L, 990L);
+        final Histogram failed = new Histogram(3);
+        failed.recordValueWithCount(5_000_000L, 20L);
+        final ScenarioResult result = new ScenarioResult(new Scenario(1, Duration.ofMillis(10), 100, 101.0),
+                new LoadResult(List.of(URI.create("http://localhost/cars")), 101.0, Duration.ofSeconds(10), 990L, 20L,
+                        Map.of(), succeeded, failed));
+
+        final List<String> lines = ComparisonReport.table(List.of(result)).lines().toList();
+        final List<String> cells = Arrays.stream(lines.get(2).split("\\|"))
+                .map(String::trim)
+                .filter(cell -> !cell.isEmpty())
+                .toList();
+
+        assertEquals(5000.0, Double.parseDouble(cells.get(ComparisonReport.HEADER.indexOf("p99_ms"))), 5.0);
+        assertEquals(10.0, Double.parseDouble(cells.get(ComparisonReport.HEADER.indexOf("ok_p99_ms"))), 0.01);
+        assertEquals("20", cells.get(ComparisonReport.HEADER.indexOf("failed")));
+    }
+}
@@ -0,0 +1,47 @@
+package com.epam.community.orchestrator.topology;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MiddleAddressingTest {
+
+    private static final Map<DownstreamRole, List<String>> BASE_URLS = Map.of(
+            DownstreamRole.STATES, List.of("http://localhost:50001"),
+            DownstreamRole.DEALERS, List.of("http://localhost:50002", "http://localhost:50003"),
+            DownstreamRole.MANUFACTURERS, List.of("http://localhost:50004"));
+
+    @Test
+    void properties_rewritesTheEndpointsOfAVariantWithoutLoadBalancing() {
+        final MiddleAddressing addressing = new MiddleAddressing(List.of(new MapPropertySource("middle", Map.of(
+                "com.epam.community.endpoints.states.dealersByCode", "http://localhost:9091/api/v0.1/state/dealersByCode/{code}",
+                "com.epam.community.endpoints.manufacturers.price", "http://localhost:9093/api/v0.1/manufacturer/{id}",
+                "server.port", "9090"))));
+
+        assertEquals(Map.of(
+                "com.epam.community.endpoints.states.dealersByCode", "http://localhost:50001/api/v0.1/state/dealersByCode/{code}",
+                "com.epam.community.endpoints.manufacturers.price", "http://localhost:50004/api/v0.1/manufacturer/{id}"),
+                addressing.properties(BASE_URLS));
+        assertThrows(IllegalStateException.class, () -> addressing.checkInstances(2));
+    }
+
+    @Test
+    void properties_replacesTheReplicasOfALoadBalancedVariant() {
+        final MiddleAddressing addressing = new MiddleAddressing(List.of(new MapPropertySource("middle", Map.of(
+                "com.epam.community.endpoints.dealers.cars", "http://dealers/api/v0.1/dealer/{id}",
+                "com.epam.community.load-balancing.replicas.dealers[0]", "http://localhost:9092"))));
+
+        addressing.checkInstances(2);
+        assertEquals(Map.of(
+                "com.epam.community.load-balancing.replicas.states[0]", "http://localhost:50001",
+                "com.epam.community.load-balancing.replicas.dealers[0]", "http://localhost:50002",
+                "com.epam.community.load-balancing.replicas.dealers[1]", "http://localhost:50003",
+                "com.epam.community.load-balancing.replicas.manufacturers[0]", "http://localhost:50004"),
+                addressing.properties(BASE_URLS));
+    }
+}